@@ -0,0 +1,218 @@
+package control;
+
+import entity.SupplyItem;
+import util.DatabaseConnector;
+import util.IsoDates;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Microbenchmark for mapping SupplyItem rows: the label-based mapping the controllers used
+ * before {@link SupplyItemRowMapper}, the mapper itself, and bare column reads by label and by
+ * index as baselines. The mapper binds once per pass, as the controllers do once per query.
+ * Also times {@link IsoDates#parseOrNull} against {@code LocalDate.parse}.
+ * <p>
+ * All SupplyItem rows are read once into a scrollable result, which every pass re-reads, so
+ * the database query is not part of the figures. Each round runs every variant once, in a
+ * rotating order; the median of the measured rounds is printed in ns per row. The mapper's
+ * fixed cost per query ({@link SupplyItemRowMapper#bind}) is timed separately.
+ * <p>
+ * Not part of the application build. From the project directory, after building into bin:
+ * <pre>
+ * javac -cp "bin:jarFiles/*" -d bench/out bench/control/RowMappingBenchmark.java
+ * java -cp "bench/out:bin:jarFiles/*" control.RowMappingBenchmark &lt;database.accdb&gt; [&lt;rounds&gt;]
+ * </pre>
+ */
+public class RowMappingBenchmark {
+
+    private static final int WARMUP_ROUNDS = 10;
+    private static final int DEFAULT_ROUNDS = 20;
+    private static final int PASSES_PER_ROUND = 20;
+    private static final int DATE_VALUES = 1_000_000;
+    private static final int BINDS_PER_ROUND = 1_000;
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    // Consumes every result so the JIT cannot drop the work.
+    private static long sink;
+
+    private interface Variant {
+        void pass(ResultSet rs) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: RowMappingBenchmark <database.accdb> [<rounds>]");
+            System.exit(64);
+        }
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        DatabaseConnector.useDatabaseFile(args[0]);
+
+        String[] names = { "raw reads by label", "raw reads by index", "label-based mapping", "index-based mapper" };
+        Variant[] variants = {
+            RowMappingBenchmark::rawByLabel,
+            RowMappingBenchmark::rawByIndex,
+            RowMappingBenchmark::mapByLabel,
+            RowMappingBenchmark::mapByIndex
+        };
+        List<List<Double>> results = new ArrayList<>();
+        for (int i = 0; i < variants.length; i++) {
+            results.add(new ArrayList<>());
+        }
+
+        try (Connection conn = DatabaseConnector.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+             ResultSet rs = stmt.executeQuery("SELECT barcode, productTitle, productDetails, category, availableUnits, " +
+                                              "expirationDate, thresholdStock, supplierCode FROM SupplyItem")) {
+            int rowCount = 0;
+            while (rs.next()) {
+                rowCount++;
+            }
+            System.out.println(rowCount + " rows, " + PASSES_PER_ROUND + " passes per round, "
+                               + WARMUP_ROUNDS + " warm-up and " + rounds + " measured rounds");
+            for (int round = 0; round < WARMUP_ROUNDS + rounds; round++) {
+                for (int k = 0; k < variants.length; k++) {
+                    int v = (round + k) % variants.length;
+                    long start = System.nanoTime();
+                    for (int pass = 0; pass < PASSES_PER_ROUND; pass++) {
+                        rs.beforeFirst();
+                        variants[v].pass(rs);
+                    }
+                    double nanosPerRow = (System.nanoTime() - start) / (double) PASSES_PER_ROUND / rowCount;
+                    if (round >= WARMUP_ROUNDS) {
+                        results.get(v).add(nanosPerRow);
+                    }
+                }
+            }
+            for (int v = 0; v < variants.length; v++) {
+                System.out.println(format(names[v] + " (ns/row)", results.get(v)));
+            }
+            benchmarkBind(rs, rounds);
+        }
+        benchmarkDates(rounds);
+        System.out.println("(checksum " + sink + ")");
+        DatabaseConnector.closeConnection();
+    }
+
+    private static void rawByLabel(ResultSet rs) throws SQLException {
+        long sum = 0;
+        while (rs.next()) {
+            sum += length(rs.getString("barcode")) + length(rs.getString("productTitle"))
+                   + length(rs.getString("productDetails")) + length(rs.getString("category"))
+                   + rs.getInt("availableUnits") + length(rs.getString("expirationDate"))
+                   + rs.getInt("thresholdStock") + length(rs.getString("supplierCode"));
+        }
+        sink += sum;
+    }
+
+    private static void rawByIndex(ResultSet rs) throws SQLException {
+        long sum = 0;
+        while (rs.next()) {
+            sum += length(rs.getString(1)) + length(rs.getString(2)) + length(rs.getString(3)) + length(rs.getString(4))
+                   + rs.getInt(5) + length(rs.getString(6)) + rs.getInt(7) + length(rs.getString(8));
+        }
+        sink += sum;
+    }
+
+    // The controllers' mapping before SupplyItemRowMapper.
+    private static void mapByLabel(ResultSet rs) throws SQLException {
+        long sum = 0;
+        while (rs.next()) {
+            SupplyItem item = new SupplyItem();
+            item.setBarcode(rs.getString("barcode"));
+            item.setProductTitle(rs.getString("productTitle"));
+            item.setProductDetails(rs.getString("productDetails"));
+            item.setCategory(rs.getString("category"));
+            item.setAvailableUnits((int) rs.getDouble("availableUnits"));
+            item.setThresholdStock((int) rs.getDouble("thresholdStock"));
+            String expirationDateStr = rs.getString("expirationDate");
+            if (expirationDateStr != null && !expirationDateStr.trim().isEmpty() && !expirationDateStr.equalsIgnoreCase("N/A")) {
+                try {
+                    item.setExpirationDate(LocalDate.parse(expirationDateStr, DATE_FORMATTER));
+                } catch (DateTimeParseException e) {
+                    item.setExpirationDate(null);
+                }
+            }
+            sum += item.getAvailableUnits() + length(rs.getString("supplierCode"));
+        }
+        sink += sum;
+    }
+
+    private static void mapByIndex(ResultSet rs) throws SQLException {
+        SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+        long sum = 0;
+        while (rs.next()) {
+            SupplyItem item = mapper.map(rs);
+            sum += item.getAvailableUnits() + length(mapper.supplierCode(rs));
+        }
+        sink += sum;
+    }
+
+    // The mapper's fixed cost per query, which matters for single-row reads.
+    private static void benchmarkBind(ResultSet rs, int rounds) throws SQLException {
+        List<Double> binds = new ArrayList<>();
+        for (int round = 0; round < WARMUP_ROUNDS + rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < BINDS_PER_ROUND; i++) {
+                sink += SupplyItemRowMapper.bind(rs).hashCode();
+            }
+            if (round >= WARMUP_ROUNDS) {
+                binds.add((System.nanoTime() - start) / (double) BINDS_PER_ROUND);
+            }
+        }
+        System.out.println(format("mapper bind (ns/query)", binds));
+    }
+
+    private static void benchmarkDates(int rounds) {
+        String[] values = new String[DATE_VALUES];
+        LocalDate first = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 10 == 0 ? "N/A" : first.plusDays(i % 3_000).toString();
+        }
+        List<Double> formatter = new ArrayList<>();
+        List<Double> direct = new ArrayList<>();
+        for (int round = 0; round < WARMUP_ROUNDS + rounds; round++) {
+            long start = System.nanoTime();
+            long sum = 0;
+            for (String value : values) {
+                if (!value.equalsIgnoreCase("N/A")) {
+                    sum += LocalDate.parse(value, DATE_FORMATTER).getDayOfYear();
+                }
+            }
+            long middle = System.nanoTime();
+            for (String value : values) {
+                LocalDate date = IsoDates.parseOrNull(value);
+                if (date != null) {
+                    sum += date.getDayOfYear();
+                }
+            }
+            long end = System.nanoTime();
+            sink += sum;
+            if (round >= WARMUP_ROUNDS) {
+                formatter.add((middle - start) / (double) values.length);
+                direct.add((end - middle) / (double) values.length);
+            }
+        }
+        System.out.println(format("LocalDate.parse (ns/value)", formatter));
+        System.out.println(format("IsoDates.parseOrNull (ns/value)", direct));
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    private static String format(String name, List<Double> values) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        return String.format(Locale.ROOT, "%-32s median %8.0f  min %8.0f  max %8.0f",
+                             name, sorted[sorted.length / 2], sorted[0], sorted[sorted.length - 1]);
+    }
+}
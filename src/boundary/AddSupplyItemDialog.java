@@ -1,11 +1,9 @@
 package boundary;
 
-import control.SupplierController; 
 import entity.Supplier;
 import entity.SupplyItem;
 
 import javax.swing.JButton;
-import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -20,7 +18,6 @@ import java.awt.GridLayout;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 
 /**
  * Dialog for adding a new Supply Item.
@@ -35,42 +32,19 @@ public class AddSupplyItemDialog extends JDialog {
     private JTextField txtAvailableUnits;
     private JTextField txtExpirationDate; 
     private JTextField txtThresholdStock;
-    private JComboBox<SupplierComboBoxItem> cmbSupplier; // ComboBox for suppliers
+    private SupplierPicker supplierPicker;
 
     private JButton btnSave;
     private JButton btnCancel;
 
     private SupplyItem newSupplyItem;
-    private SupplierController supplierController;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
-    // Inner class for JComboBox items to display supplier name but store supplier object/code
-    private static class SupplierComboBoxItem {
-        private Supplier supplier;
-
-        public SupplierComboBoxItem(Supplier supplier) {
-            this.supplier = supplier;
-        }
-
-        public Supplier getSupplier() {
-            return supplier;
-        }
-
-        @Override
-        public String toString() {
-            // Display name and code in ComboBox for clarity
-            return supplier != null ? supplier.getSupplierName() + " (" + supplier.getSupplierCode() + ")" : "Select Supplier";
-        }
-    }
-
-
     public AddSupplyItemDialog(JFrame parent) {
         super(parent, "Add New Supply Item", true);
-        this.supplierController = new SupplierController(); // To populate supplier dropdown
 
         initComponents();
-        populateSupplierComboBox();
         pack();
         setMinimumSize(new Dimension(450, getSize().height)); 
         setLocationRelativeTo(parent);
@@ -112,8 +86,8 @@ public class AddSupplyItemDialog extends JDialog {
         inputPanel.add(txtThresholdStock);
 
         inputPanel.add(new JLabel("Supplier:"));
-        cmbSupplier = new JComboBox<>();
-        inputPanel.add(cmbSupplier);
+        supplierPicker = new SupplierPicker();
+        inputPanel.add(supplierPicker);
 
         add(inputPanel, BorderLayout.CENTER);
 
@@ -129,16 +103,6 @@ public class AddSupplyItemDialog extends JDialog {
         btnCancel.addActionListener(e -> onCancel());
     }
 
-    private void populateSupplierComboBox() {
-        List<Supplier> suppliers = supplierController.getAllSuppliers();
-        cmbSupplier.addItem(new SupplierComboBoxItem(null)); // For "Select Supplier" or no supplier option
-        if (suppliers != null) {
-            for (Supplier s : suppliers) {
-                cmbSupplier.addItem(new SupplierComboBoxItem(s));
-            }
-        }
-    }
-
     private void onSave() {
         String barcode = txtBarcode.getText().trim();
         String productTitle = txtProductTitle.getText().trim();
@@ -148,8 +112,7 @@ public class AddSupplyItemDialog extends JDialog {
         String expDateStr = txtExpirationDate.getText().trim().toUpperCase(); // Convert "n/a" to "N/A"
         String thresholdStockStr = txtThresholdStock.getText().trim();
         
-        SupplierComboBoxItem selectedSupplierItem = (SupplierComboBoxItem) cmbSupplier.getSelectedItem();
-        Supplier selectedSupplier = (selectedSupplierItem != null) ? selectedSupplierItem.getSupplier() : null;
+        Supplier selectedSupplier = supplierPicker.getSelectedSupplier();
 
 
         if (barcode.isEmpty() || productTitle.isEmpty() || category.isEmpty() || availableUnitsStr.isEmpty() || thresholdStockStr.isEmpty()) {
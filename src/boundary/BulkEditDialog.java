@@ -0,0 +1,182 @@
+package boundary;
+
+import entity.Supplier;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JComboBox;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import java.awt.BorderLayout;
+import java.awt.CardLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+
+/**
+ * Dialog for changing one field of several selected supply items at once.
+ */
+public class BulkEditDialog extends JDialog {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Action {
+        SET_THRESHOLD("Set threshold stock"),
+        SET_CATEGORY("Set category"),
+        SET_SUPPLIER("Reassign supplier"),
+        ADJUST_STOCK("Adjust stock by +/- N");
+
+        private final String label;
+
+        Action(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private JComboBox<Action> cmbAction;
+    private JPanel valuePanel;
+    private CardLayout valueCards;
+    private JTextField txtThresholdStock;
+    private JTextField txtCategory;
+    private SupplierPicker supplierPicker;
+    private JTextField txtStockChange;
+
+    private JButton btnApply;
+    private JButton btnCancel;
+
+    private Action chosenAction;
+    private int intValue;
+    private String category;
+    private Supplier supplier;
+
+    public BulkEditDialog(JFrame parent, int itemCount) {
+        super(parent, "Edit " + itemCount + " Supply Items", true);
+        initComponents();
+        pack();
+        setMinimumSize(new Dimension(450, getSize().height));
+        setLocationRelativeTo(parent);
+    }
+
+    private void initComponents() {
+        setLayout(new BorderLayout(10, 10));
+        ((JPanel)getContentPane()).setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
+
+        JPanel inputPanel = new JPanel(new GridLayout(2, 2, 5, 5));
+
+        inputPanel.add(new JLabel("Change:"));
+        cmbAction = new JComboBox<>(Action.values());
+        inputPanel.add(cmbAction);
+
+        inputPanel.add(new JLabel("New Value:"));
+        valueCards = new CardLayout();
+        valuePanel = new JPanel(valueCards);
+        txtThresholdStock = new JTextField(20);
+        txtCategory = new JTextField(20);
+        supplierPicker = new SupplierPicker();
+        supplierPicker.setToolTipText("Leave unselected to remove the supplier");
+        txtStockChange = new JTextField(20);
+        txtStockChange.setToolTipText("Positive to receive, negative to consume, e.g. +10 or -5");
+        valuePanel.add(txtThresholdStock, Action.SET_THRESHOLD.name());
+        valuePanel.add(txtCategory, Action.SET_CATEGORY.name());
+        valuePanel.add(supplierPicker, Action.SET_SUPPLIER.name());
+        valuePanel.add(txtStockChange, Action.ADJUST_STOCK.name());
+        inputPanel.add(valuePanel);
+
+        add(inputPanel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        btnApply = new JButton("Apply");
+        btnCancel = new JButton("Cancel");
+
+        buttonPanel.add(btnApply);
+        buttonPanel.add(btnCancel);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        cmbAction.addActionListener(e -> valueCards.show(valuePanel, ((Action) cmbAction.getSelectedItem()).name()));
+        btnApply.addActionListener(e -> onApply());
+        btnCancel.addActionListener(e -> onCancel());
+    }
+
+    private void onApply() {
+        Action action = (Action) cmbAction.getSelectedItem();
+        switch (action) {
+            case SET_THRESHOLD:
+                try {
+                    intValue = Integer.parseInt(txtThresholdStock.getText().trim());
+                    if (intValue < 0) throw new NumberFormatException("Threshold cannot be negative.");
+                } catch (NumberFormatException ex) {
+                    JOptionPane.showMessageDialog(this, "Invalid number for Threshold Stock.", "Validation Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                break;
+            case SET_CATEGORY:
+                category = txtCategory.getText().trim();
+                if (category.isEmpty()) {
+                    JOptionPane.showMessageDialog(this, "Category cannot be empty.", "Validation Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                break;
+            case SET_SUPPLIER:
+                supplier = supplierPicker.getSelectedSupplier();
+                if (supplier == null) {
+                    int confirm = JOptionPane.showConfirmDialog(this, "No supplier selected. Remove the supplier from the selected items?",
+                                                                "Confirm", JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE);
+                    if (confirm != JOptionPane.YES_OPTION) {
+                        return;
+                    }
+                }
+                break;
+            case ADJUST_STOCK:
+                String change = txtStockChange.getText().trim();
+                try {
+                    intValue = Integer.parseInt(change.startsWith("+") ? change.substring(1) : change);
+                    if (intValue == 0) throw new NumberFormatException("Change cannot be zero.");
+                } catch (NumberFormatException ex) {
+                    JOptionPane.showMessageDialog(this, "Enter a non-zero number of units, e.g. +10 or -5.", "Validation Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                break;
+        }
+        chosenAction = action;
+        setVisible(false);
+    }
+
+    private void onCancel() {
+        chosenAction = null;
+        setVisible(false);
+    }
+
+    /**
+     * @return The chosen change, or null if the dialog was cancelled.
+     */
+    public Action getChosenAction() {
+        return chosenAction;
+    }
+
+    /**
+     * @return The new threshold, or the units to add (negative to take out of stock).
+     */
+    public int getIntValue() {
+        return intValue;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return The new supplier, or null to remove the supplier.
+     */
+    public Supplier getSupplier() {
+        return supplier;
+    }
+}
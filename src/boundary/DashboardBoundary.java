@@ -0,0 +1,232 @@
+package boundary;
+
+import control.InventoryAnalyticsController;
+import control.InventorySummary;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.SwingWorker;
+import javax.swing.table.DefaultTableModel;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.GridLayout;
+import java.util.Map;
+
+/**
+ * Panel showing inventory-wide figures: stock-out risk, expiry buckets, supplier
+ * coverage and totals per category and per supplier.
+ * This is a Boundary class in the ECB pattern.
+ */
+public class DashboardBoundary extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private MainAppFrame mainFrame;
+    private InventoryAnalyticsController analyticsController;
+
+    private JLabel lblTotalItems, lblTotalUnits, lblOutOfStock, lblBelowThreshold;
+    private JLabel lblExpired, lblWithin7, lblWithin30, lblWithin90, lblNoExpiration;
+    private JLabel lblSupplierCount, lblSuppliersWithItems, lblItemsWithoutSupplier;
+    private JLabel lblStatus;
+    private DefaultTableModel categoryTableModel;
+    private DefaultTableModel supplierTableModel;
+    private JButton btnBackToMenu;
+    private JButton btnRefresh;
+
+    private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 22);
+    private static final Font SECTION_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font VALUE_FONT = new Font("Arial", Font.PLAIN, 13);
+    private static final Font TABLE_HEADER_FONT = new Font("Arial", Font.BOLD, 14);
+    private static final Font TABLE_BODY_FONT = new Font("Arial", Font.PLAIN, 13);
+    private static final Font BUTTON_FONT = new Font("Arial", Font.PLAIN, 13);
+    private static final Dimension NAV_BUTTON_SIZE = new Dimension(160, 30);
+
+    public DashboardBoundary(MainAppFrame frame) {
+        this.mainFrame = frame;
+        this.analyticsController = new InventoryAnalyticsController();
+
+        setLayout(new BorderLayout(10, 15));
+        setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        initComponents();
+        addListeners();
+        loadSummary();
+    }
+
+    private void initComponents() {
+        JLabel lblTitle = new JLabel("Inventory Dashboard", JLabel.CENTER);
+        lblTitle.setFont(TITLE_FONT);
+        lblTitle.setBorder(BorderFactory.createEmptyBorder(0, 0, 15, 0));
+        add(lblTitle, BorderLayout.NORTH);
+
+        JPanel figuresPanel = new JPanel(new GridLayout(1, 3, 15, 0));
+
+        JPanel stockPanel = createSectionPanel("Stock");
+        lblTotalItems = addFigure(stockPanel, "Items:");
+        lblTotalUnits = addFigure(stockPanel, "Units on hand:");
+        lblOutOfStock = addFigure(stockPanel, "Out of stock:");
+        lblBelowThreshold = addFigure(stockPanel, "At/below threshold:");
+        figuresPanel.add(stockPanel);
+
+        JPanel expiryPanel = createSectionPanel("Expiry");
+        lblExpired = addFigure(expiryPanel, "Expired:");
+        lblWithin7 = addFigure(expiryPanel, "Within 7 days:");
+        lblWithin30 = addFigure(expiryPanel, "In 8-30 days:");
+        lblWithin90 = addFigure(expiryPanel, "In 31-90 days:");
+        lblNoExpiration = addFigure(expiryPanel, "No expiration date:");
+        figuresPanel.add(expiryPanel);
+
+        JPanel supplierPanel = createSectionPanel("Suppliers");
+        lblSupplierCount = addFigure(supplierPanel, "Suppliers:");
+        lblSuppliersWithItems = addFigure(supplierPanel, "Supplying items:");
+        lblItemsWithoutSupplier = addFigure(supplierPanel, "Items without supplier:");
+        figuresPanel.add(supplierPanel);
+
+        categoryTableModel = createTotalsTableModel("Category");
+        supplierTableModel = createTotalsTableModel("Supplier Code");
+        JPanel tablesPanel = new JPanel(new GridLayout(1, 2, 15, 0));
+        tablesPanel.add(createTotalsScrollPane(categoryTableModel, "Totals per Category"));
+        tablesPanel.add(createTotalsScrollPane(supplierTableModel, "Totals per Supplier"));
+
+        JPanel centerPanel = new JPanel(new BorderLayout(0, 15));
+        centerPanel.add(figuresPanel, BorderLayout.NORTH);
+        centerPanel.add(tablesPanel, BorderLayout.CENTER);
+        add(centerPanel, BorderLayout.CENTER);
+
+        JPanel southPanelContainer = new JPanel(new BorderLayout(10, 5));
+        JPanel navButtonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        btnBackToMenu = new JButton("Back to Main Menu");
+        btnBackToMenu.setFont(BUTTON_FONT);
+        btnBackToMenu.setPreferredSize(NAV_BUTTON_SIZE);
+        navButtonPanel.add(btnBackToMenu);
+        southPanelContainer.add(navButtonPanel, BorderLayout.WEST);
+
+        lblStatus = new JLabel(" ", JLabel.CENTER);
+        lblStatus.setFont(VALUE_FONT);
+        southPanelContainer.add(lblStatus, BorderLayout.CENTER);
+
+        JPanel actionButtonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        btnRefresh = new JButton("Refresh");
+        btnRefresh.setFont(BUTTON_FONT);
+        btnRefresh.setPreferredSize(NAV_BUTTON_SIZE);
+        actionButtonPanel.add(btnRefresh);
+        southPanelContainer.add(actionButtonPanel, BorderLayout.EAST);
+
+        add(southPanelContainer, BorderLayout.SOUTH);
+    }
+
+    private JPanel createSectionPanel(String title) {
+        JPanel panel = new JPanel(new GridLayout(0, 2, 10, 5));
+        panel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createTitledBorder(BorderFactory.createEtchedBorder(), title, 0, 0, SECTION_FONT),
+                BorderFactory.createEmptyBorder(5, 10, 5, 10)));
+        return panel;
+    }
+
+    private JLabel addFigure(JPanel panel, String caption) {
+        JLabel lblCaption = new JLabel(caption);
+        lblCaption.setFont(VALUE_FONT);
+        JLabel lblValue = new JLabel("-", JLabel.RIGHT);
+        lblValue.setFont(VALUE_FONT);
+        panel.add(lblCaption);
+        panel.add(lblValue);
+        return lblValue;
+    }
+
+    private DefaultTableModel createTotalsTableModel(String groupColumnName) {
+        return new DefaultTableModel(new String[] { groupColumnName, "Items", "Units" }, 0) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 0 ? String.class : Long.class;
+            }
+        };
+    }
+
+    private JScrollPane createTotalsScrollPane(DefaultTableModel model, String title) {
+        JTable table = new JTable(model);
+        table.setFillsViewportHeight(true);
+        table.setRowHeight(25);
+        table.getTableHeader().setFont(TABLE_HEADER_FONT);
+        table.setFont(TABLE_BODY_FONT);
+        table.setAutoCreateRowSorter(true);
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createTitledBorder(BorderFactory.createEtchedBorder(), title, 0, 0, SECTION_FONT));
+        return scrollPane;
+    }
+
+    private void addListeners() {
+        btnBackToMenu.addActionListener(e -> mainFrame.switchPanel(new MainPanel(mainFrame)));
+        btnRefresh.addActionListener(e -> {
+            InventoryAnalyticsController.invalidateCache();
+            loadSummary();
+        });
+    }
+
+    private void loadSummary() {
+        btnRefresh.setEnabled(false);
+        lblStatus.setText("Computing...");
+        new SwingWorker<InventorySummary, Void>() {
+            @Override
+            protected InventorySummary doInBackground() {
+                return analyticsController.getSummary();
+            }
+
+            @Override
+            protected void done() {
+                btnRefresh.setEnabled(true);
+                InventorySummary summary;
+                try {
+                    summary = get();
+                } catch (Exception ex) {
+                    summary = null;
+                }
+                if (summary == null) {
+                    lblStatus.setText("Could not compute the inventory figures. See the error log.");
+                    return;
+                }
+                showSummary(summary);
+            }
+        }.execute();
+    }
+
+    private void showSummary(InventorySummary summary) {
+        lblTotalItems.setText(Integer.toString(summary.getTotalItems()));
+        lblTotalUnits.setText(Long.toString(summary.getTotalUnits()));
+        lblOutOfStock.setText(Integer.toString(summary.getOutOfStockCount()));
+        lblBelowThreshold.setText(Integer.toString(summary.getBelowThresholdCount()));
+        lblExpired.setText(Integer.toString(summary.getExpiredCount()));
+        lblWithin7.setText(Integer.toString(summary.getExpiringWithin7Days()));
+        lblWithin30.setText(Integer.toString(summary.getExpiringWithin30Days()));
+        lblWithin90.setText(Integer.toString(summary.getExpiringWithin90Days()));
+        lblNoExpiration.setText(Integer.toString(summary.getWithoutExpirationCount()));
+        lblSupplierCount.setText(Integer.toString(summary.getSupplierCount()));
+        lblSuppliersWithItems.setText(summary.getSuppliersWithItems() + " of " + summary.getSupplierCount());
+        lblItemsWithoutSupplier.setText(Integer.toString(summary.getItemsWithoutSupplier()));
+        fillTotals(categoryTableModel, summary.getByCategory());
+        fillTotals(supplierTableModel, summary.getBySupplier());
+        lblStatus.setText("As of " + summary.getAsOf() + " (from " + summary.getSource() + ", "
+                          + summary.getComputeMillis() + " ms)");
+    }
+
+    private void fillTotals(DefaultTableModel model, Map<String, InventorySummary.GroupTotals> totals) {
+        model.setRowCount(0);
+        for (Map.Entry<String, InventorySummary.GroupTotals> entry : totals.entrySet()) {
+            model.addRow(new Object[] {
+                entry.getKey() != null ? entry.getKey() : "N/A",
+                (long) entry.getValue().getItemCount(),
+                entry.getValue().getUnits()
+            });
+        }
+    }
+}
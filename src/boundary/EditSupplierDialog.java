@@ -120,7 +120,9 @@ public class EditSupplierDialog extends JDialog {
         }
 
         // Create a new supplier object with the updated details, keeping the original code
-        updatedSupplier = new Supplier(supplierToEdit.getSupplierCode(), supplierName, recentSupplyDate);
+        updatedSupplier = supplierToEdit.copy();
+        updatedSupplier.setSupplierName(supplierName);
+        updatedSupplier.setRecentSupplyDate(recentSupplyDate);
         
         setVisible(false);
     }
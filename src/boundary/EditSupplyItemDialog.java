@@ -1,11 +1,9 @@
 package boundary;
 
-import control.SupplierController; 
 import entity.Supplier;
 import entity.SupplyItem;
 
 import javax.swing.JButton;
-import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -21,7 +19,6 @@ import java.awt.GridLayout;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 
 /**
  * Dialog for editing an existing Supply Item.
@@ -36,54 +33,19 @@ public class EditSupplyItemDialog extends JDialog {
     private JTextField txtAvailableUnits;
     private JTextField txtExpirationDate; 
     private JTextField txtThresholdStock;
-    private JComboBox<SupplierComboBoxItem> cmbSupplier;
+    private SupplierPicker supplierPicker;
 
     private JButton btnSaveChanges;
     private JButton btnCancel;
 
     private SupplyItem itemToEdit;
     private SupplyItem updatedSupplyItem; 
-    private SupplierController supplierController;
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
-    private static class SupplierComboBoxItem {
-        private Supplier supplier;
-
-        public SupplierComboBoxItem(Supplier supplier) {
-            this.supplier = supplier;
-        }
-
-        public Supplier getSupplier() {
-            return supplier;
-        }
-
-        @Override
-        public String toString() {
-            return supplier != null ? supplier.getSupplierName() + " (" + supplier.getSupplierCode() + ")" : "Select Supplier";
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            SupplierComboBoxItem that = (SupplierComboBoxItem) obj;
-            if (supplier == null) {
-                return that.supplier == null;
-            }
-            return supplier.equals(that.supplier);
-        }
-
-        @Override
-        public int hashCode() {
-            return supplier != null ? supplier.hashCode() : 0;
-        }
-    }
-
     public EditSupplyItemDialog(JFrame parent, SupplyItem itemToEdit) {
         super(parent, "Edit Supply Item", true);
         this.itemToEdit = itemToEdit;
-        this.supplierController = new SupplierController();
 
         initComponents();
         populateFields();
@@ -128,8 +90,8 @@ public class EditSupplyItemDialog extends JDialog {
         inputPanel.add(txtThresholdStock);
 
         inputPanel.add(new JLabel("Supplier:"));
-        cmbSupplier = new JComboBox<>();
-        inputPanel.add(cmbSupplier);
+        supplierPicker = new SupplierPicker();
+        inputPanel.add(supplierPicker);
 
         add(inputPanel, BorderLayout.CENTER);
 
@@ -160,25 +122,7 @@ public class EditSupplyItemDialog extends JDialog {
                 txtExpirationDate.setText("N/A"); // Display "N/A" if null
             }
 
-            // Populate and select supplier in ComboBox
-            List<Supplier> suppliers = supplierController.getAllSuppliers();
-            cmbSupplier.addItem(new SupplierComboBoxItem(null)); // Default "Select Supplier"
-            Supplier currentItemSupplier = itemToEdit.getSupplier();
-            SupplierComboBoxItem itemToSelect = null;
-
-            for (Supplier s : suppliers) {
-                SupplierComboBoxItem comboBoxItem = new SupplierComboBoxItem(s);
-                cmbSupplier.addItem(comboBoxItem);
-                if (currentItemSupplier != null && currentItemSupplier.equals(s)) {
-                    itemToSelect = comboBoxItem;
-                }
-            }
-            if (itemToSelect != null) {
-                cmbSupplier.setSelectedItem(itemToSelect);
-            } else if (currentItemSupplier == null && cmbSupplier.getItemCount() > 0) {
-                // If item has no supplier, select the "Select Supplier" default option
-                cmbSupplier.setSelectedIndex(0);
-            }
+            supplierPicker.selectSupplierCode(itemToEdit.getSupplierCode());
         }
     }
 
@@ -190,8 +134,7 @@ public class EditSupplyItemDialog extends JDialog {
         String expDateStr = txtExpirationDate.getText().trim().toUpperCase();
         String thresholdStockStr = txtThresholdStock.getText().trim();
         
-        SupplierComboBoxItem selectedSupplierItem = (SupplierComboBoxItem) cmbSupplier.getSelectedItem();
-        Supplier selectedSupplier = (selectedSupplierItem != null) ? selectedSupplierItem.getSupplier() : null;
+        Supplier selectedSupplier = supplierPicker.getSelectedSupplier();
 
         if (productTitle.isEmpty() || category.isEmpty() || availableUnitsStr.isEmpty() || thresholdStockStr.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Title, Category, Units, and Threshold cannot be empty.", "Validation Error", JOptionPane.ERROR_MESSAGE);
@@ -226,7 +169,13 @@ public class EditSupplyItemDialog extends JDialog {
             }
         }
 
-        updatedSupplyItem = new SupplyItem(itemToEdit.getBarcode(), productTitle, details, category, availableUnits, thresholdStock);
+        // Edit a copy, so only the fields the user changed are written
+        updatedSupplyItem = itemToEdit.copy();
+        updatedSupplyItem.setProductTitle(productTitle);
+        updatedSupplyItem.setProductDetails(details);
+        updatedSupplyItem.setCategory(category);
+        updatedSupplyItem.setAvailableUnits(availableUnits);
+        updatedSupplyItem.setThresholdStock(thresholdStock);
         updatedSupplyItem.setExpirationDate(expirationDate);
         if (selectedSupplier != null) {
             updatedSupplyItem.setSupplier(selectedSupplier);
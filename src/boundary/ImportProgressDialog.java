@@ -0,0 +1,142 @@
+package boundary;
+
+import control.ImportCancellationToken;
+import control.ImportProgress;
+import control.ImportResult;
+import control.XmlImportController;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+import javax.swing.WindowConstants;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.GridLayout;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Modal dialog that runs an XML import on a background thread and shows its progress,
+ * throughput and estimated remaining time. The import can be cancelled from here.
+ */
+public class ImportProgressDialog extends JDialog {
+
+    private static final long serialVersionUID = 1L;
+    private static final int PROGRESS_BAR_MAX = 1000;
+
+    private JProgressBar progressBar;
+    private JLabel lblRecords;
+    private JLabel lblThroughput;
+    private JButton btnCancel;
+
+    private final String xmlFilePath;
+    private final ImportCancellationToken cancellationToken = new ImportCancellationToken();
+    private SwingWorker<ImportResult, ImportProgress> worker;
+
+    public ImportProgressDialog(JFrame parent, String xmlFilePath) {
+        super(parent, "Importing Supir XML Data", true);
+        this.xmlFilePath = xmlFilePath;
+
+        initComponents();
+        pack();
+        setMinimumSize(new Dimension(420, getSize().height));
+        setLocationRelativeTo(parent);
+    }
+
+    private void initComponents() {
+        setLayout(new BorderLayout(10, 10));
+        ((JPanel) getContentPane()).setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                onCancel();
+            }
+        });
+
+        JPanel infoPanel = new JPanel(new GridLayout(3, 1, 5, 5));
+        progressBar = new JProgressBar(0, PROGRESS_BAR_MAX);
+        progressBar.setStringPainted(true);
+        progressBar.setIndeterminate(true);
+        lblRecords = new JLabel("Starting import...");
+        lblThroughput = new JLabel(" ");
+        infoPanel.add(progressBar);
+        infoPanel.add(lblRecords);
+        infoPanel.add(lblThroughput);
+        add(infoPanel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        btnCancel = new JButton("Cancel");
+        buttonPanel.add(btnCancel);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        btnCancel.addActionListener(e -> onCancel());
+    }
+
+    /**
+     * Starts the import, blocks (modally) until it finishes and returns its result.
+     *
+     * @return The import result.
+     * @throws Exception if the import failed unexpectedly.
+     */
+    public ImportResult runImport() throws Exception {
+        worker = new SwingWorker<ImportResult, ImportProgress>() {
+            @Override
+            protected ImportResult doInBackground() {
+                XmlImportController xmlImportController = new XmlImportController();
+                return xmlImportController.importDataFromXml(xmlFilePath, this::publish, cancellationToken);
+            }
+
+            @Override
+            protected void process(List<ImportProgress> updates) {
+                showProgress(updates.get(updates.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                setVisible(false);
+            }
+        };
+        worker.execute();
+        setVisible(true); // blocks until done() hides the dialog
+        dispose();
+        try {
+            return worker.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw (cause instanceof Exception) ? (Exception) cause : e;
+        }
+    }
+
+    private void showProgress(ImportProgress progress) {
+        double fraction = progress.getFractionDone();
+        if (fraction >= 0) {
+            progressBar.setIndeterminate(false);
+            progressBar.setValue((int) (fraction * PROGRESS_BAR_MAX));
+            progressBar.setString(String.format("%.1f%%", fraction * 100));
+        }
+        lblRecords.setText(progress.getRecordsParsed() + " record(s) parsed, " + progress.getRecordsWritten() + " written");
+        long remainingMillis = progress.getEstimatedRemainingMillis();
+        String eta = remainingMillis >= 0 ? formatDuration(remainingMillis) : "estimating...";
+        lblThroughput.setText(String.format("%.0f records/s - ETA %s", progress.getRecordsPerSecond(), eta));
+    }
+
+    private static String formatDuration(long millis) {
+        long totalSeconds = (millis + 999) / 1000;
+        return String.format("%d:%02d", totalSeconds / 60, totalSeconds % 60);
+    }
+
+    private void onCancel() {
+        cancellationToken.cancel();
+        btnCancel.setEnabled(false);
+        lblRecords.setText("Cancelling - rolling back the open batch...");
+    }
+}
@@ -0,0 +1,379 @@
+package boundary;
+
+import util.IsoDates;
+
+import javax.swing.DefaultRowSorter;
+import javax.swing.RowFilter;
+import javax.swing.table.TableModel;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Row sorter for the inventory and supplier tables that sorts and filters on keys
+ * computed once per column instead of per comparison: text as its rank in
+ * {@link CollationKey} order, numbers as ints and ISO dates as epoch days ("N/A" sorts last). Keys are built the
+ * first time a column is sorted or filtered and dropped whenever the model changes.
+ * <p>
+ * {@link #setFilterText(int, String)} matches a case-insensitive substring in one column
+ * or in all search columns. When the new text extends the previous one, only the rows that
+ * matched before are checked again, so typing narrows the result incrementally. The match
+ * can also run in the background via {@link #prepareFilter(int, String)}.
+ */
+public class IndexedTableRowSorter<M extends TableModel> extends DefaultRowSorter<M, Integer> {
+
+    public enum ColumnType { TEXT, INTEGER, DATE }
+
+    public static final int ALL_COLUMNS = -1;
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final Comparator<Object> KEY_ORDER = (a, b) -> ((Comparable) a).compareTo(b);
+
+    private final M tableModel;
+    private final ColumnType[] columnTypes;
+    private final Collator collator;
+
+    // Per column, built on demand; index = model row.
+    private Object[][] sortKeys;
+    private String[][] searchTexts;
+
+    private int[] searchColumns;
+    private int keysVersion = 0;
+
+    private int filterColumn = ALL_COLUMNS;
+    private String filterText = "";
+    private BitSet filterMatches = null;
+    private final RowFilter<M, Integer> matchesFilter = new RowFilter<M, Integer>() {
+        @Override
+        public boolean include(Entry<? extends M, ? extends Integer> entry) {
+            return filterMatches == null || filterMatches.get(entry.getIdentifier());
+        }
+    };
+
+    public IndexedTableRowSorter(M tableModel, ColumnType... columnTypes) {
+        this.tableModel = tableModel;
+        this.columnTypes = columnTypes.clone();
+        this.collator = Collator.getInstance();
+        this.collator.setStrength(Collator.SECONDARY);
+        this.sortKeys = new Object[columnTypes.length][];
+        this.searchTexts = new String[columnTypes.length][];
+        this.searchColumns = new int[columnTypes.length];
+        for (int column = 0; column < columnTypes.length; column++) {
+            searchColumns[column] = column;
+        }
+        setModelWrapper(new KeyedModelWrapper());
+    }
+
+    /**
+     * Sets the columns searched by {@link #ALL_COLUMNS} filters (by default, all columns).
+     */
+    public void setSearchColumns(int... columns) {
+        this.searchColumns = columns.clone();
+    }
+
+    /**
+     * Shows only rows whose text in the given column (or any search column, for
+     * {@link #ALL_COLUMNS}) contains the given text, ignoring case. Empty text shows all rows.
+     * Matches on the calling thread; see {@link #prepareFilter(int, String)} for running
+     * the match in the background.
+     */
+    public void setFilterText(int column, String text) {
+        FilterQuery query = prepareFilter(column, text);
+        query.computeMatches(() -> false);
+        applyFilter(query);
+    }
+
+    /**
+     * Captures what a filter needs from the model so that {@link FilterQuery#computeMatches}
+     * can run off the event dispatch thread. When the text extends the current filter's
+     * text on the same column, only the rows matching now are candidates.
+     */
+    public FilterQuery prepareFilter(int column, String text) {
+        String needle = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        int[] columns = column == ALL_COLUMNS ? searchColumns : new int[] { column };
+        int rowCount = tableModel.getRowCount();
+        String[][] texts = new String[columns.length][];
+        Object[][] rawValues = new Object[columns.length][];
+        if (!needle.isEmpty()) {
+            for (int i = 0; i < columns.length; i++) {
+                texts[i] = searchTexts[columns[i]];
+                if (texts[i] == null) {
+                    Object[] values = new Object[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        values[row] = tableModel.getValueAt(row, columns[i]);
+                    }
+                    rawValues[i] = values;
+                }
+            }
+        }
+        BitSet candidates = (filterMatches != null && column == filterColumn && needle.startsWith(filterText))
+                            ? filterMatches : null;
+        return new FilterQuery(keysVersion, column, needle, columns, texts, rawValues, candidates, rowCount);
+    }
+
+    /**
+     * Applies a computed filter, unless the model changed since it was prepared.
+     *
+     * @return false if the filter was stale and ignored.
+     */
+    public boolean applyFilter(FilterQuery query) {
+        if (query.keysVersion != keysVersion) {
+            return false;
+        }
+        for (int i = 0; i < query.columns.length; i++) {
+            if (searchTexts[query.columns[i]] == null && query.texts[i] != null) {
+                searchTexts[query.columns[i]] = query.texts[i];
+            }
+        }
+        filterColumn = query.column;
+        filterText = query.needle;
+        filterMatches = query.needle.isEmpty() ? null : query.matches;
+        setRowFilter(filterMatches != null ? matchesFilter : null);
+        return true;
+    }
+
+    /**
+     * @return The number of rows passing the filter (all rows when there is none).
+     */
+    public int getMatchCount() {
+        return filterMatches != null ? filterMatches.cardinality() : tableModel.getRowCount();
+    }
+
+    @Override
+    public Comparator<?> getComparator(int column) {
+        return KEY_ORDER;
+    }
+
+    @Override
+    protected boolean useToString(int column) {
+        return false;
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        invalidateKeys();
+        super.modelStructureChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        invalidateKeys();
+        super.allRowsChanged();
+    }
+
+    // Row changes invalidate the keys of the whole column, so they re-sort everything.
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        allRowsChanged();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        allRowsChanged();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        allRowsChanged();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        allRowsChanged();
+    }
+
+    private void invalidateKeys() {
+        keysVersion++;
+        sortKeys = new Object[columnTypes.length][];
+        searchTexts = new String[columnTypes.length][];
+        if (filterMatches != null) {
+            // Row indexes changed meaning, so the filter is re-evaluated from scratch;
+            // the caller re-sorts and re-filters afterwards.
+            filterMatches = null;
+            FilterQuery query = prepareFilter(filterColumn, filterText);
+            query.computeMatches(() -> false);
+            for (int i = 0; i < query.columns.length; i++) {
+                searchTexts[query.columns[i]] = query.texts[i];
+            }
+            filterMatches = query.matches;
+        }
+    }
+
+    private Object[] sortKeys(int column) {
+        Object[] keys = sortKeys[column];
+        if (keys == null) {
+            int rowCount = tableModel.getRowCount();
+            keys = new Object[rowCount];
+            if (columnTypes[column] == ColumnType.TEXT) {
+                fillCollationRanks(column, keys);
+            } else {
+                for (int row = 0; row < rowCount; row++) {
+                    keys[row] = toSortKey(tableModel.getValueAt(row, column), columnTypes[column]);
+                }
+            }
+            sortKeys[column] = keys;
+        }
+        return keys;
+    }
+
+    /**
+     * Sorts the column's collation keys once and stores each row's rank, so later sorts
+     * compare ints rather than collation keys.
+     */
+    private void fillCollationRanks(int column, Object[] ranks) {
+        int rowCount = ranks.length;
+        CollationKey[] collationKeys = new CollationKey[rowCount];
+        Integer[] rowsInOrder = new Integer[rowCount];
+        for (int row = 0; row < rowCount; row++) {
+            Object value = tableModel.getValueAt(row, column);
+            collationKeys[row] = collator.getCollationKey(value != null ? value.toString() : "");
+            rowsInOrder[row] = row;
+        }
+        Arrays.sort(rowsInOrder, (a, b) -> collationKeys[a].compareTo(collationKeys[b]));
+        int rank = 0;
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0 && collationKeys[rowsInOrder[i]].compareTo(collationKeys[rowsInOrder[i - 1]]) != 0) {
+                rank++;
+            }
+            ranks[rowsInOrder[i]] = rank;
+        }
+    }
+
+    private Object toSortKey(Object value, ColumnType type) {
+        switch (type) {
+            case INTEGER:
+                if (value instanceof Number) {
+                    return ((Number) value).intValue();
+                }
+                try {
+                    return value != null ? Integer.parseInt(value.toString().trim()) : Integer.MIN_VALUE;
+                } catch (NumberFormatException e) {
+                    return Integer.MIN_VALUE;
+                }
+            case DATE:
+                LocalDate date = value instanceof LocalDate ? (LocalDate) value
+                                 : value != null ? IsoDates.parseOrNull(value.toString()) : null;
+                return date != null ? (int) date.toEpochDay() : Integer.MAX_VALUE;
+            default:
+                throw new IllegalArgumentException("Text columns are ranked by fillCollationRanks: " + type);
+        }
+    }
+
+    /**
+     * A filter captured by {@link #prepareFilter(int, String)}. {@link #computeMatches} only
+     * reads data copied from the model, so it may run on a background thread.
+     */
+    public static final class FilterQuery {
+        private static final int CANCEL_CHECK_INTERVAL = 4096;
+
+        private final int keysVersion;
+        private final int column;
+        private final String needle;
+        private final int[] columns;
+        private final String[][] texts;
+        private final Object[][] rawValues;
+        private final BitSet candidates;
+        private final int rowCount;
+        private BitSet matches;
+
+        private FilterQuery(int keysVersion, int column, String needle, int[] columns, String[][] texts,
+                            Object[][] rawValues, BitSet candidates, int rowCount) {
+            this.keysVersion = keysVersion;
+            this.column = column;
+            this.needle = needle;
+            this.columns = columns;
+            this.texts = texts;
+            this.rawValues = rawValues;
+            this.candidates = candidates;
+            this.rowCount = rowCount;
+        }
+
+        public String getText() {
+            return needle;
+        }
+
+        /**
+         * @return false if cancelled before finishing.
+         */
+        public boolean computeMatches(BooleanSupplier cancelled) {
+            if (needle.isEmpty()) {
+                return true;
+            }
+            for (int i = 0; i < columns.length; i++) {
+                if (texts[i] == null) {
+                    String[] lowerCased = new String[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        if (row % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                            return false;
+                        }
+                        Object value = rawValues[i][row];
+                        lowerCased[row] = value != null ? value.toString().toLowerCase(Locale.ROOT) : "";
+                    }
+                    texts[i] = lowerCased;
+                }
+            }
+            BitSet result = new BitSet(rowCount);
+            int checked = 0;
+            int row = candidates != null ? candidates.nextSetBit(0) : 0;
+            while (row >= 0 && row < rowCount) {
+                if (++checked % CANCEL_CHECK_INTERVAL == 0 && cancelled.getAsBoolean()) {
+                    return false;
+                }
+                for (String[] columnTexts : texts) {
+                    if (columnTexts[row].contains(needle)) {
+                        result.set(row);
+                        break;
+                    }
+                }
+                row = candidates != null ? candidates.nextSetBit(row + 1) : row + 1;
+            }
+            matches = result;
+            return true;
+        }
+
+        /**
+         * @return The number of matching rows once computed.
+         */
+        public int getMatchCount() {
+            return matches != null ? matches.cardinality() : rowCount;
+        }
+    }
+
+    private class KeyedModelWrapper extends ModelWrapper<M, Integer> {
+        @Override
+        public M getModel() {
+            return tableModel;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return tableModel.getColumnCount();
+        }
+
+        @Override
+        public int getRowCount() {
+            return tableModel.getRowCount();
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return sortKeys(column)[row];
+        }
+
+        @Override
+        public String getStringValueAt(int row, int column) {
+            Object value = tableModel.getValueAt(row, column);
+            return value != null ? value.toString() : "";
+        }
+
+        @Override
+        public Integer getIdentifier(int row) {
+            return row;
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package boundary;
 
+import control.ExportController;
+import control.InventoryColumnStore;
+import control.InventoryServiceClient;
+import control.InventorySnapshot;
+import control.StockAdjustmentResult;
 import control.SupplyItemController;
 import entity.SupplyItem;
 
@@ -8,11 +13,15 @@ import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel; 
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import javax.swing.JButton;
+import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane; 
 import javax.swing.BorderFactory;
 import javax.swing.Box; 
+import javax.swing.SwingWorker;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
@@ -20,7 +29,9 @@ import java.awt.Dimension;
 import java.time.LocalDate; 
 import java.time.temporal.ChronoUnit; 
 import java.util.ArrayList; 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;   
 import java.util.Vector;
 import java.util.stream.Collectors; 
@@ -33,17 +44,31 @@ public class InventoryBoundary extends JPanel {
     private static final long serialVersionUID = 1L;
     private MainAppFrame mainFrame; 
     private SupplyItemController supplyItemController;
+    private transient InventoryServiceClient serviceClient; // Null = local database
 
     private JTable inventoryTable;
     private DefaultTableModel tableModel;
+    private LazySupplyItemTableModel lazyTableModel;
+    private LazyTableRowSorter lazyRowSorter;
+    private IndexedTableRowSorter<DefaultTableModel> rowSorter;
+    private TableFilterBar filterBar;
+    private boolean lazyMode = false;
+    private int searchGeneration = 0;
+    private SwingWorker<List<SupplyItem>, Void> searchWorker;
+    // The last completed database search, narrowed in memory while the query only grows.
+    private int lastSearchColumn;
+    private String lastSearchText;
+    private List<SupplyItem> lastSearchResults;
 
     private JButton btnAddItem;
     private JButton btnEditItem;
     private JButton btnDeleteItem;
+    private JButton btnBulkEdit;
     private JButton btnRefreshInventory;
     private JButton btnBackToMenu;
     private JButton btnShowLowStock;    
     private JButton btnShowNearExpiry; 
+    private JButton btnExportInventory;
 
     private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 22);
     private static final Font TABLE_HEADER_FONT = new Font("Arial", Font.BOLD, 14);
@@ -54,10 +79,27 @@ public class InventoryBoundary extends JPanel {
     private static final Dimension NAV_BUTTON_SIZE = new Dimension(160, 30);
     
     private static final int NEAR_EXPIRATION_DAYS_THRESHOLD = 30; 
+    private static final int LAZY_LOADING_THRESHOLD = 10_000;
+    private static final int SEARCH_RESULT_LIMIT = 1_000;
+
+    private static final String[] COLUMN_NAMES = {
+        "Barcode", "Product Title", "Category", "Available Units", 
+        "Expiration Date", "Threshold Stock", "Supplier Code"
+    };
+    // The database column behind each table column, for searches of a large inventory.
+    private static final SupplyItemController.ItemColumn[] SEARCH_COLUMNS = {
+        SupplyItemController.ItemColumn.BARCODE, SupplyItemController.ItemColumn.PRODUCT_TITLE,
+        SupplyItemController.ItemColumn.CATEGORY, SupplyItemController.ItemColumn.AVAILABLE_UNITS,
+        SupplyItemController.ItemColumn.EXPIRATION_DATE, SupplyItemController.ItemColumn.THRESHOLD_STOCK,
+        SupplyItemController.ItemColumn.SUPPLIER_CODE
+    };
+    // Columns an "All Columns" query searches, in the table and in the database.
+    private static final int[] DEFAULT_SEARCH_COLUMNS = { 0, 1, 2, 6 };
 
     public InventoryBoundary(MainAppFrame frame) {
         this.mainFrame = frame;
         this.supplyItemController = new SupplyItemController(); 
+        this.serviceClient = frame.getServiceClient();
 
         setLayout(new BorderLayout(10, 15)); 
         setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15)); 
@@ -73,11 +115,7 @@ public class InventoryBoundary extends JPanel {
         lblTitle.setBorder(BorderFactory.createEmptyBorder(0, 0, 15, 0)); 
         add(lblTitle, BorderLayout.NORTH);
 
-        String[] columnNames = {
-            "Barcode", "Product Title", "Category", "Available Units", 
-            "Expiration Date", "Threshold Stock", "Supplier Code"
-        };
-        tableModel = new DefaultTableModel(columnNames, 0) {
+        tableModel = new DefaultTableModel(COLUMN_NAMES, 0) {
             private static final long serialVersionUID = 1L;
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -91,16 +129,25 @@ public class InventoryBoundary extends JPanel {
         inventoryTable.setFont(TABLE_BODY_FONT);
         inventoryTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
 
-        inventoryTable.getColumnModel().getColumn(0).setPreferredWidth(100); 
-        inventoryTable.getColumnModel().getColumn(1).setPreferredWidth(200); 
-        inventoryTable.getColumnModel().getColumn(2).setPreferredWidth(120); 
-        inventoryTable.getColumnModel().getColumn(3).setPreferredWidth(100); 
-        inventoryTable.getColumnModel().getColumn(4).setPreferredWidth(100); 
-        inventoryTable.getColumnModel().getColumn(5).setPreferredWidth(100); 
-        inventoryTable.getColumnModel().getColumn(6).setPreferredWidth(120); 
+        applyColumnWidths();
+
+        rowSorter = new IndexedTableRowSorter<>(tableModel,
+                IndexedTableRowSorter.ColumnType.TEXT, IndexedTableRowSorter.ColumnType.TEXT,
+                IndexedTableRowSorter.ColumnType.TEXT, IndexedTableRowSorter.ColumnType.INTEGER,
+                IndexedTableRowSorter.ColumnType.DATE, IndexedTableRowSorter.ColumnType.INTEGER,
+                IndexedTableRowSorter.ColumnType.TEXT);
+        // "All Columns" searches barcode, title, category and supplier code.
+        rowSorter.setSearchColumns(DEFAULT_SEARCH_COLUMNS);
+        inventoryTable.setRowSorter(rowSorter);
+        filterBar = new TableFilterBar(COLUMN_NAMES);
+        filterBar.setRowSorter(rowSorter);
+        filterBar.setQueryListener(this::searchLargeInventory);
 
         JScrollPane scrollPane = new JScrollPane(inventoryTable);
-        add(scrollPane, BorderLayout.CENTER);
+        JPanel tablePanel = new JPanel(new BorderLayout(0, 8));
+        tablePanel.add(filterBar, BorderLayout.NORTH);
+        tablePanel.add(scrollPane, BorderLayout.CENTER);
+        add(tablePanel, BorderLayout.CENTER);
 
         // --- Button Panels ---
         JPanel southPanelContainer = new JPanel(new BorderLayout(10, 5)); 
@@ -124,28 +171,156 @@ public class InventoryBoundary extends JPanel {
         
         btnRefreshInventory = new JButton("Refresh List");
         styleActionButton(btnRefreshInventory); 
+        btnExportInventory = new JButton("Export...");
+        btnExportInventory.setFont(BUTTON_FONT);
+        btnExportInventory.setPreferredSize(ALERT_BUTTON_SIZE);
         
         btnAddItem = new JButton("Add New Item");
         btnEditItem = new JButton("Edit Selected Item");
         btnDeleteItem = new JButton("Delete Selected Item(s)"); 
+        btnBulkEdit = new JButton("Bulk Edit Selected...");
         styleActionButton(btnAddItem);
         styleActionButton(btnEditItem);
         styleActionButton(btnDeleteItem);
+        styleActionButton(btnBulkEdit);
 
         allOtherButtonsPanel.add(btnDeleteItem);
+        allOtherButtonsPanel.add(btnBulkEdit);
         allOtherButtonsPanel.add(btnEditItem);
         allOtherButtonsPanel.add(btnAddItem);
         allOtherButtonsPanel.add(Box.createHorizontalStrut(10)); 
         allOtherButtonsPanel.add(btnRefreshInventory);
+        allOtherButtonsPanel.add(btnExportInventory);
         allOtherButtonsPanel.add(Box.createHorizontalStrut(10)); 
         allOtherButtonsPanel.add(btnShowNearExpiry);
         allOtherButtonsPanel.add(btnShowLowStock);
+        if (serviceClient != null) {
+            // Both work on the database directly, which the inventory service owns.
+            btnBulkEdit.setEnabled(false);
+            btnBulkEdit.setToolTipText(MainPanel.SERVICE_MODE_TOOLTIP);
+            btnExportInventory.setEnabled(false);
+            btnExportInventory.setToolTipText(MainPanel.SERVICE_MODE_TOOLTIP);
+        }
         
         southPanelContainer.add(allOtherButtonsPanel, BorderLayout.CENTER); 
         
         add(southPanelContainer, BorderLayout.SOUTH);
     }
     
+    private void applyColumnWidths() {
+        inventoryTable.getColumnModel().getColumn(0).setPreferredWidth(100); 
+        inventoryTable.getColumnModel().getColumn(1).setPreferredWidth(200); 
+        inventoryTable.getColumnModel().getColumn(2).setPreferredWidth(120); 
+        inventoryTable.getColumnModel().getColumn(3).setPreferredWidth(100); 
+        inventoryTable.getColumnModel().getColumn(4).setPreferredWidth(100); 
+        inventoryTable.getColumnModel().getColumn(5).setPreferredWidth(100); 
+        inventoryTable.getColumnModel().getColumn(6).setPreferredWidth(120); 
+    }
+
+    private void useTableModel(TableModel model) {
+        if (inventoryTable.getModel() != model) {
+            inventoryTable.setModel(model);
+            // The lazy model is sorted by the database; sorting its rows here would load every page.
+            boolean eager = model == tableModel;
+            inventoryTable.setRowSorter(eager ? rowSorter : lazyRowSorter);
+            applyColumnWidths();
+        }
+        // A large inventory is searched in the database rather than in the loaded rows.
+        filterBar.setRowSorter(lazyMode ? null : rowSorter);
+    }
+
+    /**
+     * Searches a lazily loaded inventory in the database and shows the matches (up to
+     * {@link #SEARCH_RESULT_LIMIT}) in place of the paged rows; an empty query shows all rows again.
+     * A query that extends the previous one in the same column (e.g. "glo", then "glov") is
+     * answered by narrowing the previous matches, if they were complete, without a query.
+     * Starting a search cancels one still running.
+     */
+    private void searchLargeInventory(int column, String text) {
+        final int generation = ++searchGeneration;
+        if (searchWorker != null) {
+            searchWorker.cancel(true);
+            searchWorker = null;
+        }
+        if (!lazyMode) {
+            return;
+        }
+        String needle = text.trim().toLowerCase(Locale.ROOT);
+        if (needle.isEmpty()) {
+            useTableModel(lazyTableModel);
+            filterBar.setStatusText(null);
+            return;
+        }
+        if (lastSearchResults != null && column == lastSearchColumn && needle.startsWith(lastSearchText)
+                && lastSearchResults.size() < SEARCH_RESULT_LIMIT) {
+            List<SupplyItem> narrowed = new ArrayList<>();
+            for (SupplyItem item : lastSearchResults) {
+                if (matchesSearch(toTableRow(item), column, needle)) {
+                    narrowed.add(item);
+                }
+            }
+            showSearchResults(column, needle, narrowed);
+            return;
+        }
+        filterBar.setStatusText("Searching...");
+        SupplyItemController.ItemColumn searchColumn = column == IndexedTableRowSorter.ALL_COLUMNS ? null : SEARCH_COLUMNS[column];
+        searchWorker = new SwingWorker<List<SupplyItem>, Void>() {
+            @Override
+            protected List<SupplyItem> doInBackground() {
+                return supplyItemController.searchSupplyItems(needle, searchColumn, SEARCH_RESULT_LIMIT);
+            }
+
+            @Override
+            protected void done() {
+                if (generation != searchGeneration || !lazyMode || isCancelled()) {
+                    return; // A newer search (or a reload) superseded this one.
+                }
+                searchWorker = null;
+                List<SupplyItem> items;
+                try {
+                    items = get();
+                } catch (Exception ex) {
+                    items = new ArrayList<>();
+                }
+                showSearchResults(column, needle, items);
+            }
+        };
+        searchWorker.execute();
+    }
+
+    private void showSearchResults(int column, String needle, List<SupplyItem> items) {
+        lastSearchColumn = column;
+        lastSearchText = needle;
+        lastSearchResults = items;
+        Vector<Vector<Object>> rows = new Vector<>();
+        for (SupplyItem item : items) {
+            rows.add(toTableRow(item));
+        }
+        useTableModel(tableModel);
+        setTableRows(rows);
+        filterBar.setStatusText(items.size() >= SEARCH_RESULT_LIMIT
+                                ? "First " + SEARCH_RESULT_LIMIT + " matches" : items.size() + " match(es)");
+    }
+
+    // Same rule as the database search: the shown value contains the text, ignoring case.
+    private static boolean matchesSearch(Vector<Object> row, int column, String needle) {
+        int[] columns = column == IndexedTableRowSorter.ALL_COLUMNS ? DEFAULT_SEARCH_COLUMNS : new int[] { column };
+        for (int searched : columns) {
+            Object value = row.get(searched);
+            if (value != null && value.toString().toLowerCase(Locale.ROOT).contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Object getModelValue(int modelRow, int column) {
+        if (inventoryTable.getModel() == lazyTableModel) {
+            return lazyTableModel.fetchValueAt(modelRow, column);
+        }
+        return tableModel.getValueAt(modelRow, column);
+    }
+
     private void styleActionButton(JButton button) {
         button.setFont(BUTTON_FONT);
         button.setPreferredSize(ACTION_BUTTON_SIZE);
@@ -153,24 +328,78 @@ public class InventoryBoundary extends JPanel {
 
     private void loadInventoryData() { 
         tableModel.setRowCount(0); 
-        List<SupplyItem> items = supplyItemController.getAllSupplyItems();
+        lastSearchResults = null; // Rows may have changed since the last search.
+        InventorySnapshot snapshot = null;
+        int itemCount = 0;
+        // The service sends the whole list; this machine's snapshot describes its own database.
+        if (serviceClient == null) {
+            snapshot = InventorySnapshot.loadCurrent();
+            itemCount = snapshot != null ? snapshot.getItemCount() : supplyItemController.countSupplyItems();
+        }
+        if (itemCount > LAZY_LOADING_THRESHOLD) {
+            // Too many rows to materialize; page them in as the table scrolls.
+            if (lazyTableModel == null) {
+                lazyTableModel = new LazySupplyItemTableModel(COLUMN_NAMES, supplyItemController);
+                lazyRowSorter = new LazyTableRowSorter(lazyTableModel);
+            }
+            lazyMode = true;
+            rowSorter.setFilterText(IndexedTableRowSorter.ALL_COLUMNS, "");
+            useTableModel(lazyTableModel);
+            lazyTableModel.reload();
+            if (!filterBar.getQueryText().isEmpty()) {
+                searchLargeInventory(IndexedTableRowSorter.ALL_COLUMNS, filterBar.getQueryText());
+            }
+            return;
+        }
+        lazyMode = false;
+        searchGeneration++;
+        useTableModel(tableModel);
+        Vector<Vector<Object>> rows = new Vector<>();
+        if (snapshot != null) {
+            for (int i = 0; i < snapshot.getItemCount(); i++) {
+                Vector<Object> row = new Vector<>();
+                row.add(snapshot.getBarcode(i));
+                row.add(snapshot.getProductTitle(i));
+                row.add(snapshot.getCategory(i));
+                row.add(snapshot.getAvailableUnits(i));
+                row.add(snapshot.getExpirationDate(i) != null ? snapshot.getExpirationDate(i).toString() : "N/A");
+                row.add(snapshot.getThresholdStock(i));
+                row.add(snapshot.getSupplierCodeOfItem(i) != null ? snapshot.getSupplierCodeOfItem(i) : "N/A");
+                rows.add(row);
+            }
+            setTableRows(rows);
+            return;
+        }
+        List<SupplyItem> items = serviceClient != null ? serviceClient.getAllSupplyItems() : supplyItemController.getAllSupplyItems();
         if (items != null && !items.isEmpty()) {
             for (SupplyItem item : items) {
-                Vector<Object> row = new Vector<>();
-                row.add(item.getBarcode());
-                row.add(item.getProductTitle());
-                row.add(item.getCategory());
-                row.add(item.getAvailableUnits());
-                row.add(item.getExpirationDate() != null ? item.getExpirationDate().toString() : "N/A");
-                row.add(item.getThresholdStock());
-                row.add(item.getSupplierCode() != null ? item.getSupplierCode() : "N/A");
-                tableModel.addRow(row);
+                rows.add(toTableRow(item));
             }
         }
+        setTableRows(rows);
+    }
+
+    private Vector<Object> toTableRow(SupplyItem item) {
+        Vector<Object> row = new Vector<>();
+        row.add(item.getBarcode());
+        row.add(item.getProductTitle());
+        row.add(item.getCategory());
+        row.add(item.getAvailableUnits());
+        row.add(item.getExpirationDate() != null ? item.getExpirationDate().toString() : "N/A");
+        row.add(item.getThresholdStock());
+        row.add(item.getSupplierCode() != null ? item.getSupplierCode() : "N/A");
+        return row;
+    }
+
+    // Replaces all rows with a single change event, so the sorter re-sorts once instead of per row.
+    private void setTableRows(Vector<Vector<Object>> rows) {
+        tableModel.getDataVector().clear();
+        tableModel.getDataVector().addAll(rows);
+        tableModel.fireTableDataChanged();
     }
     
     private void checkAndShowLowStockAlerts() {
-        List<SupplyItem> lowStockItems = supplyItemController.getLowStockItems();
+        List<SupplyItem> lowStockItems = serviceClient != null ? serviceClient.getLowStockItems() : supplyItemController.getLowStockItems();
         if (lowStockItems != null && !lowStockItems.isEmpty()) {
             StringBuilder alertMessage = new StringBuilder("The following items are LOW ON STOCK (at or below threshold):\n\n");
             for (SupplyItem item : lowStockItems) {
@@ -188,7 +417,9 @@ public class InventoryBoundary extends JPanel {
     }
 
     private void checkAndShowNearExpirationAlerts() {
-        List<SupplyItem> nearExpirationItems = supplyItemController.getNearExpirationItems(NEAR_EXPIRATION_DAYS_THRESHOLD);
+        List<SupplyItem> nearExpirationItems = serviceClient != null
+                ? serviceClient.getNearExpirationItems(NEAR_EXPIRATION_DAYS_THRESHOLD)
+                : supplyItemController.getNearExpirationItems(NEAR_EXPIRATION_DAYS_THRESHOLD);
         if (nearExpirationItems != null && !nearExpirationItems.isEmpty()) {
             StringBuilder alertMessage = new StringBuilder("The following items are NEARING EXPIRATION (within ")
                                             .append(NEAR_EXPIRATION_DAYS_THRESHOLD).append(" days or expiring today):\n\n");
@@ -215,9 +446,56 @@ public class InventoryBoundary extends JPanel {
         }
     }
 
+    private void exportInventory() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Inventory");
+        FileNameExtensionFilter csvFilter = new FileNameExtensionFilter("Inventory as CSV (*.csv)", "csv");
+        FileNameExtensionFilter xmlFilter = new FileNameExtensionFilter("Inventory and suppliers as Supir XML (*.xml)", "xml");
+        chooser.addChoosableFileFilter(csvFilter);
+        chooser.addChoosableFileFilter(xmlFilter);
+        chooser.setAcceptAllFileFilterUsed(false);
+        chooser.setFileFilter(csvFilter);
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        boolean asXml = chooser.getFileFilter() == xmlFilter;
+        String extension = asXml ? ".xml" : ".csv";
+        String path = chooser.getSelectedFile().getAbsolutePath();
+        final String exportPath = path.toLowerCase().endsWith(extension) ? path : path + extension;
+        final ExportController.ExportType exportType = asXml ? ExportController.ExportType.INVENTORY_XML : ExportController.ExportType.INVENTORY_CSV;
+
+        btnExportInventory.setEnabled(false);
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return new ExportController().exportToFile(exportPath, exportType);
+            }
+
+            @Override
+            protected void done() {
+                btnExportInventory.setEnabled(true);
+                String errorMessage;
+                try {
+                    errorMessage = get();
+                } catch (Exception ex) {
+                    errorMessage = ex.getMessage();
+                }
+                if (errorMessage == null) {
+                    JOptionPane.showMessageDialog(InventoryBoundary.this, "Inventory exported to:\n" + exportPath, "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(InventoryBoundary.this, "Failed to export inventory: " + errorMessage, "Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
     private void addListeners() {
         btnBackToMenu.addActionListener(e -> mainFrame.switchPanel(new MainPanel(mainFrame)));
-        btnRefreshInventory.addActionListener(e -> loadInventoryData());
+        btnRefreshInventory.addActionListener(e -> {
+            InventoryColumnStore.getInstance().invalidate();
+            loadInventoryData();
+        });
+        btnExportInventory.addActionListener(e -> exportInventory());
         btnShowLowStock.addActionListener(e -> checkAndShowLowStockAlerts());
         btnShowNearExpiry.addActionListener(e -> checkAndShowNearExpirationAlerts());
 
@@ -226,7 +504,7 @@ public class InventoryBoundary extends JPanel {
             addDialog.setVisible(true); 
             SupplyItem newSupplyItem = addDialog.getNewSupplyItem();
             if (newSupplyItem != null) {
-                String errorMessage = supplyItemController.addSupplyItem(newSupplyItem);
+                String errorMessage = serviceClient != null ? serviceClient.addSupplyItem(newSupplyItem) : supplyItemController.addSupplyItem(newSupplyItem);
                 if (errorMessage == null) { 
                     JOptionPane.showMessageDialog(this, "Supply item added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                     loadInventoryData(); 
@@ -241,14 +519,14 @@ public class InventoryBoundary extends JPanel {
             if (selectedRows.length == 0) { JOptionPane.showMessageDialog(this, "Please select an item to edit.", "No Item Selected", JOptionPane.WARNING_MESSAGE); return; }
             if (selectedRows.length > 1) { JOptionPane.showMessageDialog(this, "Please select only one item to edit at a time.", "Multiple Items Selected", JOptionPane.WARNING_MESSAGE); return; }
             int modelRow = inventoryTable.convertRowIndexToModel(selectedRows[0]);
-            String itemBarcode = (String) tableModel.getValueAt(modelRow, 0); 
-            SupplyItem itemToEdit = supplyItemController.getSupplyItemByBarcode(itemBarcode);
+            String itemBarcode = (String) getModelValue(modelRow, 0); 
+            SupplyItem itemToEdit = serviceClient != null ? serviceClient.getSupplyItemByBarcode(itemBarcode) : supplyItemController.getSupplyItemByBarcode(itemBarcode);
             if (itemToEdit != null) {
                 EditSupplyItemDialog editDialog = new EditSupplyItemDialog(mainFrame, itemToEdit);
                 editDialog.setVisible(true); 
                 SupplyItem updatedItem = editDialog.getUpdatedSupplyItem();
                 if (updatedItem != null) {
-                    String errorMessage = supplyItemController.updateSupplyItem(updatedItem);
+                    String errorMessage = serviceClient != null ? serviceClient.updateSupplyItem(updatedItem) : supplyItemController.updateSupplyItem(updatedItem);
                     if (errorMessage == null) { 
                         JOptionPane.showMessageDialog(this, "Supply item updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                         loadInventoryData(); 
@@ -261,6 +539,8 @@ public class InventoryBoundary extends JPanel {
             }
         });
 
+        btnBulkEdit.addActionListener(e -> bulkEditSelectedItems());
+
         btnDeleteItem.addActionListener(e -> {
             int[] selectedRowsView = inventoryTable.getSelectedRows(); 
             if (selectedRowsView.length == 0) { JOptionPane.showMessageDialog(this, "Please select one or more items to delete.", "No Item Selected", JOptionPane.WARNING_MESSAGE); return; }
@@ -268,8 +548,8 @@ public class InventoryBoundary extends JPanel {
             List<String> itemTitlesForConfirmation = new ArrayList<>();
             for (int viewRow : selectedRowsView) { 
                 int modelRow = inventoryTable.convertRowIndexToModel(viewRow);
-                itemBarcodesToDelete.add((String) tableModel.getValueAt(modelRow, 0)); 
-                itemTitlesForConfirmation.add((String) tableModel.getValueAt(modelRow, 1)); 
+                itemBarcodesToDelete.add((String) getModelValue(modelRow, 0)); 
+                itemTitlesForConfirmation.add((String) getModelValue(modelRow, 1)); 
             }
             String confirmationMessage;
             if (itemTitlesForConfirmation.size() == 1) {
@@ -280,7 +560,9 @@ public class InventoryBoundary extends JPanel {
             }
             int confirm = JOptionPane.showConfirmDialog(this, confirmationMessage,"Confirm Deletion", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
             if (confirm == JOptionPane.YES_OPTION) {
-                Map<String, String> deleteResults = supplyItemController.deleteMultipleSupplyItems(itemBarcodesToDelete);
+                Map<String, String> deleteResults = serviceClient != null
+                        ? serviceClient.deleteMultipleSupplyItems(itemBarcodesToDelete)
+                        : supplyItemController.deleteMultipleSupplyItems(itemBarcodesToDelete);
                 StringBuilder resultMessageSb = new StringBuilder(); 
                 String dialogTitle = "Deletion Result";
                 int messageType = JOptionPane.INFORMATION_MESSAGE;
@@ -317,4 +599,70 @@ public class InventoryBoundary extends JPanel {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Applies one change to all selected items with a single controller call, which checks
+     * the value once and writes every row in one batch.
+     */
+    private void bulkEditSelectedItems() {
+        int[] selectedRowsView = inventoryTable.getSelectedRows();
+        if (selectedRowsView.length == 0) { JOptionPane.showMessageDialog(this, "Please select one or more items to edit.", "No Item Selected", JOptionPane.WARNING_MESSAGE); return; }
+        List<String> barcodes = new ArrayList<>();
+        for (int viewRow : selectedRowsView) {
+            barcodes.add((String) getModelValue(inventoryTable.convertRowIndexToModel(viewRow), 0));
+        }
+        BulkEditDialog bulkDialog = new BulkEditDialog(mainFrame, barcodes.size());
+        bulkDialog.setVisible(true);
+        BulkEditDialog.Action action = bulkDialog.getChosenAction();
+        if (action == null) {
+            return;
+        }
+        Map<String, String> results;
+        switch (action) {
+            case SET_THRESHOLD:
+                results = supplyItemController.setThresholdStock(barcodes, bulkDialog.getIntValue());
+                break;
+            case SET_CATEGORY:
+                results = supplyItemController.setCategory(barcodes, bulkDialog.getCategory());
+                break;
+            case SET_SUPPLIER:
+                results = supplyItemController.setSupplier(barcodes,
+                        bulkDialog.getSupplier() != null ? bulkDialog.getSupplier().getSupplierCode() : null);
+                break;
+            default:
+                int change = bulkDialog.getIntValue();
+                Map<String, Integer> quantities = new LinkedHashMap<>();
+                for (String barcode : barcodes) {
+                    quantities.put(barcode, Math.abs(change));
+                }
+                Map<String, StockAdjustmentResult> adjustments = change > 0
+                        ? supplyItemController.receiveAll(quantities)
+                        : supplyItemController.consumeAll(quantities);
+                results = new LinkedHashMap<>();
+                for (StockAdjustmentResult result : adjustments.values()) {
+                    results.put(result.getBarcode(), result.isApplied() ? null : result.getErrorMessage());
+                }
+                break;
+        }
+
+        long successCount = results.values().stream().filter(error -> error == null).count();
+        long failureCount = results.size() - successCount;
+        StringBuilder resultMessageSb = new StringBuilder();
+        if (successCount > 0) resultMessageSb.append(successCount).append(" item(s) updated successfully.\n");
+        if (failureCount > 0) {
+            resultMessageSb.append("\n").append(failureCount).append(" item(s) were not updated:\n");
+            int listed = 0;
+            for (Map.Entry<String, String> entry : results.entrySet()) {
+                if (entry.getValue() == null) continue;
+                if (listed++ == 20) { resultMessageSb.append("- ...\n"); break; }
+                resultMessageSb.append("- ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            }
+        }
+        JOptionPane.showMessageDialog(this, resultMessageSb.toString().trim(),
+                failureCount > 0 ? "Bulk Edit Partially Failed" : "Bulk Edit Result",
+                failureCount > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+        if (successCount > 0) {
+            loadInventoryData();
+        }
+    }
+}
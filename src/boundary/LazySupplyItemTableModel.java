@@ -0,0 +1,281 @@
+package boundary;
+
+import control.Page;
+import control.PageCursor;
+import control.SupplyItemController;
+import entity.SupplyItem;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table model for very large inventories that knows only the row count up front and
+ * loads rows in pages as the table asks for them.
+ * <p>
+ * Pages are fetched on a background thread, newest request first, and shown as soon as
+ * they arrive; the next page in the scroll direction is prefetched. Only the most recently
+ * used pages are kept, so memory follows what is on screen rather than the table size.
+ * A page directly after a loaded one is read with a keyset cursor, other pages (after a
+ * jump of the scrollbar) by offset. Rows are ordered in the database: by title, or by the
+ * column set with {@link #setSortOrder(int, boolean)} (see {@link LazyTableRowSorter}). A page that fails to load is not kept: its rows show
+ * {@value #LOAD_FAILED_TEXT} and it is requested again after {@value #RETRY_DELAY_MILLIS} ms.
+ * Must be used from the event dispatch thread.
+ */
+public class LazySupplyItemTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 25;
+    private static final String LOADING_TEXT = "Loading...";
+    private static final String LOAD_FAILED_TEXT = "Could not load - retrying...";
+    private static final int RETRY_DELAY_MILLIS = 2000;
+    // The database column behind each table column, as filled in by fetchPage.
+    private static final SupplyItemController.ItemColumn[] COLUMN_ORDER = {
+        SupplyItemController.ItemColumn.BARCODE, SupplyItemController.ItemColumn.PRODUCT_TITLE,
+        SupplyItemController.ItemColumn.CATEGORY, SupplyItemController.ItemColumn.AVAILABLE_UNITS,
+        SupplyItemController.ItemColumn.EXPIRATION_DATE, SupplyItemController.ItemColumn.THRESHOLD_STOCK,
+        SupplyItemController.ItemColumn.SUPPLIER_CODE
+    };
+
+    private final String[] columnNames;
+    private final transient SupplyItemController supplyItemController;
+
+    private final Map<Integer, Object[][]> pages = new LinkedHashMap<Integer, Object[][]>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Object[][]> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> pendingPages = new HashSet<>();
+    // Pages whose last load failed, with the time they may be requested again.
+    private final Map<Integer, Long> failedPages = new HashMap<>();
+    // Cursor positioned after the last row of each page read so far (kept after the page is evicted).
+    private final Map<Integer, PageCursor> cursorAfterPage = new ConcurrentHashMap<>();
+    private final transient ThreadPoolExecutor pageLoader;
+
+    private int rowCount = 0;
+    private volatile int generation = 0;
+    private volatile int lastAccessedPage = 0;
+    private int scrollDirection = 1;
+    private volatile SupplyItemController.ItemColumn sortColumn = SupplyItemController.ItemColumn.PRODUCT_TITLE;
+    private volatile boolean sortDescending = false;
+
+    public LazySupplyItemTableModel(String[] columnNames, SupplyItemController supplyItemController) {
+        this.columnNames = columnNames.clone();
+        this.supplyItemController = supplyItemController;
+        // Single loader thread taking the most recent request first; it exits when idle.
+        this.pageLoader = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingDeque<Runnable>() {
+            private static final long serialVersionUID = 1L;
+            @Override
+            public boolean offer(Runnable task) {
+                return offerFirst(task);
+            }
+        }, task -> {
+            Thread thread = new Thread(task, "inventory-page-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pageLoader.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Drops all loaded rows and re-reads the row count.
+     */
+    public void reload() {
+        generation++;
+        pages.clear();
+        pendingPages.clear();
+        failedPages.clear();
+        cursorAfterPage.clear();
+        rowCount = supplyItemController.countSupplyItems();
+        lastAccessedPage = 0;
+        scrollDirection = 1;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Orders the rows by a column and reloads them.
+     *
+     * @param column The table column, or -1 for the default order (by title).
+     */
+    public void setSortOrder(int column, boolean descending) {
+        sortColumn = column >= 0 ? COLUMN_ORDER[column] : SupplyItemController.ItemColumn.PRODUCT_TITLE;
+        sortDescending = column >= 0 && descending;
+        reload();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        if (page != lastAccessedPage) {
+            scrollDirection = page > lastAccessedPage ? 1 : -1;
+            lastAccessedPage = page;
+            requestPage(page + scrollDirection);
+        }
+        Object[][] rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            if (column != 0) {
+                return null;
+            }
+            return failedPages.containsKey(page) ? LOAD_FAILED_TEXT : LOADING_TEXT;
+        }
+        int index = row - page * PAGE_SIZE;
+        return index < rows.length ? rows[index][column] : null;
+    }
+
+    /**
+     * Like {@link #getValueAt(int, int)}, but loads the row's page right away if needed, for
+     * callers that need the real value (e.g. the barcodes of selected rows).
+     *
+     * @return The value, or null if the row's page could not be read.
+     */
+    public Object fetchValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        Object[][] rows = pages.get(page);
+        if (rows == null) {
+            try {
+                rows = fetchPage(page, generation);
+            } catch (SQLException e) {
+                System.err.println("ERROR: Could not load inventory page " + page + ": " + e.getMessage());
+                return null;
+            }
+            failedPages.remove(page);
+            pages.put(page, rows);
+        }
+        int index = row - page * PAGE_SIZE;
+        return index < rows.length ? rows[index][column] : null;
+    }
+
+    private void requestPage(int page) {
+        if (page < 0 || page * PAGE_SIZE >= rowCount || pages.containsKey(page)) {
+            return;
+        }
+        Long retryAt = failedPages.get(page);
+        if (retryAt != null && System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        if (!pendingPages.add(page)) {
+            return;
+        }
+        final int requestGeneration = generation;
+        pageLoader.execute(() -> {
+            Object[][] rows = null;
+            boolean failed = false;
+            // Skip requests the user has already scrolled far away from.
+            if (Math.abs(page - lastAccessedPage) <= MAX_CACHED_PAGES / 2) {
+                try {
+                    rows = fetchPage(page, requestGeneration);
+                } catch (SQLException e) {
+                    System.err.println("ERROR: Could not load inventory page " + page + ": " + e.getMessage());
+                    failed = true;
+                }
+            }
+            final Object[][] loaded = rows;
+            final boolean loadFailed = failed;
+            SwingUtilities.invokeLater(() -> {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                pendingPages.remove(page);
+                if (loaded != null) {
+                    failedPages.remove(page);
+                    pages.put(page, loaded);
+                    fireRowsUpdated(page, loaded.length);
+                } else if (loadFailed) {
+                    failedPages.put(page, System.currentTimeMillis() + RETRY_DELAY_MILLIS);
+                    fireRowsUpdated(page, PAGE_SIZE);
+                    scheduleRetry(page, requestGeneration);
+                }
+            });
+        });
+    }
+
+    /**
+     * Repaints the page's rows once its retry delay has passed, which requests it again if
+     * it is still on screen.
+     */
+    private void scheduleRetry(int page, int requestGeneration) {
+        Timer timer = new Timer(RETRY_DELAY_MILLIS, e -> {
+            if (requestGeneration == generation && !pages.containsKey(page)) {
+                fireRowsUpdated(page, PAGE_SIZE);
+            }
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    private void fireRowsUpdated(int page, int length) {
+        int firstRow = page * PAGE_SIZE;
+        int lastRow = Math.min(rowCount, firstRow + length) - 1;
+        if (lastRow >= firstRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Reads one page. Throws instead of returning a short page when the read fails, so a
+     * failed page is never kept or used to position the next one.
+     */
+    private Object[][] fetchPage(int page, int requestGeneration) throws SQLException {
+        SupplyItemController.ItemColumn column = sortColumn;
+        boolean descending = sortDescending;
+        PageCursor cursor = page == 0 ? PageCursor.first(PAGE_SIZE) : cursorAfterPage.get(page - 1);
+        Page<SupplyItem> result = cursor != null
+                ? supplyItemController.loadSupplyItemsPage(cursor, column, descending)
+                : supplyItemController.loadSupplyItemsPageAt(page * PAGE_SIZE, PAGE_SIZE, column, descending);
+        List<SupplyItem> items = result.getItems();
+        // A short page is the end of the table; only a full one can position the next page.
+        if (items.size() == PAGE_SIZE && result.getNextCursor() != null && requestGeneration == generation) {
+            cursorAfterPage.put(page, result.getNextCursor());
+        }
+        Object[][] rows = new Object[items.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            SupplyItem item = items.get(i);
+            rows[i] = new Object[] {
+                item.getBarcode(),
+                item.getProductTitle(),
+                item.getCategory(),
+                item.getAvailableUnits(),
+                item.getExpirationDate() != null ? item.getExpirationDate().toString() : "N/A",
+                item.getThresholdStock(),
+                item.getSupplierCode() != null ? item.getSupplierCode() : "N/A"
+            };
+        }
+        return rows;
+    }
+}
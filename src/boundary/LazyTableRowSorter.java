@@ -0,0 +1,96 @@
+package boundary;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Row sorter for a {@link LazySupplyItemTableModel}: clicking a column header asks the
+ * database for the rows in that column's order ({@link LazySupplyItemTableModel#setSortOrder(int, boolean)})
+ * instead of sorting the loaded rows, which would load every page. View and model rows
+ * are therefore always the same. Sorts by one column at a time.
+ */
+public class LazyTableRowSorter extends RowSorter<LazySupplyItemTableModel> {
+
+    private final LazySupplyItemTableModel model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+
+    public LazyTableRowSorter(LazySupplyItemTableModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public LazySupplyItemTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        boolean ascending = !sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column
+                            && sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING;
+        setSortKeys(Collections.singletonList(new SortKey(column, ascending ? SortOrder.DESCENDING : SortOrder.ASCENDING)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        SortKey key = keys != null && !keys.isEmpty() ? keys.get(0) : null;
+        if (key != null && key.getSortOrder() == SortOrder.UNSORTED) {
+            key = null;
+        }
+        sortKeys = key != null ? Collections.singletonList(key) : Collections.<SortKey>emptyList();
+        model.setSortOrder(key != null ? key.getColumn() : -1, key != null && key.getSortOrder() == SortOrder.DESCENDING);
+        fireSortOrderChanged();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        return index;
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    // The rows are ordered by the model itself, so changes need no work here.
+
+    @Override
+    public void modelStructureChanged() {
+    }
+
+    @Override
+    public void allRowsChanged() {
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+    }
+}
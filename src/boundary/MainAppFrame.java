@@ -1,29 +1,46 @@
 package boundary;
 
+import control.InventoryServiceClient;
+
 import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.HeadlessException;
+import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowStateListener;
 
 /**
  * The main application window (JFrame) for the DentalCare system.
  * This is a Boundary class in the ECB pattern.
+ * <p>
+ * Created with an {@link InventoryServiceClient}, the screens read and write through a
+ * shared {@link control.InventoryServer} instead of the local database, and features that
+ * need the database itself (import, dashboard, export, bulk edit) are disabled.
  */
 public class MainAppFrame extends JFrame {
 
     private static final long serialVersionUID = 1L;
     private JPanel currentPanel;
+    private final transient InventoryServiceClient serviceClient;
 
     public MainAppFrame() throws HeadlessException {
-        super("DentalCare Management System");
+        this(null);
+    }
+
+    /**
+     * @param serviceClient The inventory service to work through, or null to use the local database.
+     */
+    public MainAppFrame(InventoryServiceClient serviceClient) throws HeadlessException {
+        super(serviceClient != null ? "DentalCare Management System (shared inventory service)" : "DentalCare Management System");
+        this.serviceClient = serviceClient;
 
         initComponents();
         setupFrame();
         addWindowStateBehavior();
+        addShutdownBehavior();
 
     }
 
@@ -43,6 +60,32 @@ public class MainAppFrame extends JFrame {
         setResizable(false);
     }
 
+    /**
+     * @return The inventory service the screens work through, or null if they use the local database.
+     */
+    public InventoryServiceClient getServiceClient() {
+        return serviceClient;
+    }
+
+    private void addShutdownBehavior() {
+        if (serviceClient != null) {
+            return; // The service owns the database, the audit trail and the snapshot.
+        }
+        // Runs before EXIT_ON_CLOSE terminates the VM; the snapshot lets the next start skip loading the database.
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                control.WriteBehindQueue.getInstance().stop();
+                control.AuditTrail.getInstance().stop();
+                String errorMessage = control.InventorySnapshot.writeCurrent();
+                if (errorMessage != null) {
+                    System.err.println("WARNING: " + errorMessage);
+                }
+                util.DatabaseConnector.closeConnection();
+            }
+        });
+    }
+
     private void addWindowStateBehavior() {
         addWindowStateListener(new WindowStateListener() {
             @Override
@@ -9,12 +9,15 @@ import javax.swing.JTextArea;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
+import javax.swing.SwingUtilities;
+import control.StartupWarmup;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Cursor;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
@@ -24,6 +27,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The main navigation panel displayed within the MainAppFrame.
@@ -64,9 +68,12 @@ public class MainPanel extends JPanel {
     private JButton btnManageSuppliers;
     private JButton btnManageInventory;
     private JButton btnImportXmlData;
+    private JButton btnDashboard;
 
     private MainAppFrame mainFrame;
 
+    static final String SERVICE_MODE_TOOLTIP = "Not available while working through the shared inventory service";
+
     public MainPanel(MainAppFrame frame) {
         this.mainFrame = frame;
         initComponents();
@@ -123,11 +130,20 @@ public class MainPanel extends JPanel {
         btnManageSuppliers = new GradientButton("Manage Suppliers");
         btnManageInventory = new GradientButton("Manage Inventory");
         btnImportXmlData = new GradientButton("Import Supir XML Data");
+        btnDashboard = new GradientButton("Inventory Dashboard");
 
         buttonPanel.add(btnManageSuppliers);
         buttonPanel.add(btnManageInventory);
         buttonPanel.add(btnImportXmlData);
+        buttonPanel.add(btnDashboard);
         buttonPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        if (usesService()) {
+            // Both read or write the database directly, which the inventory service owns.
+            btnImportXmlData.setEnabled(false);
+            btnImportXmlData.setToolTipText(SERVICE_MODE_TOOLTIP);
+            btnDashboard.setEnabled(false);
+            btnDashboard.setToolTipText(SERVICE_MODE_TOOLTIP);
+        }
 
         centerWrapperPanel.add(buttonPanel);
         centerWrapperPanel.add(Box.createVerticalGlue());
@@ -187,7 +203,7 @@ public class MainPanel extends JPanel {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (mainFrame != null) {
-                    mainFrame.switchPanel(new SupplierBoundary(mainFrame));
+                    whenDatabaseReady(() -> mainFrame.switchPanel(new SupplierBoundary(mainFrame)));
                 }
             }
         });
@@ -196,71 +212,115 @@ public class MainPanel extends JPanel {
             @Override
             public void actionPerformed(ActionEvent e) {
                 if (mainFrame != null) {
-                    mainFrame.switchPanel(new InventoryBoundary(mainFrame));
+                    whenDatabaseReady(() -> mainFrame.switchPanel(new InventoryBoundary(mainFrame)));
                 }
             }
         });
 
-        btnImportXmlData.addActionListener(new ActionListener() {
+        btnDashboard.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                System.out.println("Import Supir XML Data button clicked.");
-                String xmlPathToUse = util.Constants.SUPIR_XML_FILE_PATH;
-
-                control.XmlImportController xmlImportController = new control.XmlImportController();
-                try {
-                    control.ImportResult importResult = xmlImportController.importDataFromXml(xmlPathToUse);
-
-                    // Basic styling for JTextArea to somewhat blend
-                    JTextArea textArea = new JTextArea(importResult.toString());
-                    textArea.setEditable(false);
-                    textArea.setWrapStyleWord(true);
-                    textArea.setLineWrap(true);
-                    textArea.setCaretPosition(0);
-                    textArea.setFont(new Font("Monospaced", Font.PLAIN, 12)); // Monospaced for structured data
-                    textArea.setBackground(new Color(230, 230, 240)); // Light lavender gray
-                    textArea.setForeground(new Color(51, 51, 51)); // Dark gray text
-                    textArea.setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
-
-
-                    JScrollPane scrollPane = new JScrollPane(textArea);
-                    scrollPane.setPreferredSize(new Dimension(550, 350)); // Slightly larger
-                    scrollPane.setBorder(BorderFactory.createLineBorder(new Color(180,180,190), 1)); // Subtle border
-
-                    JOptionPane.showMessageDialog(mainFrame,
-                                                  scrollPane,
-                                                  "XML Import Result",
-                                                  (importResult.isOverallSuccess() &&
-                                                   importResult.getSuppliersFailed() == 0 &&
-                                                   importResult.getItemsFailed() == 0)
-                                                   ? JOptionPane.INFORMATION_MESSAGE
-                                                   : JOptionPane.WARNING_MESSAGE);
-                } catch (Exception ex) {
-                     // Keep original error dialog styling for now, or apply similar custom styling if needed
-                    JTextArea errorTextArea = new JTextArea("Error during XML import process: " + ex.getMessage() +
-                                                           "\nExpected XML at: " + xmlPathToUse +
-                                                           "\n\nStack Trace:\n" + getStackTraceString(ex));
-                    errorTextArea.setEditable(false);
-                    errorTextArea.setWrapStyleWord(true);
-                    errorTextArea.setLineWrap(true);
-                    errorTextArea.setCaretPosition(0);
-                    errorTextArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
-                    errorTextArea.setBackground(new Color(255, 230, 230)); // Light error red
-                    errorTextArea.setForeground(Color.RED.darker());
-                    errorTextArea.setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
-
-                    JScrollPane errorScrollPane = new JScrollPane(errorTextArea);
-                    errorScrollPane.setPreferredSize(new Dimension(600, 400));
-
-
-                    JOptionPane.showMessageDialog(mainFrame,
-                                                  errorScrollPane,
-                                                  "XML Import Error",
-                                                  JOptionPane.ERROR_MESSAGE);
-                    // ex.printStackTrace(); // Already included in text area
+                if (mainFrame != null) {
+                    whenDatabaseReady(() -> mainFrame.switchPanel(new DashboardBoundary(mainFrame)));
                 }
             }
         });
+
+        btnImportXmlData.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                whenDatabaseReady(() -> importXmlData());
+            }
+        });
+    }
+
+    private void importXmlData() {
+        System.out.println("Import Supir XML Data button clicked.");
+        String xmlPathToUse = util.Constants.SUPIR_XML_FILE_PATH;
+
+        try {
+            ImportProgressDialog progressDialog = new ImportProgressDialog(mainFrame, xmlPathToUse);
+            control.ImportResult importResult = progressDialog.runImport();
+
+            // Basic styling for JTextArea to somewhat blend
+            JTextArea textArea = new JTextArea(importResult.toString());
+            textArea.setEditable(false);
+            textArea.setWrapStyleWord(true);
+            textArea.setLineWrap(true);
+            textArea.setCaretPosition(0);
+            textArea.setFont(new Font("Monospaced", Font.PLAIN, 12)); // Monospaced for structured data
+            textArea.setBackground(new Color(230, 230, 240)); // Light lavender gray
+            textArea.setForeground(new Color(51, 51, 51)); // Dark gray text
+            textArea.setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
+
+
+            JScrollPane scrollPane = new JScrollPane(textArea);
+            scrollPane.setPreferredSize(new Dimension(550, 350)); // Slightly larger
+            scrollPane.setBorder(BorderFactory.createLineBorder(new Color(180,180,190), 1)); // Subtle border
+
+            JOptionPane.showMessageDialog(mainFrame,
+                                          scrollPane,
+                                          "XML Import Result",
+                                          (importResult.isOverallSuccess() &&
+                                           importResult.getSuppliersFailed() == 0 &&
+                                           importResult.getItemsFailed() == 0)
+                                           ? JOptionPane.INFORMATION_MESSAGE
+                                           : JOptionPane.WARNING_MESSAGE);
+        } catch (Exception ex) {
+             // Keep original error dialog styling for now, or apply similar custom styling if needed
+            JTextArea errorTextArea = new JTextArea("Error during XML import process: " + ex.getMessage() +
+                                                   "\nExpected XML at: " + xmlPathToUse +
+                                                   "\n\nStack Trace:\n" + getStackTraceString(ex));
+            errorTextArea.setEditable(false);
+            errorTextArea.setWrapStyleWord(true);
+            errorTextArea.setLineWrap(true);
+            errorTextArea.setCaretPosition(0);
+            errorTextArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+            errorTextArea.setBackground(new Color(255, 230, 230)); // Light error red
+            errorTextArea.setForeground(Color.RED.darker());
+            errorTextArea.setBorder(BorderFactory.createEmptyBorder(10,10,10,10));
+
+            JScrollPane errorScrollPane = new JScrollPane(errorTextArea);
+            errorScrollPane.setPreferredSize(new Dimension(600, 400));
+
+
+            JOptionPane.showMessageDialog(mainFrame,
+                                          errorScrollPane,
+                                          "XML Import Error",
+                                          JOptionPane.ERROR_MESSAGE);
+            // ex.printStackTrace(); // Already included in text area
+        }
+    }
+
+    /**
+     * Runs the action once the start-up database warm-up is done. Until then the menu shows
+     * a wait cursor instead of blocking the event thread on the first connection.
+     */
+    private void whenDatabaseReady(Runnable action) {
+        CompletableFuture<Void> ready = StartupWarmup.whenReady();
+        if (ready.isDone()) {
+            action.run();
+            return;
+        }
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        setButtonsEnabled(false);
+        // A failed warm-up still runs the action; the screen reports the database error.
+        ready.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            setCursor(null);
+            setButtonsEnabled(true);
+            action.run();
+        }));
+    }
+
+    private void setButtonsEnabled(boolean enabled) {
+        btnManageSuppliers.setEnabled(enabled);
+        btnManageInventory.setEnabled(enabled);
+        btnImportXmlData.setEnabled(enabled && !usesService());
+        btnDashboard.setEnabled(enabled && !usesService());
+    }
+
+    private boolean usesService() {
+        return mainFrame != null && mainFrame.getServiceClient() != null;
     }
 
     // Helper to get stack trace as string for the error dialog
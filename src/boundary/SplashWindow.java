@@ -0,0 +1,59 @@
+package boundary;
+
+import javax.swing.BorderFactory;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.JWindow;
+import javax.swing.SwingUtilities;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Font;
+
+/**
+ * Start-up splash shown while the database warms up in the background.
+ */
+public class SplashWindow extends JWindow {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Color COLOR_BACKGROUND = new Color(20, 30, 48);
+    private static final Color COLOR_TITLE_TEXT = new Color(220, 180, 100);
+    private static final Color COLOR_SUBTEXT = new Color(180, 190, 200);
+
+    private final JLabel lblStatus = new JLabel("Starting...", JLabel.CENTER);
+
+    public SplashWindow() {
+        JPanel content = new JPanel(new BorderLayout(0, 15));
+        content.setBackground(COLOR_BACKGROUND);
+        content.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(COLOR_TITLE_TEXT, 1),
+                BorderFactory.createEmptyBorder(30, 40, 25, 40)));
+
+        JLabel lblTitle = new JLabel("DentalCare Management System", JLabel.CENTER);
+        lblTitle.setFont(new Font("SansSerif", Font.BOLD, 24));
+        lblTitle.setForeground(COLOR_TITLE_TEXT);
+        content.add(lblTitle, BorderLayout.NORTH);
+
+        JProgressBar progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        content.add(progressBar, BorderLayout.CENTER);
+
+        lblStatus.setFont(new Font("SansSerif", Font.PLAIN, 13));
+        lblStatus.setForeground(COLOR_SUBTEXT);
+        content.add(lblStatus, BorderLayout.SOUTH);
+
+        setContentPane(content);
+        setPreferredSize(new Dimension(460, 170));
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    /**
+     * Shows the current start-up step. May be called from any thread.
+     */
+    public void setStatus(String status) {
+        SwingUtilities.invokeLater(() -> lblStatus.setText(status));
+    }
+}
@@ -0,0 +1,82 @@
+package boundary;
+
+import entity.Supplier;
+import entity.SupplyItem;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.util.List;
+import java.util.Vector;
+
+/**
+ * Read-only dialog listing the supply items of one supplier.
+ */
+public class SuppliedItemsDialog extends JDialog {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param suppliedItems The supplier's items, already loaded (see {@link Supplier#getSuppliedItems()}).
+     */
+    public SuppliedItemsDialog(JFrame parent, Supplier supplier, List<SupplyItem> suppliedItems) {
+        super(parent, "Items from " + (supplier.getSupplierName() != null ? supplier.getSupplierName() : supplier.getSupplierCode()), true);
+        initComponents(supplier, suppliedItems);
+        pack();
+        setLocationRelativeTo(parent);
+    }
+
+    private void initComponents(Supplier supplier, List<SupplyItem> suppliedItems) {
+        setLayout(new BorderLayout(10, 10));
+
+        JLabel lblSummary = new JLabel(suppliedItems.size() + " item(s) supplied by " + supplier.getSupplierCode());
+        lblSummary.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+        add(lblSummary, BorderLayout.NORTH);
+
+        String[] columnNames = {"Barcode", "Product Title", "Category", "Available Units", "Expiration Date"};
+        Vector<Vector<Object>> rows = new Vector<>();
+        for (SupplyItem item : suppliedItems) {
+            Vector<Object> row = new Vector<>();
+            row.add(item.getBarcode());
+            row.add(item.getProductTitle());
+            row.add(item.getCategory());
+            row.add(item.getAvailableUnits());
+            row.add(item.getExpirationDate() != null ? item.getExpirationDate().toString() : "N/A");
+            rows.add(row);
+        }
+        DefaultTableModel tableModel = new DefaultTableModel(new Vector<>(List.of(columnNames)), 0) {
+            private static final long serialVersionUID = 1L;
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        tableModel.getDataVector().addAll(rows);
+        tableModel.fireTableDataChanged();
+
+        JTable itemTable = new JTable(tableModel);
+        itemTable.setFillsViewportHeight(true);
+        itemTable.setRowSorter(new IndexedTableRowSorter<>(tableModel,
+                IndexedTableRowSorter.ColumnType.TEXT, IndexedTableRowSorter.ColumnType.TEXT,
+                IndexedTableRowSorter.ColumnType.TEXT, IndexedTableRowSorter.ColumnType.INTEGER,
+                IndexedTableRowSorter.ColumnType.DATE));
+        JScrollPane scrollPane = new JScrollPane(itemTable);
+        scrollPane.setPreferredSize(new Dimension(700, 350));
+        add(scrollPane, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton btnClose = new JButton("Close");
+        btnClose.addActionListener(e -> dispose());
+        buttonPanel.add(btnClose);
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+}
@@ -1,6 +1,10 @@
 package boundary;
 
+import control.ExportController;
+import control.InventoryServiceClient;
+import control.InventorySnapshot;
 import control.SupplierController;
+import control.SupplierDirectory;
 import entity.Supplier;
 
 import javax.swing.JPanel;
@@ -9,10 +13,13 @@ import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.JButton;
+import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane; 
 import javax.swing.BorderFactory;
 import javax.swing.Box; // For spacing
+import javax.swing.SwingWorker;
+import javax.swing.filechooser.FileNameExtensionFilter;
 // ActionListener is used by lambda expressions
 // import java.awt.event.ActionEvent; 
 // import java.awt.event.ActionListener;
@@ -34,6 +41,7 @@ public class SupplierBoundary extends JPanel {
     private static final long serialVersionUID = 1L;
     private MainAppFrame mainFrame; 
     private SupplierController supplierController;
+    private transient InventoryServiceClient serviceClient; // Null = local database
 
     private JTable supplierTable;
     private DefaultTableModel tableModel;
@@ -43,6 +51,8 @@ public class SupplierBoundary extends JPanel {
     private JButton btnDeleteSupplier;
     private JButton btnRefreshSuppliers;
     private JButton btnBackToMenu;
+    private JButton btnExportSuppliers;
+    private JButton btnShowSuppliedItems;
 
     private static final Font TITLE_FONT = new Font("Arial", Font.BOLD, 22);
     private static final Font TABLE_HEADER_FONT = new Font("Arial", Font.BOLD, 14);
@@ -54,6 +64,7 @@ public class SupplierBoundary extends JPanel {
     public SupplierBoundary(MainAppFrame frame) {
         this.mainFrame = frame;
         this.supplierController = new SupplierController();
+        this.serviceClient = frame.getServiceClient();
 
         setLayout(new BorderLayout(10, 15)); 
         setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15)); 
@@ -84,8 +95,18 @@ public class SupplierBoundary extends JPanel {
         supplierTable.setFont(TABLE_BODY_FONT);
         supplierTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
 
+        IndexedTableRowSorter<DefaultTableModel> rowSorter = new IndexedTableRowSorter<>(tableModel,
+                IndexedTableRowSorter.ColumnType.TEXT, IndexedTableRowSorter.ColumnType.TEXT,
+                IndexedTableRowSorter.ColumnType.DATE);
+        supplierTable.setRowSorter(rowSorter);
+        TableFilterBar filterBar = new TableFilterBar(columnNames);
+        filterBar.setRowSorter(rowSorter);
+
         JScrollPane scrollPane = new JScrollPane(supplierTable);
-        add(scrollPane, BorderLayout.CENTER);
+        JPanel tablePanel = new JPanel(new BorderLayout(0, 8));
+        tablePanel.add(filterBar, BorderLayout.NORTH);
+        tablePanel.add(scrollPane, BorderLayout.CENTER);
+        add(tablePanel, BorderLayout.CENTER);
 
         // --- Button Panels ---
         JPanel southPanelContainer = new JPanel(new BorderLayout(10, 5)); 
@@ -102,19 +123,29 @@ public class SupplierBoundary extends JPanel {
 
         btnRefreshSuppliers = new JButton("Refresh List");
         styleActionButton(btnRefreshSuppliers);
+        btnExportSuppliers = new JButton("Export to CSV...");
+        styleActionButton(btnExportSuppliers);
         
         btnAddSupplier = new JButton("Add New Supplier");
         btnEditSupplier = new JButton("Edit Selected Supplier");
         btnDeleteSupplier = new JButton("Delete Selected Supplier(s)"); 
+        btnShowSuppliedItems = new JButton("Show Supplied Items");
         styleActionButton(btnAddSupplier);
         styleActionButton(btnEditSupplier);
         styleActionButton(btnDeleteSupplier);
+        styleActionButton(btnShowSuppliedItems);
 
+        allActionButtonsPanel.add(btnShowSuppliedItems);
         allActionButtonsPanel.add(btnDeleteSupplier);
         allActionButtonsPanel.add(btnEditSupplier);
         allActionButtonsPanel.add(btnAddSupplier);
         allActionButtonsPanel.add(Box.createHorizontalStrut(10)); // Spacer
         allActionButtonsPanel.add(btnRefreshSuppliers);
+        allActionButtonsPanel.add(btnExportSuppliers);
+        if (serviceClient != null) {
+            btnExportSuppliers.setEnabled(false);
+            btnExportSuppliers.setToolTipText(MainPanel.SERVICE_MODE_TOOLTIP);
+        }
         
         southPanelContainer.add(allActionButtonsPanel, BorderLayout.CENTER); 
         
@@ -127,29 +158,130 @@ public class SupplierBoundary extends JPanel {
     }
 
     private void loadSupplierData() {
-        tableModel.setRowCount(0);
-        List<Supplier> suppliers = supplierController.getAllSuppliers();
+        Vector<Vector<Object>> rows = new Vector<>();
+        // This machine's snapshot describes its own database, not the service's.
+        InventorySnapshot snapshot = serviceClient == null ? InventorySnapshot.loadCurrent() : null;
+        if (snapshot != null) {
+            for (int i = 0; i < snapshot.getSupplierCount(); i++) {
+                Vector<Object> row = new Vector<>();
+                row.add(snapshot.getSupplierCode(i));
+                row.add(snapshot.getSupplierName(i));
+                row.add(snapshot.getRecentSupplyDate(i) != null ? snapshot.getRecentSupplyDate(i).toString() : "N/A");
+                rows.add(row);
+            }
+            setTableRows(rows);
+            return;
+        }
+        List<Supplier> suppliers = serviceClient != null ? serviceClient.getAllSuppliers() : supplierController.getAllSuppliers();
         if (suppliers != null && !suppliers.isEmpty()) {
             for (Supplier supplier : suppliers) {
                 Vector<Object> row = new Vector<>();
                 row.add(supplier.getSupplierCode());
                 row.add(supplier.getSupplierName());
                 row.add(supplier.getRecentSupplyDate() != null ? supplier.getRecentSupplyDate().toString() : "N/A");
-                tableModel.addRow(row);
+                rows.add(row);
             }
         }
+        setTableRows(rows);
+    }
+
+    // Replaces all rows with a single change event, so the sorter re-sorts once instead of per row.
+    private void setTableRows(Vector<Vector<Object>> rows) {
+        tableModel.getDataVector().clear();
+        tableModel.getDataVector().addAll(rows);
+        tableModel.fireTableDataChanged();
+    }
+
+    private void exportSuppliers() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Suppliers");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV file (*.csv)", "csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        String path = chooser.getSelectedFile().getAbsolutePath();
+        final String exportPath = path.toLowerCase().endsWith(".csv") ? path : path + ".csv";
+
+        btnExportSuppliers.setEnabled(false);
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return new ExportController().exportToFile(exportPath, ExportController.ExportType.SUPPLIERS_CSV);
+            }
+
+            @Override
+            protected void done() {
+                btnExportSuppliers.setEnabled(true);
+                String errorMessage;
+                try {
+                    errorMessage = get();
+                } catch (Exception ex) {
+                    errorMessage = ex.getMessage();
+                }
+                if (errorMessage == null) {
+                    JOptionPane.showMessageDialog(SupplierBoundary.this, "Suppliers exported to:\n" + exportPath, "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(SupplierBoundary.this, "Failed to export suppliers: " + errorMessage, "Export Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void showSuppliedItems() {
+        int[] selectedRows = supplierTable.getSelectedRows();
+        if (selectedRows.length != 1) {
+            JOptionPane.showMessageDialog(this, "Please select one supplier.", "No Supplier Selected", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String supplierCode = (String) tableModel.getValueAt(supplierTable.convertRowIndexToModel(selectedRows[0]), 0);
+        btnShowSuppliedItems.setEnabled(false);
+        new SwingWorker<Supplier, Void>() {
+            @Override
+            protected Supplier doInBackground() {
+                Supplier supplier = getSupplierByCode(supplierCode);
+                if (supplier != null) {
+                    supplier.getSuppliedItems(); // Loads them off the event thread
+                }
+                return supplier;
+            }
+
+            @Override
+            protected void done() {
+                btnShowSuppliedItems.setEnabled(true);
+                Supplier supplier;
+                try {
+                    supplier = get();
+                } catch (Exception ex) {
+                    supplier = null;
+                }
+                if (supplier == null) {
+                    JOptionPane.showMessageDialog(SupplierBoundary.this, "Could not retrieve supplier: " + supplierCode + "\nIt may have been deleted.", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                new SuppliedItemsDialog(mainFrame, supplier, supplier.getSuppliedItems()).setVisible(true);
+            }
+        }.execute();
+    }
+
+    private Supplier getSupplierByCode(String supplierCode) {
+        return serviceClient != null ? serviceClient.getSupplierByCode(supplierCode) : supplierController.getSupplierByCode(supplierCode);
     }
 
     private void addListeners() {
         btnBackToMenu.addActionListener(e -> mainFrame.switchPanel(new MainPanel(mainFrame)));
-        btnRefreshSuppliers.addActionListener(e -> loadSupplierData());
+        btnRefreshSuppliers.addActionListener(e -> {
+            SupplierDirectory.getInstance().invalidate();
+            loadSupplierData();
+        });
+        btnExportSuppliers.addActionListener(e -> exportSuppliers());
+        btnShowSuppliedItems.addActionListener(e -> showSuppliedItems());
 
         btnAddSupplier.addActionListener(e -> {
             AddSupplierDialog addDialog = new AddSupplierDialog(mainFrame);
             addDialog.setVisible(true); 
             Supplier newSupplier = addDialog.getNewSupplier(); 
             if (newSupplier != null) {
-                String errorMessage = supplierController.addSupplier(newSupplier);
+                String errorMessage = serviceClient != null ? serviceClient.addSupplier(newSupplier) : supplierController.addSupplier(newSupplier);
                 if (errorMessage == null) { 
                     JOptionPane.showMessageDialog(this, "Supplier added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                     loadSupplierData(); 
@@ -165,13 +297,13 @@ public class SupplierBoundary extends JPanel {
             if (selectedRows.length > 1) { JOptionPane.showMessageDialog(this, "Please select only one supplier to edit at a time.", "Multiple Suppliers Selected", JOptionPane.WARNING_MESSAGE); return; }
             int modelRow = supplierTable.convertRowIndexToModel(selectedRows[0]);
             String supplierCode = (String) tableModel.getValueAt(modelRow, 0);
-            Supplier supplierToEdit = supplierController.getSupplierByCode(supplierCode);
+            Supplier supplierToEdit = getSupplierByCode(supplierCode);
             if (supplierToEdit != null) {
                 EditSupplierDialog editDialog = new EditSupplierDialog(mainFrame, supplierToEdit);
                 editDialog.setVisible(true); 
                 Supplier updatedSupplier = editDialog.getUpdatedSupplier();
                 if (updatedSupplier != null) {
-                    String errorMessage = supplierController.updateSupplier(updatedSupplier);
+                    String errorMessage = serviceClient != null ? serviceClient.updateSupplier(updatedSupplier) : supplierController.updateSupplier(updatedSupplier);
                     if (errorMessage == null) { 
                         JOptionPane.showMessageDialog(this, "Supplier updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
                         loadSupplierData(); 
@@ -203,7 +335,9 @@ public class SupplierBoundary extends JPanel {
             }
             int confirm = JOptionPane.showConfirmDialog(this, confirmationMessage, "Confirm Deletion", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
             if (confirm == JOptionPane.YES_OPTION) {
-                Map<String, String> deleteResults = supplierController.deleteMultipleSuppliers(supplierCodesToDelete);
+                Map<String, String> deleteResults = serviceClient != null
+                        ? serviceClient.deleteMultipleSuppliers(supplierCodesToDelete)
+                        : supplierController.deleteMultipleSuppliers(supplierCodesToDelete);
                 StringBuilder resultMessageSb = new StringBuilder();
                 String dialogTitle = "Deletion Result";
                 int messageType = JOptionPane.INFORMATION_MESSAGE;
@@ -0,0 +1,149 @@
+package boundary;
+
+import control.SupplierDirectory;
+import entity.Supplier;
+
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+import javax.swing.SwingUtilities;
+import java.util.Locale;
+
+/**
+ * Combo box model over the shared {@link SupplierDirectory}: a leading null entry ("no
+ * supplier") followed by the suppliers matching the filter text. Narrowing the filter
+ * (typing more characters) only re-checks the current matches. Follows directory changes
+ * while {@link #attach() attached}. Use on the event dispatch thread.
+ */
+public class SupplierComboBoxModel extends AbstractListModel<Supplier> implements ComboBoxModel<Supplier> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SupplierDirectory.Listener directoryListener = () -> SwingUtilities.invokeLater(this::reload);
+
+    private transient SupplierDirectory.Snapshot snapshot;
+    private int[] matches; // Snapshot indices of the filtered suppliers; null = all
+    private int matchCount;
+    private String filterText = "";
+    private Supplier selectedSupplier;
+
+    public SupplierComboBoxModel() {
+        snapshot = SupplierDirectory.getInstance().getSnapshot();
+    }
+
+    public void attach() {
+        SupplierDirectory.getInstance().addListener(directoryListener);
+        reload();
+    }
+
+    public void detach() {
+        SupplierDirectory.getInstance().removeListener(directoryListener);
+    }
+
+    @Override
+    public int getSize() {
+        return 1 + (matches == null ? snapshot.size() : matchCount);
+    }
+
+    @Override
+    public Supplier getElementAt(int index) {
+        if (index == 0) {
+            return null;
+        }
+        return snapshot.get(matches == null ? index - 1 : matches[index - 1]);
+    }
+
+    @Override
+    public void setSelectedItem(Object item) {
+        Supplier supplier = (Supplier) item;
+        if (supplier != selectedSupplier) {
+            selectedSupplier = supplier;
+            fireContentsChanged(this, -1, -1);
+        }
+    }
+
+    @Override
+    public Object getSelectedItem() {
+        return selectedSupplier;
+    }
+
+    public Supplier getSelectedSupplier() {
+        return selectedSupplier;
+    }
+
+    /**
+     * Selects the supplier with the given code (none if null or unknown), found by code
+     * rather than by scanning the list.
+     */
+    public void selectSupplierCode(String supplierCode) {
+        int index = snapshot.indexOf(supplierCode);
+        setSelectedItem(index >= 0 ? snapshot.get(index) : null);
+    }
+
+    /**
+     * Shows only suppliers whose name or code contains the text, ignoring case. If the
+     * selection is filtered out, the first match is selected.
+     */
+    public void setFilterText(String text) {
+        String lowerCaseText = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        if (lowerCaseText.equals(filterText)) {
+            return;
+        }
+        boolean narrowing = !filterText.isEmpty() && lowerCaseText.startsWith(filterText);
+        filterText = lowerCaseText;
+        applyFilter(narrowing);
+        if (!filterText.isEmpty() && matchCount > 0 && !isShown(selectedSupplier)) {
+            selectedSupplier = snapshot.get(matches[0]);
+        }
+        fireContentsChanged(this, 0, Integer.MAX_VALUE);
+    }
+
+    private void applyFilter(boolean narrowing) {
+        if (filterText.isEmpty()) {
+            matches = null;
+            matchCount = 0;
+            return;
+        }
+        if (narrowing && matches != null) {
+            int kept = 0;
+            for (int i = 0; i < matchCount; i++) {
+                if (snapshot.matches(matches[i], filterText)) {
+                    matches[kept++] = matches[i];
+                }
+            }
+            matchCount = kept;
+            return;
+        }
+        int[] found = new int[snapshot.size()];
+        int count = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.matches(i, filterText)) {
+                found[count++] = i;
+            }
+        }
+        matches = found;
+        matchCount = count;
+    }
+
+    private boolean isShown(Supplier supplier) {
+        if (supplier == null) {
+            return false;
+        }
+        int index = snapshot.indexOf(supplier.getSupplierCode());
+        return index >= 0 && snapshot.matches(index, filterText);
+    }
+
+    // Switches to the directory's current snapshot, keeping the filter and the selection.
+    private void reload() {
+        SupplierDirectory.Snapshot current = SupplierDirectory.getInstance().getSnapshot();
+        if (current == snapshot) {
+            return;
+        }
+        snapshot = current;
+        applyFilter(false);
+        if (selectedSupplier != null) {
+            int index = snapshot.indexOf(selectedSupplier.getSupplierCode());
+            selectedSupplier = index >= 0 ? snapshot.get(index) : null;
+        }
+        fireContentsChanged(this, 0, Integer.MAX_VALUE);
+    }
+}
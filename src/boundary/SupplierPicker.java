@@ -0,0 +1,90 @@
+package boundary;
+
+import control.SupplierDirectory;
+import entity.Supplier;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JComboBox;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.BorderLayout;
+import java.awt.Component;
+
+/**
+ * Supplier combo box with a search field that filters it as the user types. Backed by a
+ * {@link SupplierComboBoxModel}, which follows supplier changes while the picker is shown.
+ */
+public class SupplierPicker extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SupplierComboBoxModel model = new SupplierComboBoxModel();
+    private final JTextField txtSearch = new JTextField(8);
+    private final JComboBox<Supplier> cmbSupplier = new JComboBox<>(model);
+
+    public SupplierPicker() {
+        super(new BorderLayout(5, 0));
+        txtSearch.setToolTipText("Type to filter suppliers by name or code");
+        cmbSupplier.setRenderer(new DefaultListCellRenderer() {
+            private static final long serialVersionUID = 1L;
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                String text = value != null ? SupplierDirectory.displayName((Supplier) value) : "Select Supplier";
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        // Lets the popup size its rows without rendering every supplier.
+        cmbSupplier.setPrototypeDisplayValue(new Supplier("XXXXXXXX", "XXXXXXXXXXXXXXXXXXXXXXXX", null));
+        txtSearch.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                filterChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filterChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                filterChanged();
+            }
+        });
+        add(txtSearch, BorderLayout.WEST);
+        add(cmbSupplier, BorderLayout.CENTER);
+    }
+
+    private void filterChanged() {
+        model.setFilterText(txtSearch.getText());
+        if (cmbSupplier.isShowing() && txtSearch.hasFocus() && !txtSearch.getText().trim().isEmpty()) {
+            cmbSupplier.showPopup();
+        }
+    }
+
+    /**
+     * @return The chosen supplier, or null for none.
+     */
+    public Supplier getSelectedSupplier() {
+        return model.getSelectedSupplier();
+    }
+
+    public void selectSupplierCode(String supplierCode) {
+        model.selectSupplierCode(supplierCode);
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        model.attach();
+    }
+
+    @Override
+    public void removeNotify() {
+        model.detach();
+        super.removeNotify();
+    }
+}
@@ -0,0 +1,186 @@
+package boundary;
+
+import javax.swing.JComboBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.FlowLayout;
+import java.awt.Font;
+
+/**
+ * Filter row shown above a table: a column choice ("All Columns" or one column) and a
+ * text field applied to an {@link IndexedTableRowSorter} as the user types.
+ * <p>
+ * Keystrokes are debounced, and matching runs in a {@link SwingWorker}; a newer query
+ * cancels the one still running, and results of outdated queries are dropped. Without a
+ * sorter, queries can be handed to a {@link QueryListener} instead (e.g. to search the database).
+ */
+public class TableFilterBar extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Font FILTER_FONT = new Font("Arial", Font.PLAIN, 13);
+    private static final int DEBOUNCE_MILLIS = 200;
+
+    /**
+     * Receives the (debounced) query when no sorter is bound.
+     */
+    public interface QueryListener {
+        void queryChanged(int column, String text);
+    }
+
+    private final JComboBox<String> cmbColumn;
+    private final JTextField txtFilter;
+    private final JLabel lblMatches;
+    private final Timer debounceTimer;
+    private IndexedTableRowSorter<?> rowSorter;
+    private QueryListener queryListener;
+    private SwingWorker<Boolean, Void> runningSearch;
+    private int searchGeneration = 0;
+
+    public TableFilterBar(String[] columnNames) {
+        super(new FlowLayout(FlowLayout.LEFT, 8, 0));
+
+        JLabel lblFilter = new JLabel("Filter:");
+        lblFilter.setFont(FILTER_FONT);
+        cmbColumn = new JComboBox<>();
+        cmbColumn.addItem("All Columns");
+        for (String columnName : columnNames) {
+            cmbColumn.addItem(columnName);
+        }
+        cmbColumn.setFont(FILTER_FONT);
+        txtFilter = new JTextField(24);
+        txtFilter.setFont(FILTER_FONT);
+        lblMatches = new JLabel(" ");
+        lblMatches.setFont(FILTER_FONT);
+
+        add(lblFilter);
+        add(cmbColumn);
+        add(txtFilter);
+        add(lblMatches);
+
+        debounceTimer = new Timer(DEBOUNCE_MILLIS, e -> applyFilter());
+        debounceTimer.setRepeats(false);
+
+        cmbColumn.addActionListener(e -> applyFilter());
+        txtFilter.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                debounceTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                debounceTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                debounceTimer.restart();
+            }
+        });
+    }
+
+    /**
+     * Binds the bar to a sorter, or detaches it for null. Without a sorter or a
+     * {@link QueryListener} the bar is disabled.
+     */
+    public void setRowSorter(IndexedTableRowSorter<?> rowSorter) {
+        if (rowSorter == this.rowSorter) {
+            return;
+        }
+        this.rowSorter = rowSorter;
+        updateEnabled();
+        applyFilter();
+    }
+
+    /**
+     * Sets the listener receiving queries while no sorter is bound.
+     */
+    public void setQueryListener(QueryListener queryListener) {
+        this.queryListener = queryListener;
+        updateEnabled();
+    }
+
+    /**
+     * @return The current query text, trimmed.
+     */
+    public String getQueryText() {
+        return txtFilter.getText().trim();
+    }
+
+    /**
+     * Shows a match count or status next to the field (for {@link QueryListener} results).
+     */
+    public void setStatusText(String text) {
+        lblMatches.setText(text == null || text.isEmpty() ? " " : text);
+    }
+
+    private void updateEnabled() {
+        boolean enabled = rowSorter != null || queryListener != null;
+        cmbColumn.setEnabled(enabled);
+        txtFilter.setEnabled(enabled);
+    }
+
+    private void applyFilter() {
+        debounceTimer.stop();
+        searchGeneration++;
+        if (runningSearch != null) {
+            runningSearch.cancel(true);
+            runningSearch = null;
+        }
+        int column = cmbColumn.getSelectedIndex() - 1;
+        String text = txtFilter.getText();
+        if (rowSorter == null) {
+            lblMatches.setText(" ");
+            if (queryListener != null) {
+                queryListener.queryChanged(column, text.trim());
+            }
+            return;
+        }
+        IndexedTableRowSorter<?> sorter = rowSorter;
+        IndexedTableRowSorter.FilterQuery query = sorter.prepareFilter(column, text);
+        if (query.getText().isEmpty()) {
+            sorter.applyFilter(query);
+            lblMatches.setText(" ");
+            return;
+        }
+        final int generation = searchGeneration;
+        lblMatches.setText("Searching...");
+        runningSearch = new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() {
+                return query.computeMatches(this::isCancelled);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || generation != searchGeneration || sorter != rowSorter) {
+                    return;
+                }
+                runningSearch = null;
+                boolean completed;
+                try {
+                    completed = get();
+                } catch (Exception ex) {
+                    completed = false;
+                }
+                if (!completed) {
+                    lblMatches.setText(" ");
+                    return;
+                }
+                if (!sorter.applyFilter(query)) {
+                    // The table changed while matching; search the new rows.
+                    applyFilter();
+                    return;
+                }
+                lblMatches.setText(query.getMatchCount() + " match(es)");
+            }
+        };
+        runningSearch.execute();
+    }
+}
@@ -0,0 +1,193 @@
+package control;
+
+import entity.Supplier;
+import entity.SupplyItem;
+import util.Json;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One change recorded by the {@link AuditTrail}: who changed which supply item or
+ * supplier, when, and its values before and after. An image maps field names to
+ * {@link String}, {@link Long} or null values, like the inventory service's JSON.
+ */
+public final class AuditEntry {
+
+    public enum Action {
+        ADD, UPDATE, DELETE, CONSUME, RECEIVE,
+        /** Marks changes that were not recorded because the buffer was full; see {@link #getLostCount()}. */
+        LOST
+    }
+
+    public enum EntityType { SUPPLY_ITEM, SUPPLIER }
+
+    private final long timestampMillis;
+    private final String user;
+    private final Action action;
+    private final EntityType entityType;
+    private final String key;
+    private final Map<String, Object> before;
+    private final Map<String, Object> after;
+    private final long lostCount;
+
+    AuditEntry(long timestampMillis, String user, Action action, EntityType entityType, String key,
+               Map<String, Object> before, Map<String, Object> after, long lostCount) {
+        this.timestampMillis = timestampMillis;
+        this.user = user;
+        this.action = action;
+        this.entityType = entityType;
+        this.key = key;
+        this.before = before;
+        this.after = after;
+        this.lostCount = lostCount;
+    }
+
+    public Instant getTimestamp() {
+        return Instant.ofEpochMilli(timestampMillis);
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    /**
+     * @return The changed entity's type, or null for {@link Action#LOST}.
+     */
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return The barcode or supplier code.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The values before the change (null for an add).
+     */
+    public Map<String, Object> getBefore() {
+        return before != null ? Collections.unmodifiableMap(before) : null;
+    }
+
+    /**
+     * @return The values after the change (null for a delete).
+     */
+    public Map<String, Object> getAfter() {
+        return after != null ? Collections.unmodifiableMap(after) : null;
+    }
+
+    /**
+     * @return For {@link Action#LOST}, the number of changes that were not recorded.
+     */
+    public long getLostCount() {
+        return lostCount;
+    }
+
+    static Map<String, Object> imageOf(SupplyItem item) {
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put("barcode", item.getBarcode());
+        image.put("productTitle", item.getProductTitle());
+        image.put("productDetails", item.getProductDetails());
+        image.put("category", item.getCategory());
+        image.put("availableUnits", (long) item.getAvailableUnits());
+        image.put("expirationDate", item.getExpirationDate() != null ? item.getExpirationDate().toString() : null);
+        image.put("thresholdStock", (long) item.getThresholdStock());
+        image.put("supplierCode", item.getSupplierCode());
+        return image;
+    }
+
+    static Map<String, Object> imageOf(Supplier supplier) {
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put("supplierCode", supplier.getSupplierCode());
+        image.put("supplierName", supplier.getSupplierName());
+        image.put("recentSupplyDate", supplier.getRecentSupplyDate() != null ? supplier.getRecentSupplyDate().toString() : null);
+        return image;
+    }
+
+    static Map<String, Object> unitsImage(int availableUnits) {
+        Map<String, Object> image = new LinkedHashMap<>();
+        image.put("availableUnits", (long) availableUnits);
+        return image;
+    }
+
+    void appendJson(StringBuilder json) {
+        json.append('{');
+        Json.appendField(json, "time", getTimestamp().toString()).append(',');
+        Json.appendField(json, "user", user).append(',');
+        Json.appendField(json, "action", action.name()).append(',');
+        Json.appendField(json, "type", entityType != null ? entityType.name() : null).append(',');
+        Json.appendField(json, "key", key).append(',');
+        if (action == Action.LOST) {
+            Json.appendField(json, "lost", lostCount).append(',');
+        }
+        json.append("\"before\":");
+        appendImage(json, before);
+        json.append(",\"after\":");
+        appendImage(json, after);
+        json.append('}');
+    }
+
+    /**
+     * @throws IllegalArgumentException if the line is not an audit entry.
+     */
+    @SuppressWarnings("unchecked")
+    static AuditEntry fromJson(String line) {
+        Object parsed = Json.parse(line);
+        if (!(parsed instanceof Map)) {
+            throw new IllegalArgumentException("Not a JSON object.");
+        }
+        Map<String, Object> json = (Map<String, Object>) parsed;
+        try {
+            Object type = json.get("type");
+            Object lost = json.get("lost");
+            return new AuditEntry(Instant.parse((String) json.get("time")).toEpochMilli(),
+                                  (String) json.get("user"),
+                                  Action.valueOf((String) json.get("action")),
+                                  type != null ? EntityType.valueOf((String) type) : null,
+                                  (String) json.get("key"),
+                                  (Map<String, Object>) json.get("before"),
+                                  (Map<String, Object>) json.get("after"),
+                                  lost instanceof Number ? ((Number) lost).longValue() : 0);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid audit entry: " + e.getMessage(), e);
+        }
+    }
+
+    private static void appendImage(StringBuilder json, Map<String, Object> image) {
+        if (image == null) {
+            json.append("null");
+            return;
+        }
+        json.append('{');
+        boolean first = true;
+        for (Map.Entry<String, Object> field : image.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            Object value = field.getValue();
+            if (value instanceof Number) {
+                Json.appendField(json, field.getKey(), ((Number) value).longValue());
+            } else {
+                Json.appendField(json, field.getKey(), value != null ? value.toString() : null);
+            }
+        }
+        json.append('}');
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder json = new StringBuilder();
+        appendJson(json);
+        return json.toString();
+    }
+}
@@ -0,0 +1,411 @@
+package control;
+
+import entity.Supplier;
+import entity.SupplyItem;
+import util.DatabaseConnector;
+import util.Json;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Audit trail of the writes to supply items and suppliers.
+ * <p>
+ * The controllers record each successful write with its before and after values. Writes
+ * inside a transaction are recorded once it commits. Recording only puts the entry into
+ * a fixed-size ring buffer, claiming a slot with a compare-and-set; it never takes a lock
+ * or touches the disk. A background writer appends the buffered entries as JSON lines to
+ * {@code <database>.accdb}{@value #FILE_SUFFIX}, every {@value #FLUSH_INTERVAL_MILLIS} ms,
+ * and forces each batch to disk.
+ * <p>
+ * Loss is bounded. A crash loses at most the entries of the last
+ * {@value #FLUSH_INTERVAL_MILLIS} ms. If the buffer is full, which takes more than
+ * {@value #CAPACITY} writes between two flushes, new entries are dropped. The next batch
+ * then starts with a {@link AuditEntry.Action#LOST} entry that counts them, so the file
+ * shows where its history has gaps.
+ */
+public class AuditTrail {
+
+    public static final String FILE_SUFFIX = ".audit";
+
+    static final int CAPACITY = 8192; // A power of two
+    static final long FLUSH_INTERVAL_MILLIS = 250;
+
+    /**
+     * Receives the entries of each batch once it is in the file, on the writer thread.
+     */
+    interface Listener {
+        void entriesWritten(List<AuditEntry> entries);
+    }
+
+    private static final int MASK = CAPACITY - 1;
+    private static final AuditTrail INSTANCE = new AuditTrail();
+
+    // Slot i holds the entry with sequence i (mod CAPACITY) once its producer published it.
+    private final AtomicReferenceArray<AuditEntry> slots = new AtomicReferenceArray<>(CAPACITY);
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long written; // Advanced only with writeLock held
+    private final AtomicLong lostSinceLastWrite = new AtomicLong();
+    private final AtomicLong lostTotal = new AtomicLong();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private FileChannel file; // Guarded by writeLock
+    private Path filePath;
+
+    private volatile boolean running = false;
+    private volatile String user;
+    private ScheduledExecutorService writer;
+    private ScheduledFuture<?> writeTask;
+
+    private AuditTrail() {
+    }
+
+    public static AuditTrail getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts recording writes to the current database, as the operating system user.
+     *
+     * @return null on success, or an error message (nothing is recorded then).
+     */
+    public synchronized String start() {
+        if (running) {
+            return null;
+        }
+        Path path = auditFileOf(DatabaseConnector.getDatabaseFilePath());
+        writeLock.lock();
+        try {
+            file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            filePath = path;
+        } catch (IOException e) {
+            return "Cannot open audit trail '" + path + "': " + e.getMessage();
+        } finally {
+            writeLock.unlock();
+        }
+        user = System.getProperty("user.name");
+        writer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "audit-trail-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writeTask = writer.scheduleWithFixedDelay(this::writeInBackground, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        running = true;
+        return null;
+    }
+
+    /**
+     * Writes the buffered entries and stops recording.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writeTask.cancel(false);
+        writer.shutdown();
+        try {
+            writer.awaitTermination(FLUSH_INTERVAL_MILLIS * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeNow();
+        writeLock.lock();
+        try {
+            file.close();
+        } catch (IOException e) {
+            System.err.println("Error closing audit trail: " + e.getMessage());
+        } finally {
+            file = null;
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of changes not recorded because the buffer was full, since start-up.
+     */
+    public long getLostCount() {
+        return lostTotal.get();
+    }
+
+    // --- Recording, called by the controllers after a successful write ---
+
+    void itemAdded(SupplyItem item) {
+        if (running) {
+            record(AuditEntry.Action.ADD, AuditEntry.EntityType.SUPPLY_ITEM, item.getBarcode(), null, AuditEntry.imageOf(item));
+        }
+    }
+
+    /**
+     * @param before The item's values before the update, or null if unknown.
+     */
+    void itemUpdated(SupplyItem before, SupplyItem after) {
+        if (running) {
+            record(AuditEntry.Action.UPDATE, AuditEntry.EntityType.SUPPLY_ITEM, after.getBarcode(),
+                   before != null ? AuditEntry.imageOf(before) : null, AuditEntry.imageOf(after));
+        }
+    }
+
+    /**
+     * @param before The deleted item's values, or null if unknown.
+     */
+    void itemDeleted(String barcode, SupplyItem before) {
+        if (running) {
+            record(AuditEntry.Action.DELETE, AuditEntry.EntityType.SUPPLY_ITEM, barcode,
+                   before != null ? AuditEntry.imageOf(before) : null, null);
+        }
+    }
+
+    void stockAdjusted(StockAdjustmentResult result, boolean consume) {
+        if (running && result.isApplied()) {
+            int before = consume ? result.getNewLevel() + result.getQuantity() : result.getNewLevel() - result.getQuantity();
+            record(consume ? AuditEntry.Action.CONSUME : AuditEntry.Action.RECEIVE, AuditEntry.EntityType.SUPPLY_ITEM,
+                   result.getBarcode(), AuditEntry.unitsImage(before), AuditEntry.unitsImage(result.getNewLevel()));
+        }
+    }
+
+    void supplierAdded(Supplier supplier) {
+        if (running) {
+            record(AuditEntry.Action.ADD, AuditEntry.EntityType.SUPPLIER, supplier.getSupplierCode(), null, AuditEntry.imageOf(supplier));
+        }
+    }
+
+    /**
+     * @param before The supplier's values before the update, or null if unknown.
+     */
+    void supplierUpdated(Supplier before, Supplier after) {
+        if (running) {
+            record(AuditEntry.Action.UPDATE, AuditEntry.EntityType.SUPPLIER, after.getSupplierCode(),
+                   before != null ? AuditEntry.imageOf(before) : null, AuditEntry.imageOf(after));
+        }
+    }
+
+    /**
+     * @param before The deleted supplier's values, or null if unknown.
+     */
+    void supplierDeleted(String supplierCode, Supplier before) {
+        if (running) {
+            record(AuditEntry.Action.DELETE, AuditEntry.EntityType.SUPPLIER, supplierCode,
+                   before != null ? AuditEntry.imageOf(before) : null, null);
+        }
+    }
+
+    private void record(AuditEntry.Action action, AuditEntry.EntityType type, String key,
+                        Map<String, Object> before, Map<String, Object> after) {
+        AuditEntry entry = new AuditEntry(System.currentTimeMillis(), user, action, type, key, before, after, 0);
+        DatabaseConnector.runAfterCommit(() -> offer(entry));
+    }
+
+    /**
+     * Puts the entry into the ring buffer without blocking.
+     *
+     * @return False if the buffer was full and the entry was dropped.
+     */
+    boolean offer(AuditEntry entry) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - written >= CAPACITY) {
+                lostSinceLastWrite.incrementAndGet();
+                lostTotal.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        slots.set((int) (sequence & MASK), entry);
+        return true;
+    }
+
+    // --- Writing ---
+
+    /**
+     * Appends the buffered entries to the file on the calling thread.
+     *
+     * @return False if they could not be written; they then stay buffered.
+     */
+    public boolean writeNow() {
+        writeLock.lock();
+        try {
+            if (file == null) {
+                return false;
+            }
+            // Stops at the first slot not yet published; its entry goes with the next batch.
+            List<AuditEntry> batch = new ArrayList<>();
+            long next = written;
+            AuditEntry entry;
+            while (batch.size() < CAPACITY && (entry = slots.get((int) (next & MASK))) != null) {
+                batch.add(entry);
+                next++;
+            }
+            long lost = lostSinceLastWrite.getAndSet(0);
+            if (batch.isEmpty() && lost == 0) {
+                return true;
+            }
+            StringBuilder lines = new StringBuilder(batch.size() * 400 + 200);
+            if (lost > 0) {
+                new AuditEntry(System.currentTimeMillis(), user, AuditEntry.Action.LOST, null, null, null, null, lost).appendJson(lines);
+                lines.append('\n');
+            }
+            for (AuditEntry buffered : batch) {
+                buffered.appendJson(lines);
+                lines.append('\n');
+            }
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    file.write(bytes);
+                }
+                file.force(false);
+            } catch (IOException e) {
+                System.err.println("Error writing audit trail, will retry: " + e.getMessage());
+                lostSinceLastWrite.addAndGet(lost);
+                return false;
+            }
+            for (long sequence = written; sequence < next; sequence++) {
+                slots.set((int) (sequence & MASK), null);
+            }
+            written = next;
+            notifyListeners(batch);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void notifyListeners(List<AuditEntry> batch) {
+        List<AuditEntry> entries = Collections.unmodifiableList(batch);
+        for (Listener listener : listeners) {
+            try {
+                listener.entriesWritten(entries);
+            } catch (RuntimeException e) {
+                System.err.println("Error in audit trail listener: " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    private void writeInBackground() {
+        try {
+            writeNow();
+        } catch (RuntimeException e) {
+            // Keeps the scheduled writer alive; the entries stay buffered.
+            System.err.println("Unexpected error writing audit trail: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // --- History ---
+
+    /**
+     * @return The recorded changes of one supply item, oldest first.
+     */
+    public List<AuditEntry> getItemHistory(String barcode) {
+        return getHistory(AuditEntry.EntityType.SUPPLY_ITEM, barcode);
+    }
+
+    /**
+     * @return The recorded changes of one supply item or supplier, oldest first, including
+     *         the entries still buffered. Lines that cannot be read are skipped.
+     */
+    public List<AuditEntry> getHistory(AuditEntry.EntityType type, String key) {
+        List<AuditEntry> history = new ArrayList<>();
+        if (key == null) {
+            return history;
+        }
+        if (running) {
+            writeNow();
+        }
+        // Most lines are about other keys; only matching ones are parsed.
+        String keyField = Json.appendField(new StringBuilder(), "key", key).toString();
+        readFile(currentFile(), keyField, entry -> {
+            if (entry.getEntityType() == type && key.equals(entry.getKey())) {
+                history.add(entry);
+            }
+        });
+        return history;
+    }
+
+    /**
+     * Passes every recorded entry to the listener, then the entries of each later batch,
+     * so it sees each entry exactly once.
+     */
+    void replayAndListen(Listener listener) {
+        writeLock.lock();
+        try {
+            List<AuditEntry> chunk = new ArrayList<>();
+            readFile(currentFile(), null, entry -> {
+                chunk.add(entry);
+                if (chunk.size() == CAPACITY) {
+                    listener.entriesWritten(Collections.unmodifiableList(chunk));
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                listener.entriesWritten(Collections.unmodifiableList(chunk));
+            }
+            listeners.add(listener);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    private Path currentFile() {
+        return running ? filePath : auditFileOf(DatabaseConnector.getDatabaseFilePath());
+    }
+
+    /**
+     * @param lineMarker Text a line must contain to be parsed, or null for all lines.
+     */
+    private static void readFile(Path path, String lineMarker, Consumer<AuditEntry> sink) {
+        if (!Files.isRegularFile(path)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || (lineMarker != null && !line.contains(lineMarker))) {
+                    continue;
+                }
+                try {
+                    sink.accept(AuditEntry.fromJson(line));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("WARNING: Skipping unreadable audit trail line: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading audit trail '" + path + "': " + e.getMessage());
+        }
+    }
+
+    static Path auditFileOf(String databaseFilePath) {
+        return Paths.get(databaseFilePath + FILE_SUFFIX);
+    }
+}
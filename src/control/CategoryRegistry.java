@@ -0,0 +1,38 @@
+package control;
+
+import util.StringPool;
+
+/**
+ * Canonical instances of the item categories: the row mappers and the XML import hand out
+ * one shared string per category instead of one per item. Categories are kept exactly as
+ * stored, so "Gloves", "gloves " and "GLOVES" stay three categories, as they are in the
+ * database and in the SQL reports. Bounded like any {@link StringPool}: past
+ * {@value #MAX_CATEGORIES} categories, new ones are returned unshared.
+ */
+public class CategoryRegistry {
+
+    public static final int MAX_CATEGORIES = 10_000;
+
+    private static final CategoryRegistry INSTANCE = new CategoryRegistry();
+
+    private final StringPool categories = new StringPool(MAX_CATEGORIES);
+
+    private CategoryRegistry() {
+    }
+
+    public static CategoryRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The canonical instance of the category (registering it if there is room);
+     *         null for null.
+     */
+    public String canonical(String category) {
+        return categories.intern(category);
+    }
+
+    public int size() {
+        return categories.size();
+    }
+}
@@ -0,0 +1,138 @@
+package control;
+
+import entity.Supplier;
+import entity.SupplyItem;
+import util.Constants;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One clinic's database in multi-clinic mode. Unlike the controllers, which use the
+ * application's single {@link util.DatabaseConnector} connection, a shard owns a
+ * connection to its own Access file, opened on first use. Queries on one shard run one
+ * at a time.
+ */
+public class ClinicShard {
+
+    private static final String ITEM_COLUMNS = "barcode, productTitle, productDetails, category, " +
+                                               "availableUnits, expirationDate, thresholdStock, supplierCode";
+
+    private final String name;
+    private final String dbFilePath;
+    private volatile Connection connection; // Opened with this locked
+    private volatile int closeCount = 0;
+
+    public ClinicShard(String name, String dbFilePath) {
+        this.name = name;
+        this.dbFilePath = dbFilePath;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDbFilePath() {
+        return dbFilePath;
+    }
+
+    /**
+     * @return The item with this barcode, or null.
+     */
+    public synchronized SupplyItem findByBarcode(String barcode, int timeoutSeconds) throws SQLException {
+        List<SupplyItem> items = query("SELECT " + ITEM_COLUMNS + " FROM SupplyItem WHERE barcode = ?", timeoutSeconds, barcode);
+        return items.isEmpty() ? null : items.get(0);
+    }
+
+    /**
+     * @return Items at or below a positive threshold, ordered by title.
+     */
+    public synchronized List<SupplyItem> findLowStock(int timeoutSeconds) throws SQLException {
+        return query("SELECT " + ITEM_COLUMNS + " FROM SupplyItem WHERE availableUnits <= thresholdStock " +
+                     "AND thresholdStock > 0 ORDER BY productTitle, barcode", timeoutSeconds);
+    }
+
+    /**
+     * @return Items expiring within [from, to], soonest first.
+     */
+    public synchronized List<SupplyItem> findExpiringBetween(LocalDate from, LocalDate to, int timeoutSeconds) throws SQLException {
+        // Stored as yyyy-MM-dd text, so the range compares as strings; "N/A" sorts after digits.
+        List<SupplyItem> items = query("SELECT " + ITEM_COLUMNS + " FROM SupplyItem WHERE expirationDate >= ? " +
+                                       "AND expirationDate <= ?", timeoutSeconds, from.toString(), to.toString());
+        items.removeIf(item -> item.getExpirationDate() == null);
+        items.sort(Comparator.comparing(SupplyItem::getExpirationDate));
+        return items;
+    }
+
+    /**
+     * Closes the connection without waiting for a running query, which then fails; used
+     * to abandon a clinic that timed out. A connection still being opened is closed as soon
+     * as it is ready.
+     */
+    public void close() {
+        closeCount++;
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing database of clinic '" + name + "': " + e.getMessage());
+            }
+        }
+    }
+
+    // Called with this locked.
+    private List<SupplyItem> query(String sql, int timeoutSeconds, String... parameters) throws SQLException {
+        List<SupplyItem> items = new ArrayList<>();
+        try (PreparedStatement pstmt = getConnection().prepareStatement(sql)) {
+            pstmt.setQueryTimeout(timeoutSeconds);
+            for (int i = 0; i < parameters.length; i++) {
+                pstmt.setString(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+                Map<String, Supplier> suppliers = new HashMap<>();
+                while (rs.next()) {
+                    SupplyItem item = mapper.map(rs);
+                    String supplierCode = mapper.supplierCode(rs);
+                    if (supplierCode != null && !supplierCode.trim().isEmpty()) {
+                        // A reference by code only; supplier details stay in the clinic's database.
+                        item.setSupplier(suppliers.computeIfAbsent(supplierCode, code -> new Supplier(code, null, null)));
+                    }
+                    items.add(item);
+                }
+            }
+        }
+        return items;
+    }
+
+    private Connection getConnection() throws SQLException {
+        Connection current = connection;
+        if (current == null || current.isClosed()) {
+            int closesBefore = closeCount;
+            current = DriverManager.getConnection(Constants.DB_URL_PREFIX + dbFilePath + Constants.DB_URL_OPTIONS);
+            if (closeCount != closesBefore) {
+                // Abandoned while opening (e.g. a large file that took longer than the timeout).
+                current.close();
+                throw new SQLException("Database of clinic '" + name + "' was closed while it was being opened.");
+            }
+            connection = current;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + dbFilePath + ")";
+    }
+}
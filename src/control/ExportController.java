@@ -0,0 +1,237 @@
+package control;
+
+import util.DatabaseConnector;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Controller class for exporting inventory and supplier data to CSV or to XML in the
+ * Supir {@code inventoryUpdateRequest} format.
+ * <p>
+ * Rows are streamed from a forward-only, read-only ResultSet straight into a buffered
+ * writer, reading columns by index and without building entity objects or looking up
+ * suppliers per item, so memory use stays flat regardless of table size.
+ */
+public class ExportController {
+
+    public static final int FETCH_SIZE = 1000;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private static final String ITEMS_SQL = "SELECT barcode, productTitle, productDetails, category, " +
+                                            "availableUnits, expirationDate, thresholdStock, supplierCode " +
+                                            "FROM SupplyItem ORDER BY productTitle";
+    private static final String SUPPLIERS_SQL = "SELECT supplierCode, supplierName, recentSupplyDate FROM Supplier ORDER BY supplierName";
+
+    public enum ExportType {
+        INVENTORY_CSV,
+        SUPPLIERS_CSV,
+        /** Suppliers and items in one {@code inventoryUpdateRequest} document. */
+        INVENTORY_XML
+    }
+
+    /**
+     * Exports to a file, for callers that only need to know whether it worked.
+     *
+     * @return null on success, otherwise an error message.
+     */
+    public String exportToFile(String filePath, ExportType type) {
+        if (filePath == null || filePath.trim().isEmpty()) {
+            return "Export file path cannot be empty.";
+        }
+        try {
+            writeExportFile(filePath, type);
+            return null;
+        } catch (SQLException | IOException | XMLStreamException e) {
+            e.printStackTrace();
+            return "Error exporting to '" + filePath + "': " + e.getMessage();
+        }
+    }
+
+    /**
+     * Exports to a file, creating or truncating it.
+     *
+     * @return The number of rows written.
+     */
+    public long writeExportFile(String filePath, ExportType type) throws SQLException, IOException, XMLStreamException {
+        WriteBehindQueue.getInstance().flushIfPending();
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(filePath), StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            switch (type) {
+                case INVENTORY_CSV:
+                    return exportSupplyItemsCsv(writer);
+                case SUPPLIERS_CSV:
+                    return exportSuppliersCsv(writer);
+                case INVENTORY_XML:
+                    return exportInventoryXml(writer);
+                default:
+                    throw new IllegalArgumentException("Unsupported export type: " + type);
+            }
+        }
+    }
+
+    public long exportSupplyItemsCsv(Writer writer) throws SQLException, IOException {
+        long rows = 0;
+        writer.write("barcode,productTitle,productDetails,category,availableUnits,expirationDate,thresholdStock,supplierCode\r\n");
+        try (Connection conn = DatabaseConnector.getConnection();
+             Statement stmt = createStreamingStatement(conn);
+             ResultSet rs = stmt.executeQuery(ITEMS_SQL)) {
+            while (rs.next()) {
+                writeCsvField(writer, rs.getString(1));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(2));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(3));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(4));
+                writer.write(',');
+                writer.write(Integer.toString(rs.getInt(5)));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(6));
+                writer.write(',');
+                writer.write(Integer.toString(rs.getInt(7)));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(8));
+                writer.write("\r\n");
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    public long exportSuppliersCsv(Writer writer) throws SQLException, IOException {
+        long rows = 0;
+        writer.write("supplierCode,supplierName,recentSupplyDate\r\n");
+        try (Connection conn = DatabaseConnector.getConnection();
+             Statement stmt = createStreamingStatement(conn);
+             ResultSet rs = stmt.executeQuery(SUPPLIERS_SQL)) {
+            while (rs.next()) {
+                writeCsvField(writer, rs.getString(1));
+                writer.write(',');
+                writeCsvField(writer, rs.getString(2));
+                writer.write(',');
+                java.sql.Date dbDate = rs.getDate(3);
+                if (dbDate != null) {
+                    writer.write(dbDate.toLocalDate().toString());
+                }
+                writer.write("\r\n");
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    /**
+     * Writes suppliers and items as an {@code inventoryUpdateRequest} document that the
+     * XML import can read back.
+     *
+     * @return The number of supplier and item rows written.
+     */
+    public long exportInventoryXml(Writer writer) throws SQLException, XMLStreamException {
+        long rows = 0;
+        XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(writer);
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeCharacters("\n");
+            xml.writeStartElement("inventoryUpdateRequest");
+            xml.writeCharacters("\n    ");
+            xml.writeStartElement("suppliers");
+            try (Statement stmt = createStreamingStatement(conn);
+                 ResultSet rs = stmt.executeQuery(SUPPLIERS_SQL)) {
+                while (rs.next()) {
+                    xml.writeCharacters("\n        ");
+                    xml.writeEmptyElement("supplier");
+                    writeAttribute(xml, "supplierCode", rs.getString(1));
+                    writeAttribute(xml, "supplierName", rs.getString(2));
+                    java.sql.Date dbDate = rs.getDate(3);
+                    xml.writeAttribute("recentSupplyDate", dbDate != null ? dbDate.toLocalDate().toString() : "N/A");
+                    rows++;
+                }
+            }
+            xml.writeCharacters("\n    ");
+            xml.writeEndElement();
+            xml.writeCharacters("\n    ");
+            xml.writeStartElement("items");
+            try (Statement stmt = createStreamingStatement(conn);
+                 ResultSet rs = stmt.executeQuery(ITEMS_SQL)) {
+                while (rs.next()) {
+                    xml.writeCharacters("\n        ");
+                    xml.writeEmptyElement("item");
+                    writeAttribute(xml, "barcode", rs.getString(1));
+                    writeAttribute(xml, "productTitle", rs.getString(2));
+                    writeAttribute(xml, "productDetails", rs.getString(3));
+                    writeAttribute(xml, "category", rs.getString(4));
+                    xml.writeAttribute("availableUnits", Integer.toString(rs.getInt(5)));
+                    String expirationDate = rs.getString(6);
+                    xml.writeAttribute("expirationDate", expirationDate != null ? expirationDate : "N/A");
+                    xml.writeAttribute("thresholdStock", Integer.toString(rs.getInt(7)));
+                    writeAttribute(xml, "supplierCode", rs.getString(8));
+                    rows++;
+                }
+            }
+            xml.writeCharacters("\n    ");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndElement();
+            xml.writeCharacters("\n");
+            xml.writeEndDocument();
+            xml.flush();
+        } finally {
+            xml.close();
+        }
+        return rows;
+    }
+
+    private static Statement createStreamingStatement(Connection conn) throws SQLException {
+        Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        stmt.setFetchSize(FETCH_SIZE);
+        return stmt;
+    }
+
+    private static void writeAttribute(XMLStreamWriter xml, String name, String value) throws XMLStreamException {
+        xml.writeAttribute(name, value != null ? value : "");
+    }
+
+    // RFC 4180: quote only when needed, doubling embedded quotes.
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuotes = true;
+                break;
+            }
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                writer.write(value, start, i - start + 1);
+                writer.write('"');
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+}
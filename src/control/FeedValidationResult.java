@@ -0,0 +1,108 @@
+package control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of checking a feed with the {@link XmlFeedValidator}.
+ */
+public class FeedValidationResult {
+
+    /**
+     * One schema violation, located in the feed.
+     */
+    public static final class Violation {
+        private final int line;
+        private final int column;
+        private final String message;
+
+        Violation(int line, int column, String message) {
+            this.line = line;
+            this.column = column;
+            this.message = message;
+        }
+
+        /**
+         * @return The 1-based line, or -1 if unknown.
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * @return The 1-based column, or -1 if unknown.
+         */
+        public int getColumn() {
+            return column;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + ", column " + column + ": " + message;
+        }
+    }
+
+    private final List<Violation> violations = new ArrayList<>();
+    private int violationCount = 0;
+    private boolean aborted = false;
+    private long elapsedMillis;
+
+    void addViolation(Violation violation, int maxKept) {
+        violationCount++;
+        if (violations.size() < maxKept) {
+            violations.add(violation);
+        }
+    }
+
+    /**
+     * Replaces the last violation, e.g. with a more specific report of the same problem.
+     */
+    void replaceLastViolation(Violation violation) {
+        if (!violations.isEmpty() && violations.size() == violationCount) {
+            violations.set(violations.size() - 1, violation);
+        }
+    }
+
+    void setAborted(boolean aborted) {
+        this.aborted = aborted;
+    }
+
+    void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public boolean isValid() {
+        return violationCount == 0;
+    }
+
+    /**
+     * @return The first violations found, at most {@link XmlFeedValidator#MAX_VIOLATIONS}.
+     */
+    public List<Violation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * @return The number of violations found, including those not kept.
+     */
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    /**
+     * @return True if the check stopped before the end of the feed, because the feed is not
+     *         well-formed XML or had too many violations.
+     */
+    public boolean isAborted() {
+        return aborted;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -0,0 +1,19 @@
+package control;
+
+/**
+ * Lets another thread ask a running import to stop.
+ * The import checks the token between records, rolls back the uncommitted batch
+ * and returns, leaving the database at the last committed batch boundary.
+ */
+public class ImportCancellationToken {
+
+    private volatile boolean cancelled = false;
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,71 @@
+package control;
+
+/**
+ * Immutable snapshot of how far an XML import has progressed.
+ */
+public class ImportProgress {
+
+    private final long bytesRead;
+    private final long totalBytes;
+    private final int recordsParsed;
+    private final int recordsWritten;
+    private final long elapsedMillis;
+
+    public ImportProgress(long bytesRead, long totalBytes, int recordsParsed, int recordsWritten, long elapsedMillis) {
+        this.bytesRead = bytesRead;
+        this.totalBytes = totalBytes;
+        this.recordsParsed = recordsParsed;
+        this.recordsWritten = recordsWritten;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /**
+     * @return The size of the feed in bytes, or -1 if unknown.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public int getRecordsParsed() {
+        return recordsParsed;
+    }
+
+    public int getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return The fraction of the feed consumed (0.0 - 1.0), or -1 if the size is unknown.
+     */
+    public double getFractionDone() {
+        if (totalBytes <= 0) {
+            return -1;
+        }
+        return Math.min(1.0, (double) bytesRead / totalBytes);
+    }
+
+    public double getRecordsPerSecond() {
+        return elapsedMillis > 0 ? recordsParsed * 1000.0 / elapsedMillis : 0;
+    }
+
+    /**
+     * Estimates the remaining time from the byte throughput so far.
+     *
+     * @return The estimated remaining milliseconds, or -1 if no estimate is possible yet.
+     */
+    public long getEstimatedRemainingMillis() {
+        if (totalBytes <= 0 || bytesRead <= 0 || elapsedMillis <= 0) {
+            return -1;
+        }
+        long remainingBytes = Math.max(0, totalBytes - bytesRead);
+        return (long) (remainingBytes * ((double) elapsedMillis / bytesRead));
+    }
+}
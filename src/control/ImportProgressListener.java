@@ -0,0 +1,11 @@
+package control;
+
+/**
+ * Receives progress updates from {@link XmlImportController} while an import runs.
+ * Called on the importing thread; implementations that touch Swing components must
+ * hand the update over to the event dispatch thread themselves.
+ */
+public interface ImportProgressListener {
+
+    void onProgress(ImportProgress progress);
+}
@@ -1,9 +1,53 @@
-package control; 
+package control;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Outcome of an XML import run.
+ * Keeps per-category counters for every diagnostic, but only a capped sample of the
+ * message texts in memory; the complete detail is streamed to a log file on disk
+ * (see {@link #startLog(Path)}) so large feeds cannot exhaust the heap.
+ */
 public class ImportResult {
+
+    /**
+     * Categories used to count import diagnostics.
+     */
+    public enum IssueCategory {
+        SUPPLIER_DATE("Invalid supplier dates"),
+        SUPPLIER_WRITE("Supplier add/update failures"),
+        ITEM_NUMBER("Invalid units/threshold numbers"),
+        ITEM_DATE("Invalid expiration dates"),
+        ITEM_SUPPLIER_MISSING("Unknown supplier references"),
+        ITEM_WRITE("Item add/update failures"),
+        SCHEMA("Schema violations"),
+        FILE("File/XML parsing errors"),
+        UNEXPECTED("Unexpected errors"),
+        GENERAL("General messages");
+
+        private final String label;
+
+        IssueCategory(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /** Maximum number of message texts kept in memory for display. */
+    public static final int MAX_SAMPLED_MESSAGES = 100;
+
     private boolean overallSuccess = true;
     private int suppliersAdded = 0;
     private int suppliersUpdated = 0;
@@ -11,7 +55,14 @@ public class ImportResult {
     private int itemsAdded = 0;
     private int itemsUpdated = 0;
     private int itemsFailed = 0;
-    private List<String> messages = new ArrayList<>();
+    private final Map<IssueCategory, Integer> issueCounts = new EnumMap<>(IssueCategory.class);
+    private final List<String> messages = new ArrayList<>();
+    private int messagesNotSampled = 0;
+    private boolean cancelled = false;
+    private int[] checkpointCounters = new int[6];
+
+    private Path logFile;
+    private BufferedWriter logWriter;
 
     public boolean isOverallSuccess() {
         return overallSuccess;
@@ -43,7 +94,7 @@ public class ImportResult {
 
     public void incrementSuppliersFailed() {
         this.suppliersFailed++;
-        this.overallSuccess = false; 
+        this.overallSuccess = false;
     }
 
     public int getItemsAdded() {
@@ -71,23 +122,144 @@ public class ImportResult {
         this.overallSuccess = false;
     }
 
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Remembers the current added/updated/failed counters as committed to the database.
+     */
+    public void checkpoint() {
+        checkpointCounters = new int[] { suppliersAdded, suppliersUpdated, suppliersFailed, itemsAdded, itemsUpdated, itemsFailed };
+    }
+
+    /**
+     * Restores the added/updated/failed counters to the last {@link #checkpoint()}, after the
+     * work counted since then has been rolled back.
+     *
+     * @return The number of records whose outcome was discarded.
+     */
+    public int revertToCheckpoint() {
+        int discarded = (suppliersAdded + suppliersUpdated + suppliersFailed + itemsAdded + itemsUpdated + itemsFailed)
+                - (checkpointCounters[0] + checkpointCounters[1] + checkpointCounters[2]
+                   + checkpointCounters[3] + checkpointCounters[4] + checkpointCounters[5]);
+        suppliersAdded = checkpointCounters[0];
+        suppliersUpdated = checkpointCounters[1];
+        suppliersFailed = checkpointCounters[2];
+        itemsAdded = checkpointCounters[3];
+        itemsUpdated = checkpointCounters[4];
+        itemsFailed = checkpointCounters[5];
+        return discarded;
+    }
+
+    /**
+     * @return The sampled messages (at most {@link #MAX_SAMPLED_MESSAGES}); the full list is in the log file.
+     */
     public List<String> getMessages() {
-        return messages;
+        return Collections.unmodifiableList(messages);
+    }
+
+    public int getIssueCount(IssueCategory category) {
+        return issueCounts.getOrDefault(category, 0);
+    }
+
+    /**
+     * @return The total number of messages recorded, including those not kept in memory.
+     */
+    public int getTotalMessageCount() {
+        return messages.size() + messagesNotSampled;
+    }
+
+    public Path getLogFile() {
+        return logFile;
     }
 
     public void addMessage(String message) {
-        this.messages.add(message);
+        addMessage(IssueCategory.GENERAL, message);
     }
-    
+
+    public void addMessage(IssueCategory category, String message) {
+        record(category, message);
+    }
+
     public void addErrorMessage(String message) {
-        this.messages.add("ERROR: " + message);
+        addErrorMessage(IssueCategory.UNEXPECTED, message);
+    }
+
+    public void addErrorMessage(IssueCategory category, String message) {
+        record(category, "ERROR: " + message);
         this.overallSuccess = false;
     }
 
+    private void record(IssueCategory category, String message) {
+        issueCounts.merge(category, 1, Integer::sum);
+        if (messages.size() < MAX_SAMPLED_MESSAGES) {
+            messages.add(message);
+        } else {
+            messagesNotSampled++;
+        }
+        writeToLog(category, message);
+    }
+
+    /**
+     * Starts streaming every message to the given file. Failures to open or write the
+     * log are reported on stderr and do not affect the import itself.
+     *
+     * @param file The log file to create (or truncate).
+     */
+    public void startLog(Path file) {
+        try {
+            this.logWriter = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            this.logFile = file;
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not open import log '" + file + "': " + e.getMessage());
+            this.logWriter = null;
+            this.logFile = null;
+        }
+    }
+
+    private void writeToLog(IssueCategory category, String message) {
+        if (logWriter == null) {
+            return;
+        }
+        try {
+            logWriter.write(category.name());
+            logWriter.write('\t');
+            logWriter.write(message);
+            logWriter.newLine();
+        } catch (IOException e) {
+            System.err.println("WARNING: Writing to import log failed, detail logging disabled: " + e.getMessage());
+            closeLog();
+        }
+    }
+
+    /**
+     * Flushes and closes the log file, if one was started. Safe to call more than once.
+     */
+    public void closeLog() {
+        if (logWriter != null) {
+            try {
+                logWriter.close();
+            } catch (IOException e) {
+                System.err.println("WARNING: Error closing import log: " + e.getMessage());
+            } finally {
+                logWriter = null;
+            }
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("XML Import ").append(overallSuccess ? "Completed (Possibly with individual errors)" : "Failed").append("\n");
+        if (cancelled) {
+            sb.append("XML Import Cancelled (changes up to the last committed batch were kept)\n");
+        } else {
+            sb.append("XML Import ").append(overallSuccess ? "Completed (Possibly with individual errors)" : "Failed").append("\n");
+        }
         sb.append("-------------------------------------\n");
         sb.append("Suppliers:\n");
         sb.append("  Added: ").append(suppliersAdded).append("\n");
@@ -98,12 +270,26 @@ public class ImportResult {
         sb.append("  Updated: ").append(itemsUpdated).append("\n");
         sb.append("  Failed: ").append(itemsFailed).append("\n");
         sb.append("-------------------------------------\n");
+        if (!issueCounts.isEmpty()) {
+            sb.append("Messages by category:\n");
+            for (Map.Entry<IssueCategory, Integer> entry : issueCounts.entrySet()) {
+                sb.append("  ").append(entry.getKey().getLabel()).append(": ").append(entry.getValue()).append("\n");
+            }
+            sb.append("-------------------------------------\n");
+        }
         if (!messages.isEmpty()) {
-            sb.append("Messages/Errors:\n");
+            sb.append("Messages/Errors");
+            if (messagesNotSampled > 0) {
+                sb.append(" (first ").append(messages.size()).append(" of ").append(getTotalMessageCount()).append(")");
+            }
+            sb.append(":\n");
             for (String msg : messages) {
                 sb.append("  - ").append(msg).append("\n");
             }
         }
+        if (logFile != null) {
+            sb.append("Full log: ").append(logFile.toAbsolutePath()).append("\n");
+        }
         return sb.toString();
     }
-}
\ No newline at end of file
+}
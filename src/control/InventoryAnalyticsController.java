@@ -0,0 +1,156 @@
+package control;
+
+import util.DatabaseConnector;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller class for the inventory dashboard figures ({@link InventorySummary}).
+ * <p>
+ * Figures come from the {@link InventoryColumnStore}, whose running totals are updated
+ * with every item change, so a summary costs one pass over the expiration column. If the
+ * store cannot be loaded, grouped SQL queries are used instead. The last summary is cached
+ * until the store changes, the day changes or {@link #invalidateCache()} is called.
+ */
+public class InventoryAnalyticsController {
+
+    private static final String SUPPLIER_CODES_SQL = "SELECT supplierCode FROM Supplier";
+
+    private static volatile InventorySummary cachedSummary = null;
+    private static volatile boolean suppliersChanged = false;
+
+    /**
+     * Drops the cached summary, e.g. after suppliers were added or removed (which the
+     * column store does not track).
+     */
+    public static void invalidateCache() {
+        suppliersChanged = true;
+        cachedSummary = null;
+    }
+
+    /**
+     * @return The current summary, or null if neither the column store nor the database could be read.
+     */
+    public InventorySummary getSummary() {
+        LocalDate today = LocalDate.now();
+        InventoryColumnStore columnStore = InventoryColumnStore.getInstance();
+        InventorySummary cached = cachedSummary;
+        if (cached != null && !suppliersChanged && cached.getAsOf().equals(today)
+                && columnStore.isLoaded() && cached.getSourceVersion() == columnStore.getVersion()) {
+            return cached;
+        }
+        suppliersChanged = false;
+        InventorySummary summary;
+        try {
+            List<String> supplierCodes = getSupplierCodes();
+            if (columnStore.ensureLoaded()) {
+                summary = columnStore.summarize(today, supplierCodes);
+            } else {
+                summary = summarizeFromDatabase(today, supplierCodes);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error computing inventory summary: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+        cachedSummary = summary;
+        return summary;
+    }
+
+    private List<String> getSupplierCodes() throws SQLException {
+        List<String> codes = new ArrayList<>();
+        try (Connection conn = DatabaseConnector.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SUPPLIER_CODES_SQL)) {
+            while (rs.next()) {
+                codes.add(rs.getString(1));
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Computes the summary with grouped queries. Expiration dates are stored as ISO
+     * {@code yyyy-MM-dd} text (or "N/A"), so they are bucketed by string comparison.
+     */
+    private InventorySummary summarizeFromDatabase(LocalDate today, List<String> supplierCodes) throws SQLException {
+        WriteBehindQueue.getInstance().flushIfPending();
+        long startNanos = System.nanoTime();
+        Map<String, InventorySummary.GroupTotals> byCategory = new LinkedHashMap<>();
+        Map<String, InventorySummary.GroupTotals> bySupplier = new LinkedHashMap<>();
+        int[] expiryBuckets = new int[InventorySummary.EXPIRY_BUCKET_COUNT];
+        int totalItems = 0;
+        long totalUnits = 0;
+        int outOfStock = 0;
+        int belowThreshold = 0;
+
+        // The bounds are formatted LocalDates, so inlining them is safe; HSQLDB mis-types
+        // parameters that only appear inside CASE expressions.
+        String todayLiteral = "'" + today + "'";
+        String in7Literal = "'" + today.plusDays(7) + "'";
+        String in30Literal = "'" + today.plusDays(30) + "'";
+        String in90Literal = "'" + today.plusDays(90) + "'";
+        String riskAndExpirySql = "SELECT " +
+                "SUM(CASE WHEN availableUnits <= 0 THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN availableUnits > 0 AND thresholdStock > 0 AND availableUnits <= thresholdStock THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN expirationDate IS NULL OR expirationDate = 'N/A' THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN expirationDate <> 'N/A' AND expirationDate < " + todayLiteral + " THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN expirationDate <> 'N/A' AND expirationDate >= " + todayLiteral + " AND expirationDate <= " + in7Literal + " THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN expirationDate <> 'N/A' AND expirationDate > " + in7Literal + " AND expirationDate <= " + in30Literal + " THEN 1 ELSE 0 END), " +
+                "SUM(CASE WHEN expirationDate <> 'N/A' AND expirationDate > " + in30Literal + " AND expirationDate <= " + in90Literal + " THEN 1 ELSE 0 END) " +
+                "FROM SupplyItem";
+
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT category, COUNT(*), SUM(availableUnits) FROM SupplyItem GROUP BY category")) {
+                while (rs.next()) {
+                    InventorySummary.GroupTotals totals = new InventorySummary.GroupTotals(rs.getInt(2), rs.getLong(3));
+                    byCategory.put(rs.getString(1), totals);
+                    totalItems += totals.getItemCount();
+                    totalUnits += totals.getUnits();
+                }
+            }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT supplierCode, COUNT(*), SUM(availableUnits) FROM SupplyItem GROUP BY supplierCode")) {
+                while (rs.next()) {
+                    bySupplier.put(rs.getString(1), new InventorySummary.GroupTotals(rs.getInt(2), rs.getLong(3)));
+                }
+            }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(riskAndExpirySql)) {
+                if (rs.next()) {
+                    outOfStock = rs.getInt(1);
+                    belowThreshold = rs.getInt(2);
+                    expiryBuckets[InventorySummary.NO_EXPIRATION] = rs.getInt(3);
+                    expiryBuckets[InventorySummary.EXPIRED] = rs.getInt(4);
+                    expiryBuckets[InventorySummary.WITHIN_7_DAYS] = rs.getInt(5);
+                    expiryBuckets[InventorySummary.WITHIN_30_DAYS] = rs.getInt(6);
+                    expiryBuckets[InventorySummary.WITHIN_90_DAYS] = rs.getInt(7);
+                }
+            }
+        }
+        expiryBuckets[InventorySummary.LATER] = totalItems - expiryBuckets[InventorySummary.NO_EXPIRATION]
+                - expiryBuckets[InventorySummary.EXPIRED] - expiryBuckets[InventorySummary.WITHIN_7_DAYS]
+                - expiryBuckets[InventorySummary.WITHIN_30_DAYS] - expiryBuckets[InventorySummary.WITHIN_90_DAYS];
+
+        int suppliersWithItems = 0;
+        for (String supplierCode : supplierCodes) {
+            if (supplierCode != null && bySupplier.containsKey(supplierCode)) {
+                suppliersWithItems++;
+            }
+        }
+        InventorySummary.GroupTotals withoutSupplier = bySupplier.get(null);
+        return new InventorySummary(today, -1, "database", totalItems, totalUnits, byCategory, bySupplier,
+                expiryBuckets, outOfStock, belowThreshold, supplierCodes.size(), suppliersWithItems,
+                withoutSupplier != null ? withoutSupplier.getItemCount() : 0,
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
@@ -0,0 +1,587 @@
+package control;
+
+import entity.SupplyItem;
+import util.DatabaseConnector;
+import util.IsoDates;
+import util.StringDictionary;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Column-oriented, in-memory copy of the SupplyItem fields used by inventory scans
+ * (stock levels, thresholds, expirations, category and supplier), held in primitive
+ * arrays so questions like "how many items are low on stock" are tight loops over ints
+ * with no per-row objects. Categories and supplier codes are dictionary-encoded and
+ * dates are stored as epoch days ({@link #NULL_DATE} = none). A reverse index from
+ * supplier code to barcodes answers "does this supplier have items" directly; as the
+ * store only sees this process's changes, checks that guard a delete ask the database.
+ * <p>
+ * The store loads lazily (from a valid {@link InventorySnapshot} or one query) and is
+ * kept current by {@link SupplyItemController} as items are added, updated and deleted.
+ * Scans over large stores are split across the common fork-join pool.
+ */
+public class InventoryColumnStore {
+
+    public static final int NULL_DATE = InventorySnapshot.NULL_DATE;
+    static final int PARALLEL_THRESHOLD = 50_000;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final InventoryColumnStore INSTANCE = new InventoryColumnStore();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringDictionary categories = new StringDictionary();
+    private final StringDictionary suppliers = new StringDictionary();
+    private final Map<String, Integer> rowByBarcode = new HashMap<>();
+
+    private String[] barcodes = new String[INITIAL_CAPACITY];
+    private int[] availableUnits = new int[INITIAL_CAPACITY];
+    private int[] thresholdStock = new int[INITIAL_CAPACITY];
+    private int[] expirationDays = new int[INITIAL_CAPACITY];
+    private int[] categoryIds = new int[INITIAL_CAPACITY];
+    private int[] supplierIds = new int[INITIAL_CAPACITY];
+    private int size = 0;
+
+    // Running totals kept up to date on every row change; slot 0 is "none", id + 1 otherwise.
+    private int[] itemsByCategory = new int[1];
+    private long[] unitsByCategory = new long[1];
+    private int[] itemsBySupplier = new int[1];
+    private long[] unitsBySupplier = new long[1];
+    private long totalUnits = 0;
+    private int outOfStockCount = 0;
+    private int belowThresholdCount = 0;
+
+    private boolean loaded = false;
+    private long version = 0;
+
+    public static InventoryColumnStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Loads the store if it is not loaded yet.
+     *
+     * @return true if the store is loaded and can be scanned.
+     */
+    public boolean ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Queued updates are in neither the snapshot nor the table yet. Flushed before the
+        // write lock is taken: a flush that drops an update removes its row from the store.
+        WriteBehindQueue.getInstance().flushIfPending();
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                loaded = reload();
+                version++;
+            }
+            return loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the contents; the next {@link #ensureLoaded()} reloads them. Used when the
+     * database may have changed behind the store's back (rolled-back imports, refreshes).
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            clear();
+            loaded = false;
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        lock.readLock().lock();
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return A counter that changes with every modification, for callers caching derived results.
+     */
+    public long getVersion() {
+        lock.readLock().lock();
+        try {
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts or replaces the item's row. Ignored while the store is not loaded, since the
+     * next load reads the current data anyway.
+     */
+    public void upsert(SupplyItem item) {
+        if (item == null || item.getBarcode() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            int expirationDay = item.getExpirationDate() != null ? (int) item.getExpirationDate().toEpochDay() : NULL_DATE;
+            String supplierCode = item.getSupplier() != null ? item.getSupplier().getSupplierCode() : item.getSupplierCode();
+            Integer row = rowByBarcode.get(item.getBarcode());
+            if (row == null) {
+                appendRow(item.getBarcode(), item.getCategory(), supplierCode,
+                          item.getAvailableUnits(), item.getThresholdStock(), expirationDay);
+            } else {
+                account(row, -1);
+                setRow(row, item.getCategory(), supplierCode,
+                       item.getAvailableUnits(), item.getThresholdStock(), expirationDay);
+                account(row, 1);
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the stock level of one item, e.g. after a consume or receive.
+     */
+    public void setAvailableUnits(String barcode, int availableUnits) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer row = rowByBarcode.get(barcode);
+            if (row == null) {
+                return;
+            }
+            account(row, -1);
+            this.availableUnits[row] = availableUnits;
+            account(row, 1);
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String barcode) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Integer row = rowByBarcode.remove(barcode);
+            if (row == null) {
+                return;
+            }
+            account(row, -1);
+            int last = size - 1;
+            if (row != last) {
+                // Move the last row into the hole to keep the columns dense.
+                barcodes[row] = barcodes[last];
+                availableUnits[row] = availableUnits[last];
+                thresholdStock[row] = thresholdStock[last];
+                expirationDays[row] = expirationDays[last];
+                categoryIds[row] = categoryIds[last];
+                supplierIds[row] = supplierIds[last];
+                rowByBarcode.put(barcodes[row], row);
+            }
+            barcodes[last] = null;
+            size--;
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // --- Scans ---
+
+    /**
+     * @return The number of items at or below a positive threshold (same rule as
+     *         {@link SupplyItemController#getLowStockItems()}).
+     */
+    public int countLowStock() {
+        lock.readLock().lock();
+        try {
+            final int[] units = availableUnits;
+            final int[] threshold = thresholdStock;
+            return countRows(row -> threshold[row] > 0 && units[row] <= threshold[row]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int countOutOfStock() {
+        lock.readLock().lock();
+        try {
+            final int[] units = availableUnits;
+            return countRows(row -> units[row] <= 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of items whose expiration date lies within [from, to], both inclusive.
+     */
+    public int countExpiringBetween(LocalDate from, LocalDate to) {
+        final int fromDay = (int) from.toEpochDay();
+        final int toDay = (int) to.toEpochDay();
+        lock.readLock().lock();
+        try {
+            final int[] days = expirationDays;
+            return countRows(row -> days[row] != NULL_DATE && days[row] >= fromDay && days[row] <= toDay);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> findLowStockBarcodes() {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                if (thresholdStock[row] > 0 && availableUnits[row] <= thresholdStock[row]) {
+                    result.add(barcodes[row]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Barcodes of the items whose expiration date lies within [from, to], both inclusive.
+     */
+    public List<String> findExpiringBetween(LocalDate from, LocalDate to) {
+        final int fromDay = (int) from.toEpochDay();
+        final int toDay = (int) to.toEpochDay();
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>();
+            for (int row = 0; row < size; row++) {
+                int day = expirationDays[row];
+                if (day != NULL_DATE && day >= fromDay && day <= toDay) {
+                    result.add(barcodes[row]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Total available units per category (null key = no category), in first-seen order.
+     */
+    public Map<String, Integer> getUnitsPerCategory() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (Map.Entry<String, InventorySummary.GroupTotals> entry : groupTotals(categories::valueOf, itemsByCategory, unitsByCategory).entrySet()) {
+                result.put(entry.getKey(), (int) entry.getValue().getUnits());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of items per category (null key = no category), in first-seen order.
+     */
+    public Map<String, Integer> getItemCountPerCategory() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (Map.Entry<String, InventorySummary.GroupTotals> entry : groupTotals(categories::valueOf, itemsByCategory, unitsByCategory).entrySet()) {
+                result.put(entry.getKey(), entry.getValue().getItemCount());
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a consistent summary of the whole store: group totals come from the running
+     * totals, expiry buckets from one (parallel) pass over the expiration column.
+     *
+     * @param supplierCodes Codes of all suppliers in the database, for the coverage figures.
+     */
+    public InventorySummary summarize(LocalDate today, Collection<String> supplierCodes) {
+        lock.readLock().lock();
+        try {
+            long startNanos = System.nanoTime();
+            int[] expiryBuckets = countExpiryBuckets((int) today.toEpochDay());
+            int suppliersWithItems = 0;
+            for (String supplierCode : supplierCodes) {
+                int id = suppliers.find(supplierCode);
+                if (id != StringDictionary.NO_ID && itemsBySupplier[id + 1] > 0) {
+                    suppliersWithItems++;
+                }
+            }
+            return new InventorySummary(today, version, "memory", size, totalUnits,
+                    groupTotals(categories::valueOf, itemsByCategory, unitsByCategory),
+                    groupTotals(suppliers::valueOf, itemsBySupplier, unitsBySupplier),
+                    expiryBuckets, outOfStockCount, belowThresholdCount,
+                    supplierCodes.size(), suppliersWithItems, itemsBySupplier[0],
+                    (System.nanoTime() - startNanos) / 1_000_000);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stock columns copied out of the store, for scans that should not hold its lock.
+     */
+    static final class StockColumns {
+        final int size;
+        final String[] barcodes;
+        final int[] availableUnits;
+        final int[] thresholdStock;
+        final String[] supplierCodes;
+
+        StockColumns(int size, String[] barcodes, int[] availableUnits, int[] thresholdStock, String[] supplierCodes) {
+            this.size = size;
+            this.barcodes = barcodes;
+            this.availableUnits = availableUnits;
+            this.thresholdStock = thresholdStock;
+            this.supplierCodes = supplierCodes;
+        }
+    }
+
+    /**
+     * @return A consistent copy of the stock columns; empty if the store is not loaded.
+     */
+    StockColumns copyStockColumns() {
+        lock.readLock().lock();
+        try {
+            String[] supplierCodes = new String[size];
+            for (int row = 0; row < size; row++) {
+                supplierCodes[row] = suppliers.valueOf(supplierIds[row]);
+            }
+            return new StockColumns(size, Arrays.copyOf(barcodes, size), Arrays.copyOf(availableUnits, size),
+                                    Arrays.copyOf(thresholdStock, size), supplierCodes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids whose rows were all updated or removed away are skipped.
+    private static Map<String, InventorySummary.GroupTotals> groupTotals(IntFunction<String> valueOf, int[] items, long[] units) {
+        Map<String, InventorySummary.GroupTotals> result = new LinkedHashMap<>();
+        for (int slot = 1; slot < items.length; slot++) {
+            if (items[slot] > 0) {
+                result.put(valueOf.apply(slot - 1), new InventorySummary.GroupTotals(items[slot], units[slot]));
+            }
+        }
+        if (items[0] > 0) {
+            result.put(null, new InventorySummary.GroupTotals(items[0], units[0]));
+        }
+        return result;
+    }
+
+    // Callers hold the read lock. Bucket layout as in InventorySummary.
+    private int[] countExpiryBuckets(int today) {
+        final int rows = size;
+        final int[] days = expirationDays;
+        if (rows < PARALLEL_THRESHOLD) {
+            return countExpiryRange(days, today, 0, rows);
+        }
+        final int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> countExpiryRange(days, today, (int) ((long) rows * chunk / chunks), (int) ((long) rows * (chunk + 1) / chunks)))
+                .reduce(new int[InventorySummary.EXPIRY_BUCKET_COUNT], (a, b) -> {
+                    int[] sum = new int[a.length];
+                    for (int i = 0; i < a.length; i++) {
+                        sum[i] = a[i] + b[i];
+                    }
+                    return sum;
+                });
+    }
+
+    private static int[] countExpiryRange(int[] days, int today, int from, int to) {
+        int[] buckets = new int[InventorySummary.EXPIRY_BUCKET_COUNT];
+        for (int row = from; row < to; row++) {
+            int day = days[row];
+            if (day == NULL_DATE) {
+                buckets[InventorySummary.NO_EXPIRATION]++;
+                continue;
+            }
+            int daysLeft = day - today;
+            if (daysLeft < 0) {
+                buckets[InventorySummary.EXPIRED]++;
+            } else if (daysLeft <= 7) {
+                buckets[InventorySummary.WITHIN_7_DAYS]++;
+            } else if (daysLeft <= 30) {
+                buckets[InventorySummary.WITHIN_30_DAYS]++;
+            } else if (daysLeft <= 90) {
+                buckets[InventorySummary.WITHIN_90_DAYS]++;
+            } else {
+                buckets[InventorySummary.LATER]++;
+            }
+        }
+        return buckets;
+    }
+
+    // Callers hold the read lock.
+    private int countRows(IntPredicate matches) {
+        final int rows = size;
+        if (rows < PARALLEL_THRESHOLD) {
+            return countRange(matches, 0, rows);
+        }
+        final int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        return IntStream.range(0, chunks).parallel()
+                .map(chunk -> countRange(matches, (int) ((long) rows * chunk / chunks), (int) ((long) rows * (chunk + 1) / chunks)))
+                .sum();
+    }
+
+    private static int countRange(IntPredicate matches, int from, int to) {
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (matches.test(row)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // --- Loading and row maintenance (callers hold the write lock) ---
+
+    private boolean reload() {
+        clear();
+        InventorySnapshot snapshot = InventorySnapshot.loadCurrent();
+        if (snapshot != null) {
+            for (int i = 0; i < snapshot.getItemCount(); i++) {
+                appendRow(snapshot.getBarcode(i), snapshot.getCategory(i), snapshot.getSupplierCodeOfItem(i),
+                          snapshot.getAvailableUnits(i), snapshot.getThresholdStock(i), snapshot.getExpirationEpochDay(i));
+            }
+            return true;
+        }
+        String sql = "SELECT barcode, category, availableUnits, expirationDate, thresholdStock, supplierCode FROM SupplyItem";
+        try (Connection conn = DatabaseConnector.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(ExportController.FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    LocalDate expirationDate = IsoDates.parseOrNull(rs.getString(4));
+                    appendRow(rs.getString(1), rs.getString(2), rs.getString(6), rs.getInt(3), rs.getInt(5),
+                              expirationDate != null ? (int) expirationDate.toEpochDay() : NULL_DATE);
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error loading inventory column store: " + e.getMessage());
+            e.printStackTrace();
+            clear();
+            return false;
+        }
+    }
+
+    private void clear() {
+        Arrays.fill(barcodes, 0, size, null);
+        size = 0;
+        rowByBarcode.clear();
+        categories.clear();
+        suppliers.clear();
+        itemsByCategory = new int[1];
+        unitsByCategory = new long[1];
+        itemsBySupplier = new int[1];
+        unitsBySupplier = new long[1];
+        totalUnits = 0;
+        outOfStockCount = 0;
+        belowThresholdCount = 0;
+    }
+
+    private void appendRow(String barcode, String category, String supplierCode, int units, int threshold, int expirationDay) {
+        if (size == barcodes.length) {
+            int capacity = size * 2;
+            barcodes = Arrays.copyOf(barcodes, capacity);
+            availableUnits = Arrays.copyOf(availableUnits, capacity);
+            thresholdStock = Arrays.copyOf(thresholdStock, capacity);
+            expirationDays = Arrays.copyOf(expirationDays, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            supplierIds = Arrays.copyOf(supplierIds, capacity);
+        }
+        int row = size++;
+        barcodes[row] = barcode;
+        rowByBarcode.put(barcode, row);
+        setRow(row, category, supplierCode, units, threshold, expirationDay);
+        account(row, 1);
+    }
+
+    private void setRow(int row, String category, String supplierCode, int units, int threshold, int expirationDay) {
+        availableUnits[row] = units;
+        thresholdStock[row] = threshold;
+        expirationDays[row] = expirationDay;
+        categoryIds[row] = categories.idOf(category);
+        supplierIds[row] = suppliers.idOf(supplierCode);
+    }
+
+    /**
+     * Adds (sign 1) or removes (sign -1) the row's contribution to the running totals.
+     */
+    private void account(int row, int sign) {
+        int units = availableUnits[row];
+        int categorySlot = categoryIds[row] + 1;
+        int supplierSlot = supplierIds[row] + 1;
+        if (categorySlot >= itemsByCategory.length) {
+            int capacity = Math.max(categorySlot + 1, itemsByCategory.length * 2);
+            itemsByCategory = Arrays.copyOf(itemsByCategory, capacity);
+            unitsByCategory = Arrays.copyOf(unitsByCategory, capacity);
+        }
+        if (supplierSlot >= itemsBySupplier.length) {
+            int capacity = Math.max(supplierSlot + 1, itemsBySupplier.length * 2);
+            itemsBySupplier = Arrays.copyOf(itemsBySupplier, capacity);
+            unitsBySupplier = Arrays.copyOf(unitsBySupplier, capacity);
+        }
+        itemsByCategory[categorySlot] += sign;
+        unitsByCategory[categorySlot] += (long) sign * units;
+        itemsBySupplier[supplierSlot] += sign;
+        unitsBySupplier[supplierSlot] += (long) sign * units;
+        totalUnits += (long) sign * units;
+        if (units <= 0) {
+            outOfStockCount += sign;
+        } else if (thresholdStock[row] > 0 && units <= thresholdStock[row]) {
+            belowThresholdCount += sign;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package control;
+
+import entity.Supplier;
+import entity.SupplyItem;
+import util.IsoDates;
+import util.Json;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * JSON form of suppliers and supply items exchanged by {@link InventoryServer} and
+ * {@link InventoryServiceClient}. Dates are ISO {@code yyyy-MM-dd} strings or null; an
+ * item refers to its supplier by code only.
+ */
+final class InventoryJson {
+
+    private InventoryJson() {
+    }
+
+    static void appendSupplyItem(StringBuilder json, SupplyItem item) {
+        json.append('{');
+        Json.appendField(json, "barcode", item.getBarcode()).append(',');
+        Json.appendField(json, "productTitle", item.getProductTitle()).append(',');
+        Json.appendField(json, "productDetails", item.getProductDetails()).append(',');
+        Json.appendField(json, "category", item.getCategory()).append(',');
+        Json.appendField(json, "availableUnits", item.getAvailableUnits()).append(',');
+        Json.appendField(json, "expirationDate",
+                item.getExpirationDate() != null ? item.getExpirationDate().toString() : null).append(',');
+        Json.appendField(json, "thresholdStock", item.getThresholdStock()).append(',');
+        Json.appendField(json, "supplierCode", item.getSupplierCode());
+        json.append('}');
+    }
+
+    static void appendSupplier(StringBuilder json, Supplier supplier) {
+        json.append('{');
+        Json.appendField(json, "supplierCode", supplier.getSupplierCode()).append(',');
+        Json.appendField(json, "supplierName", supplier.getSupplierName()).append(',');
+        Json.appendField(json, "recentSupplyDate",
+                supplier.getRecentSupplyDate() != null ? supplier.getRecentSupplyDate().toString() : null);
+        json.append('}');
+    }
+
+    static String supplyItemsToJson(Collection<SupplyItem> items) {
+        StringBuilder json = new StringBuilder(items.size() * 200 + 2).append('[');
+        for (SupplyItem item : items) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendSupplyItem(json, item);
+        }
+        return json.append(']').toString();
+    }
+
+    static String suppliersToJson(Collection<Supplier> suppliers) {
+        StringBuilder json = new StringBuilder(suppliers.size() * 100 + 2).append('[');
+        for (Supplier supplier : suppliers) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendSupplier(json, supplier);
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * @param supplier The item's supplier, looked up by the caller from the item's
+     *                 {@code supplierCode} (which {@link #supplierCodeOf(Map)} returns).
+     */
+    static SupplyItem toSupplyItem(Map<?, ?> json, Supplier supplier) {
+        SupplyItem item = new SupplyItem();
+        item.setBarcode(stringValue(json, "barcode"));
+        item.setProductTitle(stringValue(json, "productTitle"));
+        item.setProductDetails(stringValue(json, "productDetails"));
+        item.setCategory(CategoryRegistry.getInstance().canonical(stringValue(json, "category")));
+        item.setAvailableUnits(intValue(json, "availableUnits"));
+        item.setExpirationDate(dateValue(json, "expirationDate"));
+        item.setThresholdStock(intValue(json, "thresholdStock"));
+        if (supplier != null) {
+            item.setSupplier(supplier);
+        }
+        return item;
+    }
+
+    static String supplierCodeOf(Map<?, ?> json) {
+        return stringValue(json, "supplierCode");
+    }
+
+    static Supplier toSupplier(Map<?, ?> json) {
+        return new Supplier(stringValue(json, "supplierCode"), stringValue(json, "supplierName"),
+                            dateValue(json, "recentSupplyDate"));
+    }
+
+    private static String stringValue(Map<?, ?> json, String name) {
+        Object value = json.get(name);
+        return value != null ? value.toString() : null;
+    }
+
+    private static int intValue(Map<?, ?> json, String name) {
+        Object value = json.get(name);
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value == null) {
+            return 0;
+        }
+        throw new IllegalArgumentException("Field '" + name + "' must be a number.");
+    }
+
+    private static LocalDate dateValue(Map<?, ?> json, String name) {
+        String value = stringValue(json, name);
+        if (value == null || value.isEmpty() || "N/A".equalsIgnoreCase(value)) {
+            return null;
+        }
+        LocalDate date = IsoDates.parseOrNull(value);
+        if (date == null) {
+            throw new IllegalArgumentException("Field '" + name + "' must be a yyyy-MM-dd date.");
+        }
+        return date;
+    }
+}
@@ -0,0 +1,426 @@
+package control;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import entity.Supplier;
+import entity.SupplyItem;
+import util.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP/JSON service that lets several workstations share one open database and one
+ * in-memory copy of it, instead of each opening the Access file.
+ * <p>
+ * All suppliers and items are read once at start-up. Reads are answered from that cache
+ * (list responses are serialized once per change); writes go through the regular
+ * controllers on a single writer thread, and the cache is updated only when the write
+ * succeeded. By default the server listens on the loopback interface only; another bind
+ * address (e.g. {@code 0.0.0.0} for the front-desk LAN) can be given to {@link #start(InetAddress, int)}.
+ * There is no authentication, so only bind it to a trusted network.
+ * <pre>
+ * GET    /status
+ * GET    /items              GET    /suppliers
+ * GET    /items/{barcode}    GET    /suppliers/{code}
+ * POST   /items              POST   /suppliers
+ * PUT    /items/{barcode}    PUT    /suppliers/{code}
+ * DELETE /items/{barcode}    DELETE /suppliers/{code}
+ * </pre>
+ * Errors are answered as {@code {"error":"..."}} with status 400 (rejected by the controller),
+ * 404 (unknown barcode or code) or 500.
+ */
+public class InventoryServer {
+
+    public static final int DEFAULT_PORT = 8765;
+
+    private static final int REQUEST_THREADS = 4;
+    private static final long WRITE_TIMEOUT_SECONDS = 30;
+
+    private final SupplyItemController supplyItemController;
+    private final SupplierController supplierController;
+    private final Map<String, SupplyItem> items = new ConcurrentHashMap<>();
+    private final Map<String, Supplier> suppliers = new ConcurrentHashMap<>();
+    private volatile String itemsJson;
+    private volatile String suppliersJson;
+    private volatile long version = 0;
+
+    private final ExecutorService writer;
+    private ExecutorService requestExecutor;
+    private HttpServer httpServer;
+
+    public InventoryServer() {
+        this.supplierController = new SupplierController();
+        this.supplyItemController = new SupplyItemController(supplierController);
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "inventory-service-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the cache and starts listening on 127.0.0.1.
+     *
+     * @param port The port, or 0 for any free port (see {@link #getPort()}).
+     */
+    public void start(int port) throws IOException {
+        start(InetAddress.getLoopbackAddress(), port);
+    }
+
+    /**
+     * Loads the cache and starts listening on the given address.
+     *
+     * @param bindAddress The local address to listen on; the wildcard address listens on all interfaces.
+     * @param port        The port, or 0 for any free port (see {@link #getPort()}).
+     */
+    public void start(InetAddress bindAddress, int port) throws IOException {
+        loadCache();
+        AtomicInteger threadNumber = new AtomicInteger();
+        requestExecutor = Executors.newFixedThreadPool(REQUEST_THREADS, task -> {
+            Thread thread = new Thread(task, "inventory-service-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer = HttpServer.create(new InetSocketAddress(bindAddress, port), 0);
+        httpServer.createContext("/status", this::handleStatus);
+        httpServer.createContext("/items", this::handleItems);
+        httpServer.createContext("/suppliers", this::handleSuppliers);
+        httpServer.setExecutor(requestExecutor);
+        httpServer.start();
+    }
+
+    /**
+     * Stops accepting requests, lets running ones finish (up to a second) and stops the writer.
+     */
+    public void stop() {
+        if (httpServer != null) {
+            httpServer.stop(1);
+            requestExecutor.shutdown();
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * @return The base URL clients use to reach the server, for {@link InventoryServiceClient}:
+     *         the bind address, or the local host's address if the server listens on all interfaces.
+     */
+    public String getUrl() throws IOException {
+        InetAddress address = httpServer.getAddress().getAddress();
+        if (address.isAnyLocalAddress()) {
+            address = InetAddress.getLocalHost();
+        }
+        String host = address instanceof Inet6Address ? "[" + address.getHostAddress() + "]" : address.getHostAddress();
+        return "http://" + host + ":" + getPort();
+    }
+
+    private void loadCache() {
+        for (Supplier supplier : supplierController.getAllSuppliers()) {
+            suppliers.put(supplier.getSupplierCode(), supplier);
+        }
+        PageCursor cursor = PageCursor.first();
+        while (cursor != null) {
+            Page<SupplyItem> page = supplyItemController.getSupplyItemsPage(cursor);
+            for (SupplyItem item : page.getItems()) {
+                items.put(item.getBarcode(), item);
+            }
+            cursor = page.getNextCursor();
+        }
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        Json.appendField(json, "items", items.size()).append(',');
+        Json.appendField(json, "suppliers", suppliers.size()).append(',');
+        Json.appendField(json, "version", version);
+        send(exchange, 200, json.append('}').toString());
+    }
+
+    private void handleItems(HttpExchange exchange) throws IOException {
+        try {
+            String barcode = pathKey(exchange, "/items");
+            String method = exchange.getRequestMethod();
+            if ("GET".equals(method)) {
+                if (barcode == null) {
+                    send(exchange, 200, getItemsJson());
+                } else {
+                    SupplyItem item = items.get(barcode);
+                    if (item == null) {
+                        sendError(exchange, 404, "Supply item '" + barcode + "' not found.");
+                    } else {
+                        StringBuilder json = new StringBuilder();
+                        InventoryJson.appendSupplyItem(json, item);
+                        send(exchange, 200, json.toString());
+                    }
+                }
+            } else if ("POST".equals(method) && barcode == null) {
+                SupplyItem item = readSupplyItem(exchange, null);
+                sendWriteResult(exchange, 201, write(() -> {
+                    String error = supplyItemController.addSupplyItem(item);
+                    if (error == null) {
+                        items.put(item.getBarcode(), item);
+                        itemsChanged();
+                    }
+                    return error;
+                }));
+            } else if ("PUT".equals(method) && barcode != null) {
+                SupplyItem item = readSupplyItem(exchange, barcode);
+                sendWriteResult(exchange, 200, write(() -> {
+                    if (!items.containsKey(barcode)) {
+                        return NOT_FOUND;
+                    }
+                    String error = supplyItemController.updateSupplyItem(item);
+                    if (error == null) {
+                        items.put(barcode, item);
+                        itemsChanged();
+                    }
+                    return error;
+                }), "Supply item '" + barcode + "' not found.");
+            } else if ("DELETE".equals(method) && barcode != null) {
+                sendWriteResult(exchange, 200, write(() -> {
+                    if (!items.containsKey(barcode)) {
+                        return NOT_FOUND;
+                    }
+                    String error = supplyItemController.deleteSupplyItem(barcode);
+                    if (error == null) {
+                        items.remove(barcode);
+                        itemsChanged();
+                    }
+                    return error;
+                }), "Supply item '" + barcode + "' not found.");
+            } else {
+                sendError(exchange, 405, "Method " + method + " not allowed here.");
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Inventory service error on " + exchange.getRequestURI() + ": " + e.getMessage());
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal error: " + e.getMessage());
+        }
+    }
+
+    private void handleSuppliers(HttpExchange exchange) throws IOException {
+        try {
+            String code = pathKey(exchange, "/suppliers");
+            String method = exchange.getRequestMethod();
+            if ("GET".equals(method)) {
+                if (code == null) {
+                    send(exchange, 200, getSuppliersJson());
+                } else {
+                    Supplier supplier = suppliers.get(code);
+                    if (supplier == null) {
+                        sendError(exchange, 404, "Supplier '" + code + "' not found.");
+                    } else {
+                        StringBuilder json = new StringBuilder();
+                        InventoryJson.appendSupplier(json, supplier);
+                        send(exchange, 200, json.toString());
+                    }
+                }
+            } else if ("POST".equals(method) && code == null) {
+                Supplier supplier = InventoryJson.toSupplier(readObject(exchange));
+                sendWriteResult(exchange, 201, write(() -> {
+                    String error = supplierController.addSupplier(supplier);
+                    if (error == null) {
+                        suppliers.put(supplier.getSupplierCode(), supplier);
+                        suppliersChanged();
+                    }
+                    return error;
+                }));
+            } else if ("PUT".equals(method) && code != null) {
+                Supplier supplier = InventoryJson.toSupplier(readObject(exchange));
+                supplier.setSupplierCode(code);
+                sendWriteResult(exchange, 200, write(() -> {
+                    if (!suppliers.containsKey(code)) {
+                        return NOT_FOUND;
+                    }
+                    String error = supplierController.updateSupplier(supplier);
+                    if (error == null) {
+                        suppliers.put(code, supplier);
+                        suppliersChanged();
+                    }
+                    return error;
+                }), "Supplier '" + code + "' not found.");
+            } else if ("DELETE".equals(method) && code != null) {
+                sendWriteResult(exchange, 200, write(() -> {
+                    if (!suppliers.containsKey(code)) {
+                        return NOT_FOUND;
+                    }
+                    String error = supplierController.deleteSupplier(code);
+                    if (error == null) {
+                        suppliers.remove(code);
+                        suppliersChanged();
+                    }
+                    return error;
+                }), "Supplier '" + code + "' not found.");
+            } else {
+                sendError(exchange, 405, "Method " + method + " not allowed here.");
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Inventory service error on " + exchange.getRequestURI() + ": " + e.getMessage());
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal error: " + e.getMessage());
+        }
+    }
+
+    // Returned by a write that found nothing to change; compared by identity.
+    private static final String NOT_FOUND = new String("not found");
+
+    /**
+     * Runs a write on the writer thread and waits for it.
+     *
+     * @param task Returns null on success, {@link #NOT_FOUND} or an error message otherwise.
+     */
+    private String write(Callable<String> task) throws Exception {
+        Future<String> result = writer.submit(task);
+        try {
+            return result.get(WRITE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } catch (TimeoutException e) {
+            result.cancel(false);
+            throw new IllegalStateException("The write did not finish within " + WRITE_TIMEOUT_SECONDS + " s.");
+        }
+    }
+
+    // Synchronized with the list serialization, so a list built from the old contents
+    // cannot be published after the change.
+    private synchronized void itemsChanged() {
+        itemsJson = null;
+        version++;
+    }
+
+    private synchronized void suppliersChanged() {
+        suppliersJson = null;
+        version++;
+    }
+
+    private synchronized String getItemsJson() {
+        String json = itemsJson;
+        if (json == null) {
+            List<SupplyItem> sorted = new ArrayList<>(items.values());
+            sorted.sort(Comparator.comparing(SupplyItem::getProductTitle, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                                  .thenComparing(SupplyItem::getBarcode));
+            json = InventoryJson.supplyItemsToJson(sorted);
+            itemsJson = json;
+        }
+        return json;
+    }
+
+    private synchronized String getSuppliersJson() {
+        String json = suppliersJson;
+        if (json == null) {
+            List<Supplier> sorted = new ArrayList<>(suppliers.values());
+            sorted.sort(Comparator.comparing(Supplier::getSupplierName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                                  .thenComparing(Supplier::getSupplierCode));
+            json = InventoryJson.suppliersToJson(sorted);
+            suppliersJson = json;
+        }
+        return json;
+    }
+
+    private SupplyItem readSupplyItem(HttpExchange exchange, String barcode) throws IOException {
+        Map<?, ?> json = readObject(exchange);
+        String supplierCode = InventoryJson.supplierCodeOf(json);
+        Supplier supplier = null;
+        if (supplierCode != null && !supplierCode.trim().isEmpty()) {
+            // A detached reference: the controller only needs the code.
+            supplier = new Supplier(supplierCode, null, null);
+        }
+        SupplyItem item = InventoryJson.toSupplyItem(json, supplier);
+        if (barcode != null) {
+            item.setBarcode(barcode);
+        }
+        return item;
+    }
+
+    private Map<?, ?> readObject(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(body);
+        }
+        Object json = Json.parse(body.toString(StandardCharsets.UTF_8));
+        if (!(json instanceof Map)) {
+            throw new IllegalArgumentException("The request body must be a JSON object.");
+        }
+        return (Map<?, ?>) json;
+    }
+
+    /**
+     * @return The decoded path segment after the context (a barcode or supplier code), or
+     *         null if the request is for the collection itself.
+     */
+    private String pathKey(HttpExchange exchange, String context) {
+        String rawPath = exchange.getRequestURI().getRawPath();
+        if (rawPath.length() <= context.length() + 1) {
+            return null;
+        }
+        String key = rawPath.substring(context.length() + 1);
+        if (key.contains("/")) {
+            throw new IllegalArgumentException("Unexpected path: " + rawPath);
+        }
+        return URLDecoder.decode(key, StandardCharsets.UTF_8);
+    }
+
+    private void sendWriteResult(HttpExchange exchange, int successStatus, String error) throws IOException {
+        sendWriteResult(exchange, successStatus, error, "Not found.");
+    }
+
+    private void sendWriteResult(HttpExchange exchange, int successStatus, String error, String notFoundMessage) throws IOException {
+        if (error == null) {
+            StringBuilder json = new StringBuilder("{");
+            Json.appendField(json, "version", version);
+            send(exchange, successStatus, json.append('}').toString());
+        } else if (error == NOT_FOUND) {
+            sendError(exchange, 404, notFoundMessage);
+        } else {
+            sendError(exchange, 400, error);
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{");
+        Json.appendField(json, "error", message);
+        send(exchange, status, json.append('}').toString());
+    }
+
+    private void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
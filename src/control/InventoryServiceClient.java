@@ -0,0 +1,344 @@
+package control;
+
+import entity.Supplier;
+import entity.SupplyItem;
+import util.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client-side repository for a workstation using an {@link InventoryServer} instead of
+ * opening the database itself. Methods mirror {@link SupplyItemController} and
+ * {@link SupplierController}: reads return null (single objects) or an empty list on
+ * failure, writes return null on success or an error message.
+ * <p>
+ * Low-stock and near-expiration lists are filtered here from the server's item list, with
+ * the controllers' rules. Supplier writes keep the {@link SupplierDirectory} current, as the
+ * controller does; see {@link SupplierDirectory#useService(InventoryServiceClient)}.
+ */
+public class InventoryServiceClient {
+
+    private static final int CONNECT_TIMEOUT_MILLIS = 2_000;
+    private static final int READ_TIMEOUT_MILLIS = 60_000;
+
+    private final String baseUrl;
+
+    /**
+     * @param baseUrl E.g. {@code http://127.0.0.1:8765}.
+     */
+    public InventoryServiceClient(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public static InventoryServiceClient forLocalPort(int port) {
+        return new InventoryServiceClient("http://127.0.0.1:" + port);
+    }
+
+    /**
+     * @return True if the service answers.
+     */
+    public boolean isAvailable() {
+        try {
+            return request("GET", "/status", null).status == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public List<SupplyItem> getAllSupplyItems() {
+        List<SupplyItem> supplyItems = new ArrayList<>();
+        Map<String, Supplier> supplierCache = new HashMap<>();
+        for (Object json : getList("/items")) {
+            supplyItems.add(toSupplyItem((Map<?, ?>) json, supplierCache));
+        }
+        return supplyItems;
+    }
+
+    /**
+     * @return Items at or below their (positive) threshold stock, by title.
+     */
+    public List<SupplyItem> getLowStockItems() {
+        List<SupplyItem> lowStockItems = new ArrayList<>();
+        for (SupplyItem item : getAllSupplyItems()) {
+            if (item.getThresholdStock() > 0 && item.getAvailableUnits() <= item.getThresholdStock()) {
+                lowStockItems.add(item);
+            }
+        }
+        return lowStockItems;
+    }
+
+    /**
+     * @return Items expiring between today and {@code daysInAdvance} days from now, inclusive.
+     */
+    public List<SupplyItem> getNearExpirationItems(int daysInAdvance) {
+        List<SupplyItem> nearExpirationItems = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        LocalDate targetDate = today.plusDays(daysInAdvance);
+        for (SupplyItem item : getAllSupplyItems()) {
+            if (item.getExpirationDate() != null
+                    && !item.getExpirationDate().isBefore(today) && !item.getExpirationDate().isAfter(targetDate)) {
+                nearExpirationItems.add(item);
+            }
+        }
+        return nearExpirationItems;
+    }
+
+    public List<SupplyItem> getSupplyItemsBySupplier(Supplier supplier) {
+        List<SupplyItem> supplyItems = new ArrayList<>();
+        if (supplier == null || supplier.getSupplierCode() == null) {
+            return supplyItems;
+        }
+        for (SupplyItem item : getAllSupplyItems()) {
+            if (supplier.getSupplierCode().equals(item.getSupplierCode())) {
+                supplyItems.add(item);
+            }
+        }
+        return supplyItems;
+    }
+
+    public SupplyItem getSupplyItemByBarcode(String barcode) {
+        if (barcode == null || barcode.trim().isEmpty()) {
+            return null;
+        }
+        Map<?, ?> json = getObject("/items/" + encode(barcode));
+        return json != null ? toSupplyItem(json, new HashMap<>()) : null;
+    }
+
+    public String addSupplyItem(SupplyItem item) {
+        if (item == null || item.getBarcode() == null || item.getBarcode().trim().isEmpty()) {
+            return "Supply item data or barcode cannot be empty.";
+        }
+        return write("POST", "/items", supplyItemJson(item));
+    }
+
+    public String updateSupplyItem(SupplyItem item) {
+        if (item == null || item.getBarcode() == null || item.getBarcode().trim().isEmpty()) {
+            return "Cannot update supply item: item data or barcode is null/empty.";
+        }
+        return write("PUT", "/items/" + encode(item.getBarcode()), supplyItemJson(item));
+    }
+
+    public String deleteSupplyItem(String barcode) {
+        if (barcode == null || barcode.trim().isEmpty()) {
+            return "Cannot delete supply item: barcode is null/empty.";
+        }
+        return write("DELETE", "/items/" + encode(barcode), null);
+    }
+
+    /**
+     * @return The error message per barcode, null for each deleted item.
+     */
+    public Map<String, String> deleteMultipleSupplyItems(List<String> barcodes) {
+        Map<String, String> results = new HashMap<>();
+        if (barcodes == null) {
+            return results;
+        }
+        for (String barcode : barcodes) {
+            results.put(barcode, deleteSupplyItem(barcode));
+        }
+        return results;
+    }
+
+    public List<Supplier> getAllSuppliers() {
+        try {
+            return loadAllSuppliers();
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading /suppliers from the inventory service: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Like {@link #getAllSuppliers()}, but reports a failed read, for the {@link SupplierDirectory}.
+     */
+    List<Supplier> loadAllSuppliers() throws IOException {
+        List<Supplier> suppliers = new ArrayList<>();
+        for (Object json : loadList("/suppliers")) {
+            suppliers.add(toSupplier((Map<?, ?>) json));
+        }
+        return suppliers;
+    }
+
+    public Supplier getSupplierByCode(String supplierCode) {
+        if (supplierCode == null || supplierCode.trim().isEmpty()) {
+            return null;
+        }
+        Map<?, ?> json = getObject("/suppliers/" + encode(supplierCode));
+        return json != null ? toSupplier(json) : null;
+    }
+
+    public String addSupplier(Supplier supplier) {
+        if (supplier == null || supplier.getSupplierCode() == null || supplier.getSupplierCode().trim().isEmpty()) {
+            return "Supplier data or code cannot be empty.";
+        }
+        String error = write("POST", "/suppliers", supplierJson(supplier));
+        if (error == null) {
+            SupplierDirectory.getInstance().supplierSaved(supplier);
+        }
+        return error;
+    }
+
+    public String updateSupplier(Supplier supplier) {
+        if (supplier == null || supplier.getSupplierCode() == null || supplier.getSupplierCode().trim().isEmpty()) {
+            return "Cannot update supplier: supplier data or code is null/empty.";
+        }
+        String error = write("PUT", "/suppliers/" + encode(supplier.getSupplierCode()), supplierJson(supplier));
+        if (error == null) {
+            SupplierDirectory.getInstance().supplierSaved(supplier);
+        }
+        return error;
+    }
+
+    public String deleteSupplier(String supplierCode) {
+        if (supplierCode == null || supplierCode.trim().isEmpty()) {
+            return "Cannot delete supplier: supplier code is null/empty.";
+        }
+        String error = write("DELETE", "/suppliers/" + encode(supplierCode), null);
+        if (error == null) {
+            SupplierDirectory.getInstance().supplierRemoved(supplierCode);
+        }
+        return error;
+    }
+
+    public Map<String, String> deleteMultipleSuppliers(List<String> supplierCodes) {
+        Map<String, String> results = new HashMap<>();
+        if (supplierCodes == null) {
+            return results;
+        }
+        for (String code : supplierCodes) {
+            results.put(code, deleteSupplier(code));
+        }
+        return results;
+    }
+
+    private Supplier toSupplier(Map<?, ?> json) {
+        Supplier supplier = InventoryJson.toSupplier(json);
+        supplier.setSuppliedItemsLoader(this::getSupplyItemsBySupplier);
+        return supplier;
+    }
+
+    private SupplyItem toSupplyItem(Map<?, ?> json, Map<String, Supplier> supplierCache) {
+        String supplierCode = InventoryJson.supplierCodeOf(json);
+        Supplier supplier = supplierCode != null
+                            ? supplierCache.computeIfAbsent(supplierCode, code -> new Supplier(code, null, null))
+                            : null;
+        return InventoryJson.toSupplyItem(json, supplier);
+    }
+
+    private static String supplyItemJson(SupplyItem item) {
+        StringBuilder json = new StringBuilder();
+        InventoryJson.appendSupplyItem(json, item);
+        return json.toString();
+    }
+
+    private static String supplierJson(Supplier supplier) {
+        StringBuilder json = new StringBuilder();
+        InventoryJson.appendSupplier(json, supplier);
+        return json.toString();
+    }
+
+    private List<?> getList(String path) {
+        try {
+            return loadList(path);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading " + path + " from the inventory service: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private List<?> loadList(String path) throws IOException {
+        Response response = request("GET", path, null);
+        if (response.status == 200 && response.json instanceof List) {
+            return (List<?>) response.json;
+        }
+        throw new IOException("Inventory service returned " + response.status + " for " + path + ": " + response.errorMessage());
+    }
+
+    private Map<?, ?> getObject(String path) {
+        try {
+            Response response = request("GET", path, null);
+            if (response.status == 200 && response.json instanceof Map) {
+                return (Map<?, ?>) response.json;
+            }
+            if (response.status != 404) {
+                System.err.println("Inventory service returned " + response.status + " for " + path + ": " + response.errorMessage());
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error reading " + path + " from the inventory service: " + e.getMessage());
+        }
+        return null;
+    }
+
+    private String write(String method, String path, String body) {
+        try {
+            Response response = request(method, path, body);
+            return response.status / 100 == 2 ? null : response.errorMessage();
+        } catch (IOException | IllegalArgumentException e) {
+            return "Inventory service unreachable: " + e.getMessage();
+        }
+    }
+
+    private Response request(String method, String path, String body) throws IOException {
+        // Not disconnected afterwards, so the connection is kept alive for the next request.
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MILLIS);
+        connection.setReadTimeout(READ_TIMEOUT_MILLIS);
+        connection.setRequestMethod(method);
+        if (body != null) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json; charset=utf-8");
+            connection.setFixedLengthStreamingMode(bytes.length);
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(bytes);
+            }
+        }
+        int status = connection.getResponseCode();
+        InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream();
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        if (in != null) {
+            try (InputStream stream = in) {
+                stream.transferTo(content);
+            }
+        }
+        String text = content.toString(StandardCharsets.UTF_8);
+        return new Response(status, text.isEmpty() ? null : Json.parse(text));
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static final class Response {
+        final int status;
+        final Object json;
+
+        Response(int status, Object json) {
+            this.status = status;
+            this.json = json;
+        }
+
+        String errorMessage() {
+            if (json instanceof Map && ((Map<?, ?>) json).get("error") != null) {
+                return ((Map<?, ?>) json).get("error").toString();
+            }
+            return "Inventory service returned HTTP " + status + ".";
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package control;
+
+import util.DatabaseConnector;
+import util.IsoDates;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of the Supplier and SupplyItem tables, written next to the
+ * database file on clean shutdown and memory-mapped on the next start so the inventory
+ * and supplier screens can be filled without loading the Access file.
+ * <p>
+ * Layout (big-endian): a fixed header (magic, format version, length and last-modified
+ * time of the database file, row counts, dictionary size, CRC32 of the body), then a
+ * UTF-8 string dictionary, then one fixed-width int column per field. Strings are stored
+ * as dictionary ids ({@code -1} = null) and dates as epoch days ({@link #NULL_DATE} = none).
+ * <p>
+ * A snapshot is only used while the database file still has the length and modification
+ * time recorded in its header; any write to the database makes it stale and callers fall
+ * back to the controllers.
+ */
+public class InventorySnapshot {
+
+    public static final String FILE_SUFFIX = ".snapshot";
+    public static final int NULL_DATE = Integer.MIN_VALUE;
+
+    private static final int MAGIC = 0x44435350; // "DCSP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4 + 4 + 8;
+    private static final int NULL_ID = -1;
+
+    private static InventorySnapshot cachedSnapshot;
+
+    private final long dbFileLength;
+    private final long dbLastModified;
+    private final String[] dictionary;
+    private final int supplierCount;
+    private final int itemCount;
+    private final int[] supplierCodeIds;
+    private final int[] supplierNameIds;
+    private final int[] supplierRecentSupplyDays;
+    private final int[] itemBarcodeIds;
+    private final int[] itemTitleIds;
+    private final int[] itemDetailsIds;
+    private final int[] itemCategoryIds;
+    private final int[] itemSupplierCodeIds;
+    private final int[] itemAvailableUnits;
+    private final int[] itemThresholdStock;
+    private final int[] itemExpirationDays;
+
+    private InventorySnapshot(long dbFileLength, long dbLastModified, String[] dictionary,
+                              int supplierCount, int itemCount, IntBuffer columns) {
+        this.dbFileLength = dbFileLength;
+        this.dbLastModified = dbLastModified;
+        this.dictionary = dictionary;
+        this.supplierCount = supplierCount;
+        this.itemCount = itemCount;
+        this.supplierCodeIds = readColumn(columns, supplierCount);
+        this.supplierNameIds = readColumn(columns, supplierCount);
+        this.supplierRecentSupplyDays = readColumn(columns, supplierCount);
+        this.itemBarcodeIds = readColumn(columns, itemCount);
+        this.itemTitleIds = readColumn(columns, itemCount);
+        this.itemDetailsIds = readColumn(columns, itemCount);
+        this.itemCategoryIds = readColumn(columns, itemCount);
+        this.itemSupplierCodeIds = readColumn(columns, itemCount);
+        this.itemAvailableUnits = readColumn(columns, itemCount);
+        this.itemThresholdStock = readColumn(columns, itemCount);
+        this.itemExpirationDays = readColumn(columns, itemCount);
+    }
+
+    private static int[] readColumn(IntBuffer columns, int length) {
+        int[] column = new int[length];
+        columns.get(column);
+        return column;
+    }
+
+    // --- Accessors (rows are in supplierName / productTitle order, like the controllers) ---
+
+    public int getSupplierCount() {
+        return supplierCount;
+    }
+
+    public String getSupplierCode(int row) {
+        return lookup(supplierCodeIds[row]);
+    }
+
+    public String getSupplierName(int row) {
+        return lookup(supplierNameIds[row]);
+    }
+
+    public LocalDate getRecentSupplyDate(int row) {
+        return toDate(supplierRecentSupplyDays[row]);
+    }
+
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    public String getBarcode(int row) {
+        return lookup(itemBarcodeIds[row]);
+    }
+
+    public String getProductTitle(int row) {
+        return lookup(itemTitleIds[row]);
+    }
+
+    public String getProductDetails(int row) {
+        return lookup(itemDetailsIds[row]);
+    }
+
+    public String getCategory(int row) {
+        return lookup(itemCategoryIds[row]);
+    }
+
+    public String getSupplierCodeOfItem(int row) {
+        return lookup(itemSupplierCodeIds[row]);
+    }
+
+    public int getAvailableUnits(int row) {
+        return itemAvailableUnits[row];
+    }
+
+    public int getThresholdStock(int row) {
+        return itemThresholdStock[row];
+    }
+
+    public LocalDate getExpirationDate(int row) {
+        return toDate(itemExpirationDays[row]);
+    }
+
+    /**
+     * @return The expiration date as epoch day, or {@link #NULL_DATE}.
+     */
+    public int getExpirationEpochDay(int row) {
+        return itemExpirationDays[row];
+    }
+
+    private String lookup(int id) {
+        return id == NULL_ID ? null : dictionary[id];
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private boolean matches(File dbFile) {
+        return dbFile.length() == dbFileLength && dbFile.lastModified() == dbLastModified;
+    }
+
+    // --- Loading ---
+
+    /**
+     * Returns the snapshot of the current database if one exists and is still valid.
+     * Queued write-behind updates are not in the file yet, so its stamp cannot show them;
+     * while any are waiting there is no valid snapshot.
+     *
+     * @return The snapshot, or null if the caller must read from the database.
+     */
+    public static synchronized InventorySnapshot loadCurrent() {
+        if (WriteBehindQueue.getInstance().hasPendingWrites()) {
+            return null;
+        }
+        File dbFile = new File(DatabaseConnector.getDatabaseFilePath());
+        if (!dbFile.isFile()) {
+            return null;
+        }
+        if (cachedSnapshot != null) {
+            if (cachedSnapshot.matches(dbFile)) {
+                return cachedSnapshot;
+            }
+            cachedSnapshot = null;
+        }
+        Path snapshotFile = snapshotPathFor(dbFile);
+        if (!Files.isRegularFile(snapshotFile)) {
+            return null;
+        }
+        try {
+            InventorySnapshot snapshot = read(snapshotFile);
+            if (snapshot == null || !snapshot.matches(dbFile)) {
+                return null;
+            }
+            cachedSnapshot = snapshot;
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("WARNING: Ignoring unreadable inventory snapshot '" + snapshotFile + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static InventorySnapshot read(Path snapshotFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            long dbFileLength = buffer.getLong();
+            long dbLastModified = buffer.getLong();
+            int supplierCount = buffer.getInt();
+            int itemCount = buffer.getInt();
+            int dictionarySize = buffer.getInt();
+            long expectedCrc = buffer.getLong();
+
+            ByteBuffer body = buffer.slice();
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != expectedCrc) {
+                System.err.println("WARNING: Inventory snapshot checksum mismatch, ignoring it.");
+                return null;
+            }
+
+            String[] dictionary = new String[dictionarySize];
+            byte[] scratch = new byte[256];
+            for (int i = 0; i < dictionarySize; i++) {
+                int byteLength = body.getInt();
+                if (byteLength > scratch.length) {
+                    scratch = new byte[Math.max(byteLength, scratch.length * 2)];
+                }
+                body.get(scratch, 0, byteLength);
+                dictionary[i] = new String(scratch, 0, byteLength, StandardCharsets.UTF_8);
+            }
+            return new InventorySnapshot(dbFileLength, dbLastModified, dictionary, supplierCount, itemCount, body.slice().asIntBuffer());
+        }
+    }
+
+    // --- Writing ---
+
+    /**
+     * Writes a fresh snapshot of the current database, replacing any previous one.
+     * Meant to be called on clean shutdown, after all writes have been committed.
+     *
+     * @return null on success, otherwise an error message.
+     */
+    public static String writeCurrent() {
+        WriteBehindQueue.getInstance().flushIfPending();
+        File dbFile = new File(DatabaseConnector.getDatabaseFilePath());
+        if (!dbFile.isFile()) {
+            return "Database file not found: " + dbFile;
+        }
+        Path snapshotFile = snapshotPathFor(dbFile);
+        try {
+            write(snapshotFile, dbFile);
+            return null;
+        } catch (SQLException | IOException e) {
+            e.printStackTrace();
+            return "Error writing inventory snapshot '" + snapshotFile + "': " + e.getMessage();
+        }
+    }
+
+    private static void write(Path snapshotFile, File dbFile) throws SQLException, IOException {
+        Map<String, Integer> dictionaryIds = new HashMap<>();
+        IntColumn[] supplierColumns = { new IntColumn(), new IntColumn(), new IntColumn() };
+        IntColumn[] itemColumns = { new IntColumn(), new IntColumn(), new IntColumn(), new IntColumn(),
+                                    new IntColumn(), new IntColumn(), new IntColumn(), new IntColumn() };
+
+        try (Connection conn = DatabaseConnector.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(ExportController.FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery("SELECT supplierCode, supplierName, recentSupplyDate FROM Supplier ORDER BY supplierName")) {
+                while (rs.next()) {
+                    supplierColumns[0].add(idOf(dictionaryIds, rs.getString(1)));
+                    supplierColumns[1].add(idOf(dictionaryIds, rs.getString(2)));
+                    java.sql.Date dbDate = rs.getDate(3);
+                    supplierColumns[2].add(dbDate != null ? (int) dbDate.toLocalDate().toEpochDay() : NULL_DATE);
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT barcode, productTitle, productDetails, category, " +
+                                                  "availableUnits, expirationDate, thresholdStock, supplierCode " +
+                                                  "FROM SupplyItem ORDER BY productTitle")) {
+                while (rs.next()) {
+                    itemColumns[0].add(idOf(dictionaryIds, rs.getString(1)));
+                    itemColumns[1].add(idOf(dictionaryIds, rs.getString(2)));
+                    itemColumns[2].add(idOf(dictionaryIds, rs.getString(3)));
+                    itemColumns[3].add(idOf(dictionaryIds, rs.getString(4)));
+                    itemColumns[4].add(idOf(dictionaryIds, rs.getString(8)));
+                    itemColumns[5].add(rs.getInt(5));
+                    itemColumns[6].add(rs.getInt(7));
+                    LocalDate expirationDate = IsoDates.parseOrNull(rs.getString(6));
+                    itemColumns[7].add(expirationDate != null ? (int) expirationDate.toEpochDay() : NULL_DATE);
+                }
+            }
+        }
+        // Stamp after reading: everything read above is committed data that is already in the file.
+        long dbFileLength = dbFile.length();
+        long dbLastModified = dbFile.lastModified();
+
+        String[] dictionary = new String[dictionaryIds.size()];
+        for (Map.Entry<String, Integer> entry : dictionaryIds.entrySet()) {
+            dictionary[entry.getValue()] = entry.getKey();
+        }
+        byte[][] encoded = new byte[dictionary.length][];
+        long dictionaryBytes = 0;
+        for (int i = 0; i < dictionary.length; i++) {
+            encoded[i] = dictionary[i].getBytes(StandardCharsets.UTF_8);
+            dictionaryBytes += 4 + encoded[i].length;
+        }
+        int supplierCount = supplierColumns[0].size;
+        int itemCount = itemColumns[0].size;
+        long bodySize = dictionaryBytes + 4L * (3L * supplierCount + 8L * itemCount);
+        if (HEADER_SIZE + bodySize > Integer.MAX_VALUE) {
+            throw new IOException("Inventory too large for a snapshot (" + bodySize + " bytes).");
+        }
+
+        ByteBuffer body = ByteBuffer.allocate((int) bodySize);
+        for (byte[] bytes : encoded) {
+            body.putInt(bytes.length);
+            body.put(bytes);
+        }
+        IntBuffer columns = body.asIntBuffer();
+        for (IntColumn column : supplierColumns) {
+            columns.put(column.values, 0, column.size);
+        }
+        for (IntColumn column : itemColumns) {
+            columns.put(column.values, 0, column.size);
+        }
+        body.position(0);
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(dbFileLength).putLong(dbLastModified)
+              .putInt(supplierCount).putInt(itemCount).putInt(dictionary.length).putLong(crc.getValue());
+        header.flip();
+
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            channel.force(true);
+        }
+        Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        synchronized (InventorySnapshot.class) {
+            cachedSnapshot = null;
+        }
+    }
+
+    private static int idOf(Map<String, Integer> dictionaryIds, String value) {
+        if (value == null) {
+            return NULL_ID;
+        }
+        Integer id = dictionaryIds.get(value);
+        if (id == null) {
+            id = dictionaryIds.size();
+            dictionaryIds.put(value, id);
+        }
+        return id;
+    }
+
+    private static Path snapshotPathFor(File dbFile) {
+        return Paths.get(dbFile.getPath() + FILE_SUFFIX);
+    }
+
+    private static class IntColumn {
+        int[] values = new int[1024];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package control;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable dashboard figures for the whole inventory as of one day: totals per category
+ * and per supplier, expiry buckets, stock-out risk and supplier coverage.
+ * Produced by {@link InventoryAnalyticsController}.
+ */
+public class InventorySummary {
+
+    // Expiry bucket layout shared with the producers.
+    static final int EXPIRED = 0;
+    static final int WITHIN_7_DAYS = 1;
+    static final int WITHIN_30_DAYS = 2;
+    static final int WITHIN_90_DAYS = 3;
+    static final int LATER = 4;
+    static final int NO_EXPIRATION = 5;
+    static final int EXPIRY_BUCKET_COUNT = 6;
+
+    /** Item count and unit total of one category or supplier. */
+    public static class GroupTotals {
+        private final int itemCount;
+        private final long units;
+
+        GroupTotals(int itemCount, long units) {
+            this.itemCount = itemCount;
+            this.units = units;
+        }
+
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        public long getUnits() {
+            return units;
+        }
+    }
+
+    private final LocalDate asOf;
+    private final long sourceVersion;
+    private final String source;
+    private final int totalItems;
+    private final long totalUnits;
+    private final Map<String, GroupTotals> byCategory;
+    private final Map<String, GroupTotals> bySupplier;
+    private final int[] expiryBuckets;
+    private final int outOfStockCount;
+    private final int belowThresholdCount;
+    private final int supplierCount;
+    private final int suppliersWithItems;
+    private final int itemsWithoutSupplier;
+    private final long computeMillis;
+
+    InventorySummary(LocalDate asOf, long sourceVersion, String source, int totalItems, long totalUnits,
+                     Map<String, GroupTotals> byCategory, Map<String, GroupTotals> bySupplier,
+                     int[] expiryBuckets, int outOfStockCount, int belowThresholdCount,
+                     int supplierCount, int suppliersWithItems, int itemsWithoutSupplier, long computeMillis) {
+        this.asOf = asOf;
+        this.sourceVersion = sourceVersion;
+        this.source = source;
+        this.totalItems = totalItems;
+        this.totalUnits = totalUnits;
+        this.byCategory = Collections.unmodifiableMap(byCategory);
+        this.bySupplier = Collections.unmodifiableMap(bySupplier);
+        this.expiryBuckets = expiryBuckets.clone();
+        this.outOfStockCount = outOfStockCount;
+        this.belowThresholdCount = belowThresholdCount;
+        this.supplierCount = supplierCount;
+        this.suppliersWithItems = suppliersWithItems;
+        this.itemsWithoutSupplier = itemsWithoutSupplier;
+        this.computeMillis = computeMillis;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    /** Column store version the figures were computed from; -1 when read from the database. */
+    public long getSourceVersion() {
+        return sourceVersion;
+    }
+
+    /** "memory" or "database". */
+    public String getSource() {
+        return source;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public long getTotalUnits() {
+        return totalUnits;
+    }
+
+    /** Totals per category; the null key holds items without a category. */
+    public Map<String, GroupTotals> getByCategory() {
+        return byCategory;
+    }
+
+    /** Totals per supplier code; the null key holds items without a supplier. */
+    public Map<String, GroupTotals> getBySupplier() {
+        return bySupplier;
+    }
+
+    public int getExpiredCount() {
+        return expiryBuckets[EXPIRED];
+    }
+
+    /** Expiring today up to 7 days from now. */
+    public int getExpiringWithin7Days() {
+        return expiryBuckets[WITHIN_7_DAYS];
+    }
+
+    /** Expiring in 8 to 30 days. */
+    public int getExpiringWithin30Days() {
+        return expiryBuckets[WITHIN_30_DAYS];
+    }
+
+    /** Expiring in 31 to 90 days. */
+    public int getExpiringWithin90Days() {
+        return expiryBuckets[WITHIN_90_DAYS];
+    }
+
+    public int getExpiringLater() {
+        return expiryBuckets[LATER];
+    }
+
+    public int getWithoutExpirationCount() {
+        return expiryBuckets[NO_EXPIRATION];
+    }
+
+    /** Items with no units left. */
+    public int getOutOfStockCount() {
+        return outOfStockCount;
+    }
+
+    /** Items still in stock but at or below their (positive) threshold. */
+    public int getBelowThresholdCount() {
+        return belowThresholdCount;
+    }
+
+    public int getSupplierCount() {
+        return supplierCount;
+    }
+
+    /** Suppliers that supply at least one item in the inventory. */
+    public int getSuppliersWithItems() {
+        return suppliersWithItems;
+    }
+
+    public int getItemsWithoutSupplier() {
+        return itemsWithoutSupplier;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+}
@@ -0,0 +1,222 @@
+package control;
+
+import entity.SupplyItem;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Multi-clinic mode: each clinic's database is registered as a {@link ClinicShard}, and
+ * lookups run on all shards in parallel. Every query returns one {@link ShardResult} per
+ * clinic, in registration order, with its latency; a clinic that does not answer within
+ * the timeout is reported as {@link ShardResult.Status#TIMEOUT} without holding up the others,
+ * and its connection is closed so the abandoned query does not keep running; the next query
+ * on that clinic reconnects.
+ */
+public class MultiClinicController implements AutoCloseable {
+
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+
+    private final Map<String, ClinicShard> shards = new LinkedHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "clinic-shard-query");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+
+    /**
+     * One clinic's item in a merged result.
+     */
+    public static final class ClinicItem {
+        private final String clinic;
+        private final SupplyItem item;
+
+        ClinicItem(String clinic, SupplyItem item) {
+            this.clinic = clinic;
+            this.item = item;
+        }
+
+        public String getClinic() {
+            return clinic;
+        }
+
+        public SupplyItem getItem() {
+            return item;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ShardQuery<T> {
+        T run(ClinicShard shard, int timeoutSeconds) throws SQLException;
+    }
+
+    /**
+     * Registers a clinic's database.
+     *
+     * @return null on success, or an error message.
+     */
+    public synchronized String registerClinic(String name, String dbFilePath) {
+        if (name == null || name.trim().isEmpty()) {
+            return "Clinic name cannot be empty.";
+        }
+        if (shards.containsKey(name)) {
+            return "Clinic '" + name + "' is already registered.";
+        }
+        if (dbFilePath == null || !new File(dbFilePath).isFile()) {
+            return "Database file of clinic '" + name + "' not found: " + dbFilePath;
+        }
+        shards.put(name, new ClinicShard(name, dbFilePath));
+        return null;
+    }
+
+    public synchronized String unregisterClinic(String name) {
+        ClinicShard shard = shards.remove(name);
+        if (shard == null) {
+            return "Clinic '" + name + "' is not registered.";
+        }
+        shard.close();
+        return null;
+    }
+
+    public synchronized List<String> getClinicNames() {
+        return new ArrayList<>(shards.keySet());
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        if (timeoutMillis <= 0) {
+            throw new IllegalArgumentException("Timeout must be positive: " + timeoutMillis);
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @return Per clinic, the item with this barcode (null value if the clinic has none).
+     */
+    public List<ShardResult<SupplyItem>> findBarcode(String barcode) {
+        return fanOut((shard, timeoutSeconds) -> shard.findByBarcode(barcode, timeoutSeconds));
+    }
+
+    /**
+     * @return Per clinic, the items at or below their threshold.
+     */
+    public List<ShardResult<List<SupplyItem>>> findLowStockEverywhere() {
+        return fanOut(ClinicShard::findLowStock);
+    }
+
+    /**
+     * @return Per clinic, the items expiring between today and {@code daysInAdvance} days from now.
+     */
+    public List<ShardResult<List<SupplyItem>>> findExpiringEverywhere(int daysInAdvance) {
+        LocalDate today = LocalDate.now();
+        LocalDate until = today.plusDays(daysInAdvance);
+        return fanOut((shard, timeoutSeconds) -> shard.findExpiringBetween(today, until, timeoutSeconds));
+    }
+
+    /**
+     * Merges the item lists of the clinics that answered.
+     *
+     * @param order Sort order of the merged items, or null to keep them per clinic.
+     */
+    public static List<ClinicItem> mergeItems(List<ShardResult<List<SupplyItem>>> results, Comparator<SupplyItem> order) {
+        List<ClinicItem> merged = new ArrayList<>();
+        for (ShardResult<List<SupplyItem>> result : results) {
+            if (result.isOk()) {
+                for (SupplyItem item : result.getValue()) {
+                    merged.add(new ClinicItem(result.getClinic(), item));
+                }
+            }
+        }
+        if (order != null) {
+            merged.sort(Comparator.comparing(ClinicItem::getItem, order));
+        }
+        return merged;
+    }
+
+    /**
+     * Closes the clinics' connections and stops the query threads.
+     */
+    @Override
+    public synchronized void close() {
+        executor.shutdownNow();
+        for (ClinicShard shard : shards.values()) {
+            shard.close();
+        }
+    }
+
+    private <T> List<ShardResult<T>> fanOut(ShardQuery<T> query) {
+        List<ClinicShard> targets;
+        synchronized (this) {
+            targets = new ArrayList<>(shards.values());
+        }
+        long timeout = timeoutMillis;
+        int timeoutSeconds = (int) Math.max(1, (timeout + 999) / 1000);
+        long startNanos = System.nanoTime();
+        long[] finishedNanos = new long[targets.size()];
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            ClinicShard shard = targets.get(i);
+            int index = i;
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return query.run(shard, timeoutSeconds);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                } finally {
+                    finishedNanos[index] = System.nanoTime();
+                }
+            }, executor));
+        }
+
+        // All shards share one deadline, so a slow clinic costs at most the timeout in total.
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeout);
+        List<ShardResult<T>> results = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            String clinic = targets.get(i).getName();
+            CompletableFuture<T> future = futures.get(i);
+            try {
+                T value = future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                results.add(new ShardResult<>(clinic, ShardResult.Status.OK, value, latencyMillis(startNanos, finishedNanos[i]), null));
+            } catch (TimeoutException e) {
+                // Cancelling a CompletableFuture does not interrupt its thread; closing the
+                // clinic's connection makes the running query fail and frees the thread.
+                future.cancel(true);
+                targets.get(i).close();
+                results.add(new ShardResult<>(clinic, ShardResult.Status.TIMEOUT, null, timeout,
+                                              "No answer within " + timeout + " ms."));
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                                  ? e.getCause().getCause() : e.getCause();
+                System.err.println("Query on clinic '" + clinic + "' failed: " + cause.getMessage());
+                results.add(new ShardResult<>(clinic, ShardResult.Status.FAILED, null, latencyMillis(startNanos, finishedNanos[i]),
+                                              cause.getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(new ShardResult<>(clinic, ShardResult.Status.FAILED, null, latencyMillis(startNanos, System.nanoTime()),
+                                              "Interrupted."));
+            }
+        }
+        return results;
+    }
+
+    private static long latencyMillis(long startNanos, long endNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, endNanos - startNanos));
+    }
+}
@@ -0,0 +1,33 @@
+package control;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing together with the cursor for the next page.
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final PageCursor nextCursor;
+
+    Page(List<T> items, PageCursor nextCursor) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * @return The cursor for the following page, or null if this is the last page.
+     */
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,119 @@
+package control;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Forward-only position in a keyset-paginated listing ordered by a sort column and a
+ * unique id column, e.g. {@code (productTitle, barcode)}, ascending or descending. A cursor
+ * remembers the key of the last row returned, so the next page is a "seek" past that key
+ * instead of an OFFSET scan over all earlier rows. Immutable.
+ */
+public class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    private final int pageSize;
+    private final boolean first;
+    private final Object lastSortKey; // A String or a number
+    private final String lastId;
+
+    private PageCursor(int pageSize, boolean first, Object lastSortKey, String lastId) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.first = first;
+        this.lastSortKey = lastSortKey;
+        this.lastId = lastId;
+    }
+
+    /**
+     * @return A cursor for the first page.
+     */
+    public static PageCursor first(int pageSize) {
+        return new PageCursor(pageSize, true, null, null);
+    }
+
+    public static PageCursor first() {
+        return first(DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @return A cursor for the page after the row with the given sort key and id.
+     */
+    public static PageCursor after(String lastSortKey, String lastId, int pageSize) {
+        return new PageCursor(pageSize, false, lastSortKey, lastId);
+    }
+
+    /**
+     * Like {@link #after(String, String, int)}, for a sort column of another type (e.g. a number).
+     */
+    public static PageCursor after(Object lastSortKey, String lastId, int pageSize) {
+        return new PageCursor(pageSize, false, lastSortKey, lastId);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isFirst() {
+        return first;
+    }
+
+    public Object getLastSortKey() {
+        return lastSortKey;
+    }
+
+    public String getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Builds the seek condition for {@code ORDER BY sortColumn, idColumn}, or null for the
+     * first page. NULL sort keys sort first, as in HSQLDB, and are handled explicitly so
+     * rows without a sort key are neither skipped nor repeated.
+     */
+    String seekCondition(String sortColumn, String idColumn) {
+        return seekCondition(sortColumn, idColumn, false);
+    }
+
+    /**
+     * Like {@link #seekCondition(String, String)}, for {@code ORDER BY sortColumn DESC NULLS LAST,
+     * idColumn DESC} if {@code descending}.
+     */
+    String seekCondition(String sortColumn, String idColumn, boolean descending) {
+        if (first) {
+            return null;
+        }
+        if (!descending) {
+            if (lastSortKey == null) {
+                return "((" + sortColumn + " IS NULL AND " + idColumn + " > ?) OR " + sortColumn + " IS NOT NULL)";
+            }
+            return "(" + sortColumn + " > ? OR (" + sortColumn + " = ? AND " + idColumn + " > ?))";
+        }
+        if (lastSortKey == null) {
+            return "(" + sortColumn + " IS NULL AND " + idColumn + " < ?)";
+        }
+        return "(" + sortColumn + " < ? OR (" + sortColumn + " = ? AND " + idColumn + " < ?) OR " + sortColumn + " IS NULL)";
+    }
+
+    /**
+     * Binds the parameters of {@link #seekCondition(String, String, boolean)} starting at the given index.
+     *
+     * @return The next free parameter index.
+     */
+    int bindSeekParameters(PreparedStatement pstmt, int index) throws SQLException {
+        if (first) {
+            return index;
+        }
+        if (lastSortKey == null) {
+            pstmt.setString(index++, lastId);
+            return index;
+        }
+        pstmt.setObject(index++, lastSortKey);
+        pstmt.setObject(index++, lastSortKey);
+        pstmt.setString(index++, lastId);
+        return index;
+    }
+}
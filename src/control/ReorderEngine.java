@@ -0,0 +1,249 @@
+package control;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Reorder suggestions from actual consumption instead of the static threshold alone.
+ * <p>
+ * Every stock decrease in the {@link AuditTrail} (consumption, or an update lowering the
+ * units) counts as consumption on its day. Per item, the daily totals feed an
+ * exponentially weighted moving average with weight {@value #ALPHA} for the newest day;
+ * days without consumption count as zero, and so do the days before an item's first
+ * consumption, up to {@value #MIN_HISTORY_DAYS} days, so one busy day is not taken for the
+ * norm. The engine reads the trail once and then
+ * follows each batch the trail writes, so its rates stay current without rereading.
+ * <p>
+ * An item is due when its stock does not cover {@value #LEAD_TIME_DAYS} days of
+ * consumption plus its threshold, which now serves as safety stock. The suggested
+ * quantity brings it up to {@value #COVERAGE_DAYS} days beyond the lead time plus the
+ * safety stock. Items without recorded consumption fall back to the threshold rule and
+ * are topped up to twice their threshold.
+ */
+public class ReorderEngine {
+
+    static final double ALPHA = 0.1;
+    static final int LEAD_TIME_DAYS = 7;
+    static final int COVERAGE_DAYS = 30;
+    static final int MIN_HISTORY_DAYS = 7;
+
+    private static final ReorderEngine INSTANCE = new ReorderEngine();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, ConsumptionRate> rates = new HashMap<>(); // Guarded by lock
+    private final AuditTrail.Listener listener = this::apply;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private volatile long version = 0;
+    private boolean loaded = false; // Guarded by this
+
+    // Last result, reused while neither the rates, the stock nor the day changed.
+    private List<ReorderSuggestion> cachedSuggestions; // Guarded by this
+    private long cachedKey = -1;
+    private long cachedStoreVersion = -1;
+    private long cachedDay = -1;
+
+    /**
+     * Consumption history of one item: the average through the last closed day plus the
+     * units of the day still open.
+     */
+    static final class ConsumptionRate {
+        private static final long NONE = Long.MIN_VALUE;
+
+        private long firstDay = NONE;
+        private long openDay;
+        private double openUnits;
+        private double closedAverage;
+
+        void add(long day, double units) {
+            if (firstDay == NONE) {
+                firstDay = day;
+                openDay = day;
+            } else if (day > openDay) {
+                closedAverage = ALPHA * openUnits + (1 - ALPHA) * closedAverage;
+                closedAverage *= Math.pow(1 - ALPHA, day - openDay - 1);
+                openDay = day;
+                openUnits = 0;
+            }
+            // Late entries of an earlier day count for the open day.
+            openUnits += units;
+        }
+
+        /**
+         * @return Units per day as of the given day; today counts only while it is the open
+         *         day, since its consumption so far is incomplete otherwise.
+         */
+        double dailyRate(long today) {
+            if (firstDay == NONE) {
+                return 0;
+            }
+            long lastDay = today > openDay ? today - 1 : openDay;
+            double average = ALPHA * openUnits + (1 - ALPHA) * closedAverage;
+            average *= Math.pow(1 - ALPHA, lastDay - openDay);
+            // The average starts at zero; dividing by the total weight so far removes that bias.
+            long days = Math.max(lastDay - firstDay + 1, MIN_HISTORY_DAYS);
+            return average / (1 - Math.pow(1 - ALPHA, days));
+        }
+    }
+
+    private ReorderEngine() {
+    }
+
+    public static ReorderEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return Items due for reordering, soonest stockout first.
+     */
+    public synchronized List<ReorderSuggestion> suggestReorders(LocalDate today) {
+        ensureLoaded();
+        InventoryColumnStore columnStore = InventoryColumnStore.getInstance();
+        if (!columnStore.ensureLoaded()) {
+            return new ArrayList<>();
+        }
+        long day = today.toEpochDay();
+        long storeVersion = columnStore.getVersion();
+        long key = version;
+        if (cachedSuggestions == null || cachedKey != key || cachedStoreVersion != storeVersion || cachedDay != day) {
+            cachedSuggestions = Collections.unmodifiableList(suggest(columnStore.copyStockColumns(), day));
+            cachedKey = key;
+            cachedStoreVersion = storeVersion;
+            cachedDay = day;
+        }
+        return cachedSuggestions;
+    }
+
+    /**
+     * @return The suggestions grouped by supplier code, in code order; items without a
+     *         supplier last, under null.
+     */
+    public Map<String, List<ReorderSuggestion>> suggestReordersBySupplier(LocalDate today) {
+        List<ReorderSuggestion> suggestions = new ArrayList<>(suggestReorders(today));
+        suggestions.sort(Comparator.comparing(ReorderSuggestion::getSupplierCode, Comparator.nullsLast(Comparator.naturalOrder())));
+        // The sort is stable, so each supplier's items stay in stockout order.
+        Map<String, List<ReorderSuggestion>> bySupplier = new LinkedHashMap<>();
+        for (ReorderSuggestion suggestion : suggestions) {
+            bySupplier.computeIfAbsent(suggestion.getSupplierCode(), code -> new ArrayList<>()).add(suggestion);
+        }
+        return bySupplier;
+    }
+
+    /**
+     * @return The item's exponentially weighted consumption per day; 0 without history.
+     */
+    public double getDailyConsumption(String barcode, LocalDate today) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            ConsumptionRate rate = rates.get(barcode);
+            return rate != null ? rate.dailyRate(today.toEpochDay()) : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private synchronized void ensureLoaded() {
+        if (!loaded) {
+            AuditTrail.getInstance().replayAndListen(listener);
+            loaded = true;
+        }
+    }
+
+    /**
+     * Applies a batch of audit entries to the rates.
+     */
+    void apply(List<AuditEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            for (AuditEntry entry : entries) {
+                if (entry.getEntityType() != AuditEntry.EntityType.SUPPLY_ITEM || entry.getKey() == null) {
+                    continue;
+                }
+                if (entry.getAction() == AuditEntry.Action.DELETE) {
+                    rates.remove(entry.getKey());
+                    continue;
+                }
+                if (entry.getAction() != AuditEntry.Action.CONSUME && entry.getAction() != AuditEntry.Action.UPDATE) {
+                    continue;
+                }
+                long consumed = unitsOf(entry.getBefore()) - unitsOf(entry.getAfter());
+                if (entry.getBefore() != null && entry.getAfter() != null && consumed > 0) {
+                    long day = entry.getTimestamp().atZone(zone).toLocalDate().toEpochDay();
+                    rates.computeIfAbsent(entry.getKey(), barcode -> new ConsumptionRate()).add(day, consumed);
+                }
+            }
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long unitsOf(Map<String, Object> image) {
+        Object units = image != null ? image.get("availableUnits") : null;
+        return units instanceof Number ? ((Number) units).longValue() : 0;
+    }
+
+    /**
+     * Computes the suggestions for the given stock, in parallel chunks for large catalogs.
+     */
+    List<ReorderSuggestion> suggest(InventoryColumnStore.StockColumns columns, long today) {
+        lock.readLock().lock();
+        try {
+            final int rows = columns.size;
+            List<ReorderSuggestion> suggestions;
+            if (rows < InventoryColumnStore.PARALLEL_THRESHOLD) {
+                suggestions = suggestRange(columns, today, 0, rows);
+            } else {
+                final int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+                suggestions = IntStream.range(0, chunks).parallel()
+                        .mapToObj(chunk -> suggestRange(columns, today, (int) ((long) rows * chunk / chunks),
+                                                        (int) ((long) rows * (chunk + 1) / chunks)))
+                        .flatMap(List::stream)
+                        .collect(Collectors.toList());
+            }
+            suggestions.sort(Comparator.comparingDouble(ReorderSuggestion::getDaysUntilStockout)
+                                       .thenComparing(ReorderSuggestion::getBarcode));
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Called with the read lock held by the thread that started the scan.
+    private List<ReorderSuggestion> suggestRange(InventoryColumnStore.StockColumns columns, long today, int from, int to) {
+        List<ReorderSuggestion> suggestions = new ArrayList<>();
+        for (int row = from; row < to; row++) {
+            int units = columns.availableUnits[row];
+            int safetyStock = Math.max(0, columns.thresholdStock[row]);
+            ConsumptionRate rate = rates.get(columns.barcodes[row]);
+            if (rate == null) {
+                if (safetyStock > 0 && units <= safetyStock) {
+                    suggestions.add(new ReorderSuggestion(columns.barcodes[row], columns.supplierCodes[row], units, 0,
+                                                          Double.POSITIVE_INFINITY, 2 * safetyStock - units, false));
+                }
+                continue;
+            }
+            double daily = rate.dailyRate(today);
+            double reorderPoint = daily * LEAD_TIME_DAYS + safetyStock;
+            if (units > reorderPoint || (daily == 0 && safetyStock == 0)) {
+                continue;
+            }
+            int quantity = (int) Math.max(1, Math.ceil(daily * (LEAD_TIME_DAYS + COVERAGE_DAYS) + safetyStock - units));
+            double daysUntilStockout = daily > 0 ? Math.max(0, units) / daily : Double.POSITIVE_INFINITY;
+            suggestions.add(new ReorderSuggestion(columns.barcodes[row], columns.supplierCodes[row], units, daily,
+                                                  daysUntilStockout, quantity, true));
+        }
+        return suggestions;
+    }
+}
@@ -0,0 +1,74 @@
+package control;
+
+/**
+ * A proposed reorder of one supply item, made by the {@link ReorderEngine}.
+ */
+public class ReorderSuggestion {
+
+    private final String barcode;
+    private final String supplierCode;
+    private final int availableUnits;
+    private final double dailyConsumption;
+    private final double daysUntilStockout;
+    private final int reorderQuantity;
+    private final boolean basedOnConsumption;
+
+    ReorderSuggestion(String barcode, String supplierCode, int availableUnits, double dailyConsumption,
+                      double daysUntilStockout, int reorderQuantity, boolean basedOnConsumption) {
+        this.barcode = barcode;
+        this.supplierCode = supplierCode;
+        this.availableUnits = availableUnits;
+        this.dailyConsumption = dailyConsumption;
+        this.daysUntilStockout = daysUntilStockout;
+        this.reorderQuantity = reorderQuantity;
+        this.basedOnConsumption = basedOnConsumption;
+    }
+
+    public String getBarcode() {
+        return barcode;
+    }
+
+    /**
+     * @return The supplier to order from, or null if the item has none.
+     */
+    public String getSupplierCode() {
+        return supplierCode;
+    }
+
+    public int getAvailableUnits() {
+        return availableUnits;
+    }
+
+    /**
+     * @return Exponentially weighted units consumed per day; 0 without consumption history.
+     */
+    public double getDailyConsumption() {
+        return dailyConsumption;
+    }
+
+    /**
+     * @return Days until the stock runs out at the current rate; infinite without consumption.
+     */
+    public double getDaysUntilStockout() {
+        return daysUntilStockout;
+    }
+
+    public int getReorderQuantity() {
+        return reorderQuantity;
+    }
+
+    /**
+     * @return True if the suggestion comes from the consumption rate; false if it only
+     *         falls back to the item's static threshold.
+     */
+    public boolean isBasedOnConsumption() {
+        return basedOnConsumption;
+    }
+
+    @Override
+    public String toString() {
+        return "ReorderSuggestion{barcode='" + barcode + "', supplierCode='" + supplierCode + "', availableUnits=" + availableUnits +
+               ", dailyConsumption=" + dailyConsumption + ", daysUntilStockout=" + daysUntilStockout +
+               ", reorderQuantity=" + reorderQuantity + "}";
+    }
+}
@@ -0,0 +1,68 @@
+package control;
+
+/**
+ * Outcome of one clinic's part of a {@link MultiClinicController} query.
+ *
+ * @param <T> The clinic's answer, e.g. a list of items.
+ */
+public class ShardResult<T> {
+
+    public enum Status {
+        /** The clinic answered; see {@link #getValue()}. */
+        OK,
+        /** The clinic did not answer within the timeout. */
+        TIMEOUT,
+        /** The clinic's database could not be opened or queried; see {@link #getErrorMessage()}. */
+        FAILED
+    }
+
+    private final String clinic;
+    private final Status status;
+    private final T value;
+    private final long latencyMillis;
+    private final String errorMessage;
+
+    ShardResult(String clinic, Status status, T value, long latencyMillis, String errorMessage) {
+        this.clinic = clinic;
+        this.status = status;
+        this.value = value;
+        this.latencyMillis = latencyMillis;
+        this.errorMessage = errorMessage;
+    }
+
+    public String getClinic() {
+        return clinic;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isOk() {
+        return status == Status.OK;
+    }
+
+    /**
+     * @return The clinic's answer if {@link #isOk()}, otherwise null.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return Time from submitting the query until it answered, failed or timed out.
+     */
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardResult{clinic='" + clinic + "', status=" + status + ", latencyMillis=" + latencyMillis +
+               (errorMessage != null ? ", error='" + errorMessage + "'" : "") + "}";
+    }
+}
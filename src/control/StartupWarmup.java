@@ -0,0 +1,148 @@
+package control;
+
+import util.DatabaseConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Does the slow first-use work of the database on background threads while the splash
+ * screen is up: loading the UCanAccess driver and opening the connection (which mirrors
+ * the Access file), optionally starting the {@link WriteBehindQueue} (whose journal replay
+ * writes to the database), then, in parallel, running each hot statement once so its
+ * classes and the mirror's tables are warm, and loading the {@link SupplierDirectory}.
+ * <p>
+ * Screens that need the database wait for {@link #whenReady()} instead of paying for this
+ * on the event dispatch thread.
+ */
+public class StartupWarmup {
+
+    private static final String DRIVER_CLASS = "net.ucanaccess.jdbc.UcanaccessDriver";
+
+    // The statements the first screens run. Parameters are bound to values that match no
+    // rows, so each one is compiled and executed without reading much.
+    private static final String[] HOT_QUERIES = {
+        "SELECT barcode, productTitle, productDetails, category, availableUnits, expirationDate, thresholdStock, supplierCode " +
+            "FROM SupplyItem ORDER BY productTitle, barcode",
+        "SELECT barcode, productTitle, productDetails, category, availableUnits, expirationDate, thresholdStock, supplierCode " +
+            "FROM SupplyItem WHERE barcode = ?",
+        "SELECT COUNT(*) FROM SupplyItem",
+        "SELECT supplierCode, supplierName, recentSupplyDate FROM Supplier WHERE supplierCode = ?",
+        "SELECT supplierCode, supplierName, recentSupplyDate FROM Supplier ORDER BY supplierName, supplierCode",
+    };
+
+    private static volatile CompletableFuture<Void> ready;
+
+    private StartupWarmup() {
+    }
+
+    /**
+     * Starts the warm-up unless it already ran.
+     *
+     * @param progress Receives a short description of each step as it starts, on a
+     *                 background thread; may be null.
+     * @return A future completed when the warm-up is done (exceptionally if the database
+     *         could not be opened).
+     */
+    public static CompletableFuture<Void> start(Consumer<String> progress) {
+        return start(progress, false);
+    }
+
+    /**
+     * Like {@link #start(Consumer)}, and starts the {@link WriteBehindQueue} once the
+     * database is open.
+     *
+     * @param writeBehind True to enable write-behind; if it cannot start, a warning is
+     *                    printed and updates are written directly.
+     */
+    public static synchronized CompletableFuture<Void> start(Consumer<String> progress, boolean writeBehind) {
+        if (ready != null) {
+            return ready;
+        }
+        Consumer<String> report = progress != null ? progress : step -> { };
+        ExecutorService executor = Executors.newFixedThreadPool(2, task -> {
+            Thread thread = new Thread(task, "startup-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<Void> connected = CompletableFuture.runAsync(() -> {
+            report.accept("Loading database driver...");
+            loadDriver();
+            report.accept("Opening database...");
+            openConnection();
+            if (writeBehind) {
+                report.accept("Replaying queued updates...");
+                String errorMessage = WriteBehindQueue.getInstance().start();
+                if (errorMessage != null) {
+                    System.err.println("WARNING: Write-behind disabled. " + errorMessage);
+                }
+            }
+        }, executor);
+        CompletableFuture<Void> statements = connected.thenRunAsync(() -> {
+            report.accept("Preparing queries...");
+            runHotQueries();
+        }, executor);
+        CompletableFuture<Void> suppliers = connected.thenRunAsync(() -> {
+            report.accept("Loading suppliers...");
+            SupplierDirectory.getInstance().getSnapshot();
+        }, executor);
+        ready = CompletableFuture.allOf(statements, suppliers).whenComplete((result, error) -> {
+            executor.shutdown();
+            if (error != null) {
+                System.err.println("WARNING: Database warm-up failed: " + error.getMessage());
+            }
+        });
+        return ready;
+    }
+
+    /**
+     * @return The warm-up's future; already complete if the warm-up was never started, so
+     *         callers outside the desktop start-up (e.g. the command line) never wait.
+     */
+    public static CompletableFuture<Void> whenReady() {
+        CompletableFuture<Void> current = ready;
+        return current != null ? current : CompletableFuture.completedFuture(null);
+    }
+
+    private static void loadDriver() {
+        try {
+            Class.forName(DRIVER_CLASS);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Database driver not found: " + DRIVER_CLASS, e);
+        }
+    }
+
+    private static void openConnection() {
+        try {
+            DatabaseConnector.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot open the database: " + e.getMessage(), e);
+        }
+    }
+
+    private static void runHotQueries() {
+        try {
+            Connection conn = DatabaseConnector.getConnection();
+            for (String sql : HOT_QUERIES) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 1; i <= pstmt.getParameterMetaData().getParameterCount(); i++) {
+                        pstmt.setString(i, "");
+                    }
+                    pstmt.setMaxRows(1);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        rs.next();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            // Only a missed optimization; the screens report real database errors themselves.
+            System.err.println("WARNING: Could not warm up queries: " + e.getMessage());
+        }
+    }
+}
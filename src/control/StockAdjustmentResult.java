@@ -0,0 +1,74 @@
+package control;
+
+/**
+ * Outcome of one {@link SupplyItemController#consume(String, int)} or
+ * {@link SupplyItemController#receive(String, int)}.
+ */
+public class StockAdjustmentResult {
+
+    public enum Outcome {
+        /** The stock level was changed. */
+        APPLIED,
+        /** Not enough units to consume; nothing was changed. */
+        INSUFFICIENT_STOCK,
+        /** No item has the barcode. */
+        NOT_FOUND,
+        /** The quantity was not positive. */
+        INVALID_QUANTITY,
+        /** A database error; see {@link #getErrorMessage()}. */
+        FAILED
+    }
+
+    public static final int UNKNOWN_LEVEL = -1;
+
+    private final String barcode;
+    private final int quantity;
+    private final Outcome outcome;
+    private final int newLevel;
+    private final String errorMessage;
+
+    StockAdjustmentResult(String barcode, int quantity, Outcome outcome, int newLevel, String errorMessage) {
+        this.barcode = barcode;
+        this.quantity = quantity;
+        this.outcome = outcome;
+        this.newLevel = newLevel;
+        this.errorMessage = errorMessage;
+    }
+
+    public String getBarcode() {
+        return barcode;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public boolean isApplied() {
+        return outcome == Outcome.APPLIED;
+    }
+
+    /**
+     * @return The stock level after the adjustment, or the unchanged level if it was not
+     *         applied; {@link #UNKNOWN_LEVEL} if the item was not found or the database failed.
+     */
+    public int getNewLevel() {
+        return newLevel;
+    }
+
+    /**
+     * @return A message for the user if the adjustment was not applied, otherwise null.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "StockAdjustmentResult{barcode='" + barcode + "', quantity=" + quantity + ", outcome=" + outcome +
+               ", newLevel=" + newLevel + (errorMessage != null ? ", error='" + errorMessage + "'" : "") + "}";
+    }
+}
@@ -28,31 +28,84 @@ public class SupplierController {
         this.supplyItemController = new SupplyItemController(); 
     }
 
+    /**
+     * @return All suppliers, or an empty list if they could not be read.
+     */
     public List<Supplier> getAllSuppliers() {
+        try {
+            return loadAllSuppliers();
+        } catch (SQLException e) {
+            System.err.println("FATAL DB ERROR fetching all suppliers: " + e.getMessage());
+            e.printStackTrace(); 
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Like {@link #getAllSuppliers()}, but reports a failed read, for callers that keep the
+     * result (e.g. the {@link SupplierDirectory}) and must not keep an empty list.
+     */
+    List<Supplier> loadAllSuppliers() throws SQLException {
         List<Supplier> suppliers = new ArrayList<>();
         String sql = "SELECT supplierCode, supplierName, recentSupplyDate FROM Supplier ORDER BY supplierName"; 
         try (Connection conn = DatabaseConnector.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            SupplierRowMapper mapper = SupplierRowMapper.bind(rs);
             while (rs.next()) {
-                Supplier supplier = new Supplier();
-                supplier.setSupplierCode(rs.getString("supplierCode"));
-                supplier.setSupplierName(rs.getString("supplierName"));
-                java.sql.Date dbDate = rs.getDate("recentSupplyDate");
-                if (dbDate != null) {
-                    supplier.setRecentSupplyDate(dbDate.toLocalDate());
-                } else {
-                    supplier.setRecentSupplyDate(null);
-                }
-                suppliers.add(supplier);
+                suppliers.add(mapRowToSupplierObject(rs, mapper));
             }
-        } catch (SQLException e) {
-            System.err.println("FATAL DB ERROR fetching all suppliers: " + e.getMessage());
-            e.printStackTrace(); 
         }
         return suppliers;
     }
     
+    /**
+     * Returns one page of suppliers ordered by name and code, using keyset pagination.
+     *
+     * @param cursor {@link PageCursor#first(int)} or the previous page's next cursor.
+     */
+    public Page<Supplier> getSuppliersPage(PageCursor cursor) {
+        List<Supplier> suppliers = new ArrayList<>();
+        String seek = cursor.seekCondition("supplierName", "supplierCode");
+        String sql = "SELECT supplierCode, supplierName, recentSupplyDate FROM Supplier " +
+                     (seek != null ? "WHERE " + seek + " " : "") +
+                     "ORDER BY supplierName, supplierCode";
+        boolean hasMore = false;
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            cursor.bindSeekParameters(pstmt, 1);
+            pstmt.setMaxRows(cursor.getPageSize() + 1);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                SupplierRowMapper mapper = SupplierRowMapper.bind(rs);
+                while (rs.next()) {
+                    if (suppliers.size() == cursor.getPageSize()) {
+                        hasMore = true;
+                        break;
+                    }
+                    suppliers.add(mapRowToSupplierObject(rs, mapper));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("FATAL DB ERROR fetching supplier page: " + e.getMessage());
+            e.printStackTrace();
+            suppliers.clear();
+            hasMore = false;
+        }
+        PageCursor nextCursor = null;
+        if (hasMore) {
+            Supplier last = suppliers.get(suppliers.size() - 1);
+            nextCursor = PageCursor.after(last.getSupplierName(), last.getSupplierCode(), cursor.getPageSize());
+        }
+        return new Page<>(suppliers, nextCursor);
+    }
+
+    private Supplier mapRowToSupplierObject(ResultSet rs, SupplierRowMapper mapper) throws SQLException {
+        Supplier supplier = mapper.map(rs);
+        supplier.setSuppliedItemsLoader(supplyItemController::getSupplyItemsBySupplier);
+        supplier.markClean();
+        return supplier;
+    }
+
     public Supplier getSupplierByCode(String supplierCode) {
         Supplier supplier = null;
         if (supplierCode == null || supplierCode.trim().isEmpty()) {
@@ -64,13 +117,7 @@ public class SupplierController {
             pstmt.setString(1, supplierCode);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    supplier = new Supplier();
-                    supplier.setSupplierCode(rs.getString("supplierCode"));
-                    supplier.setSupplierName(rs.getString("supplierName"));
-                    java.sql.Date dbDate = rs.getDate("recentSupplyDate");
-                    if (dbDate != null) {
-                        supplier.setRecentSupplyDate(dbDate.toLocalDate());
-                    }
+                    supplier = mapRowToSupplierObject(rs, SupplierRowMapper.bind(rs));
                 }
             }
         } catch (SQLException e) {
@@ -98,6 +145,11 @@ public class SupplierController {
                 pstmt.setNull(3, Types.DATE);
             }
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                InventoryAnalyticsController.invalidateCache();
+                SupplierDirectory.getInstance().supplierSaved(supplier);
+                AuditTrail.getInstance().supplierAdded(supplier);
+            }
             return (affectedRows > 0) ? null : "Failed to add supplier. No rows affected (unknown database issue).";
         } catch (SQLException e) {
             e.printStackTrace(); 
@@ -109,7 +161,11 @@ public class SupplierController {
         if (supplier == null || supplier.getSupplierCode() == null || supplier.getSupplierCode().trim().isEmpty()) {
             return "Cannot update supplier: supplier data or code is null/empty.";
         }
-        if (getSupplierByCode(supplier.getSupplierCode()) == null) { // Check if supplier exists
+        if (supplier.isTrackingChanges()) {
+            return updateChangedColumns(supplier);
+        }
+        Supplier before = getSupplierByCode(supplier.getSupplierCode());
+        if (before == null) { // Check if supplier exists
             return "Cannot update supplier: Supplier with code '" + supplier.getSupplierCode() + "' not found.";
         }
         String sql = "UPDATE Supplier SET supplierName = ?, recentSupplyDate = ? WHERE supplierCode = ?";
@@ -123,6 +179,10 @@ public class SupplierController {
             }
             pstmt.setString(3, supplier.getSupplierCode()); 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                SupplierDirectory.getInstance().supplierSaved(supplier);
+                AuditTrail.getInstance().supplierUpdated(before, supplier);
+            }
             return (affectedRows > 0) ? null : "Failed to update supplier. Data unchanged or supplier not found.";
         } catch (SQLException e) {
             e.printStackTrace(); 
@@ -130,6 +190,50 @@ public class SupplierController {
         }
     }
 
+    /**
+     * Writes only the changed columns of a supplier read from the database.
+     */
+    private String updateChangedColumns(Supplier supplier) {
+        List<Supplier.Field> fields = new ArrayList<>(supplier.getChangedFields());
+        if (fields.isEmpty()) {
+            return null;
+        }
+        StringBuilder sql = new StringBuilder("UPDATE Supplier SET ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(fields.get(i) == Supplier.Field.SUPPLIER_NAME ? "supplierName" : "recentSupplyDate").append(" = ?");
+        }
+        sql.append(" WHERE supplierCode = ?");
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (Supplier.Field field : fields) {
+                if (field == Supplier.Field.SUPPLIER_NAME) {
+                    pstmt.setString(index, supplier.getSupplierName());
+                } else if (supplier.getRecentSupplyDate() != null) {
+                    pstmt.setDate(index, java.sql.Date.valueOf(supplier.getRecentSupplyDate()));
+                } else {
+                    pstmt.setNull(index, Types.DATE);
+                }
+                index++;
+            }
+            pstmt.setString(index, supplier.getSupplierCode());
+            int affectedRows = pstmt.executeUpdate();
+            if (affectedRows == 0) {
+                return "Cannot update supplier: Supplier with code '" + supplier.getSupplierCode() + "' not found.";
+            }
+            SupplierDirectory.getInstance().supplierSaved(supplier);
+            AuditTrail.getInstance().supplierUpdated(supplier.getOriginal(), supplier);
+            supplier.markClean();
+            return null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return "Database error updating supplier '" + supplier.getSupplierCode() + "': " + e.getMessage();
+        }
+    }
+
     public String deleteSupplier(String supplierCode) {
         if (supplierCode == null || supplierCode.trim().isEmpty()) {
             return "Cannot delete supplier: supplier code is null/empty.";
@@ -140,11 +244,18 @@ public class SupplierController {
         if (supplyItemController.isSupplierReferenced(supplierCode)) {
             return "Cannot delete supplier '" + supplierCode + "': This supplier is referenced by inventory items.";
         }
+        AuditTrail auditTrail = AuditTrail.getInstance();
+        Supplier before = auditTrail.isRunning() ? getSupplierByCode(supplierCode) : null;
         String sql = "DELETE FROM Supplier WHERE supplierCode = ?";
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, supplierCode);
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                InventoryAnalyticsController.invalidateCache();
+                SupplierDirectory.getInstance().supplierRemoved(supplierCode);
+                auditTrail.supplierDeleted(supplierCode, before);
+            }
             return (affectedRows > 0) ? null : "Failed to delete supplier '" + supplierCode + "'. Supplier not found.";
         } catch (SQLException e) {
             e.printStackTrace(); 
@@ -0,0 +1,203 @@
+package control;
+
+import entity.Supplier;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Shared, observable list of all suppliers for pickers, ordered by name and code. It is
+ * read once on first use and then kept current by {@link SupplierController} as suppliers
+ * are added, updated and deleted, so opening a dialog does not query the database.
+ * <p>
+ * Readers get an immutable {@link Snapshot}; every change publishes a new one and notifies
+ * the listeners on the writing thread. A failed read is not kept: readers get an empty
+ * snapshot for the moment, and the next {@link #getSnapshot()} reads again.
+ * <p>
+ * On a desktop connected to an {@link InventoryServer} the list is read from the service
+ * instead, and kept current by the {@link InventoryServiceClient}.
+ */
+public class SupplierDirectory {
+
+    /**
+     * Notified after the supplier list changed. May be called on any thread.
+     */
+    public interface Listener {
+        void suppliersChanged();
+    }
+
+    private static final Comparator<Supplier> ORDER = Comparator
+            .comparing(Supplier::getSupplierName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Supplier::getSupplierCode, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final SupplierDirectory INSTANCE = new SupplierDirectory();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private static final Snapshot EMPTY = new Snapshot(Collections.emptyList());
+
+    private volatile Snapshot snapshot; // Null until loaded
+    private volatile InventoryServiceClient serviceClient; // Null = read the database
+
+    private SupplierDirectory() {
+    }
+
+    public static SupplierDirectory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return The current suppliers, loading them on first use; empty (and not kept) if
+     *         they could not be read.
+     */
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                InventoryServiceClient client = serviceClient;
+                try {
+                    snapshot = new Snapshot(client != null ? client.loadAllSuppliers() : new SupplierController().loadAllSuppliers());
+                } catch (SQLException | IOException | IllegalArgumentException e) {
+                    System.err.println("ERROR: Could not load suppliers: " + e.getMessage());
+                    e.printStackTrace();
+                    return EMPTY;
+                }
+            }
+            return snapshot;
+        }
+    }
+
+
+    /**
+     * Reads the suppliers from the given service from now on; the current list is dropped.
+     */
+    public void useService(InventoryServiceClient client) {
+        serviceClient = client;
+        invalidate();
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Drops the list, e.g. after an import rolled back; it is read again on next use.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            snapshot = null;
+        }
+        fireChanged();
+    }
+
+    /**
+     * Adds or replaces the supplier with the same code. Ignored until the list is loaded.
+     */
+    void supplierSaved(Supplier supplier) {
+        synchronized (this) {
+            if (snapshot == null) {
+                return;
+            }
+            List<Supplier> suppliers = new ArrayList<>(snapshot.suppliers);
+            int index = snapshot.indexOf(supplier.getSupplierCode());
+            Supplier copy = new Supplier(supplier.getSupplierCode(), supplier.getSupplierName(), supplier.getRecentSupplyDate());
+            if (index >= 0) {
+                suppliers.set(index, copy);
+            } else {
+                suppliers.add(copy);
+            }
+            snapshot = new Snapshot(suppliers);
+        }
+        fireChanged();
+    }
+
+    void supplierRemoved(String supplierCode) {
+        synchronized (this) {
+            if (snapshot == null || snapshot.indexOf(supplierCode) < 0) {
+                return;
+            }
+            List<Supplier> suppliers = new ArrayList<>(snapshot.suppliers);
+            suppliers.remove(snapshot.indexOf(supplierCode));
+            snapshot = new Snapshot(suppliers);
+        }
+        fireChanged();
+    }
+
+    private void fireChanged() {
+        for (Listener listener : listeners) {
+            listener.suppliersChanged();
+        }
+    }
+
+    /**
+     * Immutable, sorted view of the suppliers with an index by code and lower-cased
+     * "name (code)" search keys.
+     */
+    public static final class Snapshot {
+        private final List<Supplier> suppliers;
+        private final Map<String, Integer> indexByCode;
+        private final String[] searchKeys;
+
+        private Snapshot(List<Supplier> unsorted) {
+            List<Supplier> sorted = new ArrayList<>(unsorted);
+            sorted.sort(ORDER);
+            suppliers = Collections.unmodifiableList(sorted);
+            indexByCode = new HashMap<>(sorted.size() * 2);
+            searchKeys = new String[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                Supplier supplier = sorted.get(i);
+                indexByCode.put(supplier.getSupplierCode(), i);
+                searchKeys[i] = displayName(supplier).toLowerCase(Locale.ROOT);
+            }
+        }
+
+        public int size() {
+            return suppliers.size();
+        }
+
+        public Supplier get(int index) {
+            return suppliers.get(index);
+        }
+
+        public List<Supplier> getSuppliers() {
+            return suppliers;
+        }
+
+        /**
+         * @return The position of the supplier with this code, or -1.
+         */
+        public int indexOf(String supplierCode) {
+            Integer index = supplierCode != null ? indexByCode.get(supplierCode) : null;
+            return index != null ? index : -1;
+        }
+
+        /**
+         * @param lowerCaseText Text already lower-cased with {@link Locale#ROOT}.
+         * @return True if the supplier's name or code contains the text.
+         */
+        public boolean matches(int index, String lowerCaseText) {
+            return searchKeys[index].contains(lowerCaseText);
+        }
+    }
+
+    /**
+     * @return "name (code)", as pickers show a supplier.
+     */
+    public static String displayName(Supplier supplier) {
+        return supplier.getSupplierName() + " (" + supplier.getSupplierCode() + ")";
+    }
+}
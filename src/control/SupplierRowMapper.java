@@ -0,0 +1,37 @@
+package control;
+
+import entity.Supplier;
+import util.StringPool;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps Supplier rows to objects by column index, resolved once per query like
+ * {@link SupplyItemRowMapper}.
+ */
+final class SupplierRowMapper {
+
+    /** Canonical supplier codes, shared by suppliers and the items referring to them. */
+    static final StringPool SUPPLIER_CODES = new StringPool(100_000);
+
+    private final int supplierCode;
+    private final int supplierName;
+    private final int recentSupplyDate;
+
+    private SupplierRowMapper(ResultSet rs) throws SQLException {
+        supplierCode = rs.findColumn("supplierCode");
+        supplierName = rs.findColumn("supplierName");
+        recentSupplyDate = rs.findColumn("recentSupplyDate");
+    }
+
+    static SupplierRowMapper bind(ResultSet rs) throws SQLException {
+        return new SupplierRowMapper(rs);
+    }
+
+    Supplier map(ResultSet rs) throws SQLException {
+        java.sql.Date dbDate = rs.getDate(recentSupplyDate);
+        return new Supplier(SUPPLIER_CODES.intern(rs.getString(supplierCode)), rs.getString(supplierName),
+                            dbDate != null ? dbDate.toLocalDate() : null);
+    }
+}
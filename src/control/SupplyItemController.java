@@ -12,11 +12,16 @@ import java.sql.Statement;
 import java.sql.Types; 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap; 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;   
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Controller class for managing SupplyItem (inventory) data.
@@ -25,6 +30,7 @@ public class SupplyItemController {
 
     private SupplierController supplierController;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final int BARCODES_PER_QUERY = 500;
 
     public SupplyItemController() {
     }
@@ -40,41 +46,31 @@ public class SupplyItemController {
         return this.supplierController;
     }
     
-    private SupplyItem mapRowToSupplyItemObject(ResultSet rs) throws SQLException {
-        SupplyItem item = new SupplyItem();
-        item.setBarcode(rs.getString("barcode"));
-        item.setProductTitle(rs.getString("productTitle"));
-        item.setProductDetails(rs.getString("productDetails"));
-        item.setCategory(rs.getString("category"));
-        
-        double availableUnitsDouble = rs.getDouble("availableUnits");
-        item.setAvailableUnits((int) availableUnitsDouble);
-        
-        double thresholdStockDouble = rs.getDouble("thresholdStock");
-        item.setThresholdStock((int) thresholdStockDouble);
-        
-        String expirationDateStr = rs.getString("expirationDate"); 
-        if (expirationDateStr != null && !expirationDateStr.trim().isEmpty() && !expirationDateStr.equalsIgnoreCase("N/A")) {
-            try {
-                item.setExpirationDate(LocalDate.parse(expirationDateStr, DATE_FORMATTER)); 
-            } catch (DateTimeParseException e) {
-                item.setExpirationDate(null);
-            }
-        } else {
-            item.setExpirationDate(null); 
-        }
-
-        String supplierCode = rs.getString("supplierCode");
+    /**
+     * @param supplierCache Suppliers already looked up for earlier rows of the same result, or
+     *                      null to look up every row's supplier.
+     */
+    private SupplyItem mapRowToSupplyItemObject(ResultSet rs, SupplyItemRowMapper mapper,
+                                                Map<String, Supplier> supplierCache) throws SQLException {
+        SupplyItem item = mapper.map(rs);
+        String supplierCode = mapper.supplierCode(rs);
         if (supplierCode != null && !supplierCode.trim().isEmpty()) {
-            Supplier supplier = getActiveSupplierController().getSupplierByCode(supplierCode);
+            Supplier supplier;
+            if (supplierCache == null) {
+                supplier = getActiveSupplierController().getSupplierByCode(supplierCode);
+            } else {
+                supplier = supplierCache.computeIfAbsent(supplierCode, code -> getActiveSupplierController().getSupplierByCode(code));
+            }
             if (supplier != null) {
                 item.setSupplier(supplier); 
             }
         }
+        item.markClean();
         return item;
     }
 
     public List<SupplyItem> getAllSupplyItems() {
+        WriteBehindQueue.getInstance().flushIfPending();
         List<SupplyItem> supplyItems = new ArrayList<>();
         String sql = "SELECT barcode, productTitle, productDetails, category, " +
                      "availableUnits, expirationDate, thresholdStock, supplierCode " +
@@ -83,16 +79,236 @@ public class SupplyItemController {
         try (Connection conn = DatabaseConnector.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+            Map<String, Supplier> supplierCache = new HashMap<>();
             while (rs.next()) {
-                supplyItems.add(mapRowToSupplyItemObject(rs)); // Use helper method
+                supplyItems.add(mapRowToSupplyItemObject(rs, mapper, supplierCache));
             }
         } catch (SQLException e) {
             System.err.println("FATAL DB ERROR fetching all supply items: " + e.getMessage());
             e.printStackTrace();
+            // Never hand out part of a result as if it were all of it.
+            supplyItems.clear();
+        }
+        return supplyItems;
+    }
+
+    /**
+     * Returns one page of supply items ordered by product title and barcode, using keyset
+     * pagination so each page costs the same regardless of how deep into the table it is.
+     *
+     * @param cursor {@link PageCursor#first(int)} or the previous page's next cursor.
+     * @return The page; empty if it could not be read.
+     */
+    public Page<SupplyItem> getSupplyItemsPage(PageCursor cursor) {
+        try {
+            return loadSupplyItemsPage(cursor);
+        } catch (SQLException e) {
+            System.err.println("FATAL DB ERROR fetching supply item page: " + e.getMessage());
+            e.printStackTrace();
+            return new Page<>(new ArrayList<>(), null);
+        }
+    }
+
+    /**
+     * Like {@link #getSupplyItemsPage(PageCursor)}, but reports a failed read, for callers
+     * that keep the page and must not keep an empty one.
+     */
+    public Page<SupplyItem> loadSupplyItemsPage(PageCursor cursor) throws SQLException {
+        return loadSupplyItemsPage(cursor, ItemColumn.PRODUCT_TITLE, false);
+    }
+
+    /**
+     * Like {@link #loadSupplyItemsPage(PageCursor)}, ordered by the given column (then by
+     * barcode, in the same direction). The cursor must come from a page of the same order.
+     */
+    public Page<SupplyItem> loadSupplyItemsPage(PageCursor cursor, ItemColumn sortColumn, boolean descending) throws SQLException {
+        return readSupplyItemsPage(cursor, 0, cursor.getPageSize(), sortColumn, descending);
+    }
+
+    /**
+     * Reads the page starting at the given position of the given order, e.g. after a jump
+     * of the scrollbar. Costs grow with the offset; its next cursor continues by keyset.
+     */
+    public Page<SupplyItem> loadSupplyItemsPageAt(int offset, int pageSize, ItemColumn sortColumn, boolean descending) throws SQLException {
+        return readSupplyItemsPage(null, offset, pageSize, sortColumn, descending);
+    }
+
+    // Seeks past the cursor if there is one, otherwise skips offset rows.
+    private Page<SupplyItem> readSupplyItemsPage(PageCursor cursor, int offset, int pageSize,
+                                                 ItemColumn sortColumn, boolean descending) throws SQLException {
+        WriteBehindQueue.getInstance().flushIfPending();
+        List<SupplyItem> supplyItems = new ArrayList<>();
+        String sortKey = sortColumn.sortExpression;
+        String direction = descending ? " DESC" : "";
+        // Barcodes are unique and never NULL, so that order is a plain range on the primary
+        // key, which its index serves without sorting the table.
+        boolean byBarcode = sortColumn == ItemColumn.BARCODE;
+        String seek;
+        String order;
+        if (byBarcode) {
+            seek = cursor != null && !cursor.isFirst() ? "barcode " + (descending ? "<" : ">") + " ?" : null;
+            order = "barcode" + direction;
+        } else {
+            seek = cursor != null ? cursor.seekCondition(sortKey, "barcode", descending) : null;
+            // NULL keys first when ascending and last when descending, as the cursor's seek expects.
+            order = sortKey + direction + (descending ? " NULLS LAST" : " NULLS FIRST") + ", barcode" + direction;
+        }
+        String sql = "SELECT barcode, productTitle, productDetails, category, " +
+                     "availableUnits, expirationDate, thresholdStock, supplierCode, " + sortKey + " AS sortKey " +
+                     "FROM SupplyItem " + (seek != null ? "WHERE " + seek + " " : "") +
+                     "ORDER BY " + order + (cursor == null ? " LIMIT ? OFFSET ?" : "");
+        boolean hasMore = false;
+        Object lastSortKey = null;
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (byBarcode && seek != null) {
+                pstmt.setString(1, cursor.getLastId());
+                pstmt.setMaxRows(pageSize + 1);
+            } else if (cursor != null) {
+                cursor.bindSeekParameters(pstmt, 1);
+                // One extra row tells whether another page follows.
+                pstmt.setMaxRows(pageSize + 1);
+            } else {
+                pstmt.setInt(1, pageSize + 1);
+                pstmt.setInt(2, offset);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+                int sortKeyIndex = rs.findColumn("sortKey");
+                Map<String, Supplier> supplierCache = new HashMap<>();
+                while (rs.next()) {
+                    if (supplyItems.size() == pageSize) {
+                        hasMore = true;
+                        break;
+                    }
+                    supplyItems.add(mapRowToSupplyItemObject(rs, mapper, supplierCache));
+                    lastSortKey = rs.getObject(sortKeyIndex);
+                }
+            }
+        }
+        PageCursor nextCursor = null;
+        if (hasMore) {
+            SupplyItem last = supplyItems.get(supplyItems.size() - 1);
+            nextCursor = PageCursor.after(lastSortKey, last.getBarcode(), pageSize);
+        }
+        return new Page<>(supplyItems, nextCursor);
+    }
+
+    /**
+     * Returns the supply items at the given position of the {@link #getSupplyItemsPage(PageCursor)}
+     * order. Costs grow with the offset; prefer cursors when reading pages in sequence.
+     *
+     * @return The items; empty if they could not be read.
+     */
+    public List<SupplyItem> getSupplyItemsAt(int offset, int limit) {
+        try {
+            return loadSupplyItemsAt(offset, limit);
+        } catch (SQLException e) {
+            System.err.println("FATAL DB ERROR fetching supply items at offset " + offset + ": " + e.getMessage());
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Like {@link #getSupplyItemsAt(int, int)}, but reports a failed read.
+     */
+    public List<SupplyItem> loadSupplyItemsAt(int offset, int limit) throws SQLException {
+        return loadSupplyItemsPageAt(offset, limit, ItemColumn.PRODUCT_TITLE, false).getItems();
+    }
+
+    /**
+     * A column of the inventory table, for {@link #searchSupplyItems(String, ItemColumn, int)}
+     * (which matches the value as the table shows it) and for sorted pages
+     * ({@link #loadSupplyItemsPage(PageCursor, ItemColumn, boolean)}).
+     */
+    public enum ItemColumn {
+        BARCODE("barcode", "barcode"),
+        PRODUCT_TITLE("productTitle", "productTitle"),
+        CATEGORY("category", "category"),
+        AVAILABLE_UNITS("CAST(CAST(availableUnits AS INTEGER) AS VARCHAR(11))", "CAST(availableUnits AS INTEGER)"),
+        // Stored as yyyy-MM-dd text, so it sorts by date; "N/A" sorts after all dates.
+        EXPIRATION_DATE("expirationDate", "expirationDate"),
+        THRESHOLD_STOCK("CAST(CAST(thresholdStock AS INTEGER) AS VARCHAR(11))", "CAST(thresholdStock AS INTEGER)"),
+        SUPPLIER_CODE("COALESCE(supplierCode, 'N/A')", "supplierCode");
+
+        private final String searchExpression;
+        private final String sortExpression;
+
+        ItemColumn(String searchExpression, String sortExpression) {
+            this.searchExpression = searchExpression;
+            this.sortExpression = sortExpression;
+        }
+    }
+
+    private static final ItemColumn[] DEFAULT_SEARCH_COLUMNS = {
+        ItemColumn.BARCODE, ItemColumn.PRODUCT_TITLE, ItemColumn.CATEGORY, ItemColumn.SUPPLIER_CODE
+    };
+
+    /**
+     * Finds items whose barcode, title, category or supplier code contains the given text
+     * (ignoring case), in table order. At most {@code limit} items are returned.
+     */
+    public List<SupplyItem> searchSupplyItems(String text, int limit) {
+        return searchSupplyItems(text, null, limit);
+    }
+
+    /**
+     * Like {@link #searchSupplyItems(String, int)}, but only in the given column.
+     *
+     * @param column The column to search, or null for barcode, title, category and supplier code.
+     */
+    public List<SupplyItem> searchSupplyItems(String text, ItemColumn column, int limit) {
+        WriteBehindQueue.getInstance().flushIfPending();
+        List<SupplyItem> supplyItems = new ArrayList<>();
+        String pattern = "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+        ItemColumn[] columns = column != null ? new ItemColumn[] { column } : DEFAULT_SEARCH_COLUMNS;
+        StringBuilder condition = new StringBuilder();
+        for (ItemColumn searched : columns) {
+            condition.append(condition.length() > 0 ? " OR " : "").append(searched.searchExpression).append(" LIKE ? ESCAPE '\\'");
+        }
+        String sql = "SELECT barcode, productTitle, productDetails, category, " +
+                     "availableUnits, expirationDate, thresholdStock, supplierCode " +
+                     "FROM SupplyItem WHERE " + condition + " " +
+                     "ORDER BY productTitle, barcode LIMIT ?";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= columns.length; i++) {
+                pstmt.setString(i, pattern);
+            }
+            pstmt.setInt(columns.length + 1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+                Map<String, Supplier> supplierCache = new HashMap<>();
+                while (rs.next()) {
+                    supplyItems.add(mapRowToSupplyItemObject(rs, mapper, supplierCache));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("DB ERROR searching supply items for '" + text + "': " + e.getMessage());
+            e.printStackTrace();
+            // Never hand out part of a result as if it were all of it.
+            supplyItems.clear();
         }
         return supplyItems;
     }
 
+    public int countSupplyItems() {
+        String sql = "SELECT COUNT(*) FROM SupplyItem";
+        try (Connection conn = DatabaseConnector.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("FATAL DB ERROR counting supply items: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
     public String addSupplyItem(SupplyItem item) {
         if (item == null || item.getBarcode() == null || item.getBarcode().trim().isEmpty()) {
             return "Supply item data or barcode cannot be empty.";
@@ -138,6 +354,10 @@ public class SupplyItemController {
             }
 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                DatabaseConnector.runAfterCommit(() -> InventoryColumnStore.getInstance().upsert(item));
+                AuditTrail.getInstance().itemAdded(item);
+            }
             return (affectedRows > 0) ? null : "Failed to add supply item. No rows affected.";
         } catch (SQLException e) {
             e.printStackTrace();
@@ -148,6 +368,10 @@ public class SupplyItemController {
     public SupplyItem getSupplyItemByBarcode(String barcode) {
         SupplyItem item = null;
         if (barcode == null || barcode.trim().isEmpty()) return null;
+        SupplyItem pending = WriteBehindQueue.getInstance().getPending(barcode);
+        if (pending != null) {
+            return pending; // Queued but not yet written.
+        }
         String sql = "SELECT barcode, productTitle, productDetails, category, " +
                      "availableUnits, expirationDate, thresholdStock, supplierCode " +
                      "FROM SupplyItem WHERE barcode = ?";
@@ -156,7 +380,7 @@ public class SupplyItemController {
             pstmt.setString(1, barcode);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    item = mapRowToSupplyItemObject(rs); 
+                    item = mapRowToSupplyItemObject(rs, SupplyItemRowMapper.bind(rs), null);
                 }
             }
         } catch (SQLException e) {
@@ -170,12 +394,11 @@ public class SupplyItemController {
         if (item == null || item.getBarcode() == null || item.getBarcode().trim().isEmpty()) {
             return "Cannot update supply item: item data or barcode is null/empty.";
         }
-        // Check if item to update actually exists
-        SupplyItem existingItem = getSupplyItemByBarcode(item.getBarcode());
-        if (existingItem == null) {
-             return "Cannot update supply item: Item with barcode '" + item.getBarcode() + "' not found.";
+        // Items read from the database know their changed fields; others are written in full.
+        boolean tracked = item.isTrackingChanges();
+        if (tracked && item.getChangedFields().isEmpty()) {
+            return null;
         }
-        
         String actualSupplierCode = null;
         if (item.getSupplier() != null && item.getSupplier().getSupplierCode() != null) {
             actualSupplierCode = item.getSupplier().getSupplierCode();
@@ -183,12 +406,50 @@ public class SupplyItemController {
             actualSupplierCode = item.getSupplierCode();
         }
 
-        if (actualSupplierCode != null) {
+        WriteBehindQueue writeBehindQueue = WriteBehindQueue.getInstance();
+        // Updates inside a transaction (e.g. an import) are written directly so they commit or roll back with it.
+        boolean writeBehind = writeBehindQueue.isRunning() && !DatabaseConnector.isInTransaction();
+        // An item already queued was checked when it was queued; only a new supplier needs checking again.
+        SupplyItem pending = writeBehind ? writeBehindQueue.getPending(item.getBarcode()) : null;
+        // The values before the update, for the audit trail.
+        SupplyItem before = tracked ? item.getOriginal() : pending;
+        if (pending == null && !tracked) {
+            // Check if item to update actually exists (a tracked item was read from the table)
+            SupplyItem existingItem = getSupplyItemByBarcode(item.getBarcode());
+            if (existingItem == null) {
+                 return "Cannot update supply item: Item with barcode '" + item.getBarcode() + "' not found.";
+            }
+            before = existingItem;
+        }
+
+        boolean supplierChanged = !tracked || item.getChangedFields().contains(SupplyItem.Field.SUPPLIER);
+        if (actualSupplierCode != null && supplierChanged
+                && (pending == null || !actualSupplierCode.equals(pending.getSupplierCode()))) {
             if (getActiveSupplierController().getSupplierByCode(actualSupplierCode) == null) {
                 return "Cannot update item: Supplier with code '" + actualSupplierCode + "' does not exist.";
             }
         }
 
+        if (writeBehind) {
+            String error = writeBehindQueue.enqueue(item);
+            if (error == null) {
+                InventoryColumnStore.getInstance().upsert(item);
+                AuditTrail.getInstance().itemUpdated(before, item);
+                if (tracked) {
+                    item.markClean();
+                }
+            }
+            return error;
+        }
+
+        if (tracked) {
+            String error = updateChangedColumns(item, actualSupplierCode);
+            if (error == null) {
+                AuditTrail.getInstance().itemUpdated(before, item);
+            }
+            return error;
+        }
+
         String sql = "UPDATE SupplyItem SET productTitle = ?, productDetails = ?, category = ?, " +
                      "availableUnits = ?, expirationDate = ?, thresholdStock = ?, supplierCode = ? " +
                      "WHERE barcode = ?";
@@ -213,6 +474,11 @@ public class SupplyItemController {
             
             pstmt.setString(8, item.getBarcode()); 
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                writeBehindQueue.discard(item.getBarcode());
+                DatabaseConnector.runAfterCommit(() -> InventoryColumnStore.getInstance().upsert(item));
+                AuditTrail.getInstance().itemUpdated(before, item);
+            }
             return (affectedRows > 0) ? null : "Failed to update supply item. Data unchanged or item not found.";
         } catch (SQLException e) {
             e.printStackTrace();
@@ -220,15 +486,134 @@ public class SupplyItemController {
         }
     }
 
+    /**
+     * Writes only the item's changed columns.
+     */
+    private String updateChangedColumns(SupplyItem item, String supplierCode) {
+        List<SupplyItem.Field> fields = new ArrayList<>(item.getChangedFields());
+        StringBuilder sql = new StringBuilder("UPDATE SupplyItem SET ");
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(columnOf(fields.get(i))).append(" = ?");
+        }
+        sql.append(" WHERE barcode = ?");
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (SupplyItem.Field field : fields) {
+                switch (field) {
+                    case PRODUCT_TITLE: pstmt.setString(index, item.getProductTitle()); break;
+                    case PRODUCT_DETAILS: pstmt.setString(index, item.getProductDetails()); break;
+                    case CATEGORY: pstmt.setString(index, item.getCategory()); break;
+                    case AVAILABLE_UNITS: pstmt.setInt(index, item.getAvailableUnits()); break;
+                    case EXPIRATION_DATE:
+                        pstmt.setString(index, item.getExpirationDate() != null ? item.getExpirationDate().format(DATE_FORMATTER) : "N/A");
+                        break;
+                    case THRESHOLD_STOCK: pstmt.setInt(index, item.getThresholdStock()); break;
+                    case SUPPLIER:
+                        if (supplierCode != null) {
+                            pstmt.setString(index, supplierCode);
+                        } else {
+                            pstmt.setNull(index, Types.VARCHAR);
+                        }
+                        break;
+                }
+                index++;
+            }
+            pstmt.setString(index, item.getBarcode());
+            int affectedRows = pstmt.executeUpdate();
+            if (affectedRows == 0) {
+                return "Cannot update supply item: Item with barcode '" + item.getBarcode() + "' not found.";
+            }
+            WriteBehindQueue.getInstance().discard(item.getBarcode());
+            DatabaseConnector.runAfterCommit(() -> InventoryColumnStore.getInstance().upsert(item));
+            item.markClean();
+            return null;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return "Database error updating supply item '" + item.getBarcode() + "': " + e.getMessage();
+        }
+    }
+
+    private static String columnOf(SupplyItem.Field field) {
+        switch (field) {
+            case PRODUCT_TITLE: return "productTitle";
+            case PRODUCT_DETAILS: return "productDetails";
+            case CATEGORY: return "category";
+            case AVAILABLE_UNITS: return "availableUnits";
+            case EXPIRATION_DATE: return "expirationDate";
+            case THRESHOLD_STOCK: return "thresholdStock";
+            case SUPPLIER: return "supplierCode";
+            default: throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    /**
+     * Writes the given rows in one JDBC batch, on the caller's connection or transaction.
+     * Used by the {@link WriteBehindQueue}; the items were validated when queued.
+     *
+     * @return The barcodes of items that matched no row (deleted since they were queued).
+     */
+    List<String> writeSupplyItemRows(Collection<SupplyItem> items) throws SQLException {
+        String sql = "UPDATE SupplyItem SET productTitle = ?, productDetails = ?, category = ?, " +
+                     "availableUnits = ?, expirationDate = ?, thresholdStock = ?, supplierCode = ? " +
+                     "WHERE barcode = ?";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (SupplyItem item : items) {
+                pstmt.setString(1, item.getProductTitle());
+                pstmt.setString(2, item.getProductDetails());
+                pstmt.setString(3, item.getCategory());
+                pstmt.setInt(4, item.getAvailableUnits());
+                pstmt.setString(5, item.getExpirationDate() != null ? item.getExpirationDate().format(DATE_FORMATTER) : "N/A");
+                pstmt.setInt(6, item.getThresholdStock());
+                if (item.getSupplierCode() != null) {
+                    pstmt.setString(7, item.getSupplierCode());
+                } else {
+                    pstmt.setNull(7, Types.VARCHAR);
+                }
+                pstmt.setString(8, item.getBarcode());
+                pstmt.addBatch();
+            }
+            int[] updateCounts = pstmt.executeBatch();
+            List<String> missing = new ArrayList<>();
+            int index = 0;
+            for (SupplyItem item : items) {
+                // Statement.SUCCESS_NO_INFO (-2) counts as written.
+                if (index < updateCounts.length && updateCounts[index] == 0) {
+                    missing.add(item.getBarcode());
+                }
+                index++;
+            }
+            return missing;
+        }
+    }
+
     public String deleteSupplyItem(String barcode) {
         if (barcode == null || barcode.trim().isEmpty()) {
             return "Cannot delete supply item: barcode is null/empty.";
         }
+        SupplyItem before = AuditTrail.getInstance().isRunning() ? getSupplyItemByBarcode(barcode) : null;
+        return deleteSupplyItem(barcode, before);
+    }
+
+    /**
+     * @param before The item's values for the audit trail, or null if unknown.
+     */
+    private String deleteSupplyItem(String barcode, SupplyItem before) {
+        AuditTrail auditTrail = AuditTrail.getInstance();
+        WriteBehindQueue.getInstance().discard(barcode);
         String sql = "DELETE FROM SupplyItem WHERE barcode = ?";
         try (Connection conn = DatabaseConnector.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, barcode);
             int affectedRows = pstmt.executeUpdate();
+            if (affectedRows > 0) {
+                DatabaseConnector.runAfterCommit(() -> InventoryColumnStore.getInstance().remove(barcode));
+                auditTrail.itemDeleted(barcode, before);
+            }
             return (affectedRows > 0) ? null : "Failed to delete supply item. Item not found.";
         } catch (SQLException e) {
             e.printStackTrace();
@@ -236,17 +621,364 @@ public class SupplyItemController {
         }
     }
 
+    /**
+     * Deletes several items. For the audit trail, their values are read up front with one
+     * query per {@value #BARCODES_PER_QUERY} barcodes rather than one per item.
+     */
     public Map<String, String> deleteMultipleSupplyItems(List<String> barcodes) {
         Map<String, String> results = new HashMap<>();
         if (barcodes == null || barcodes.isEmpty()) return results;
+        Map<String, SupplyItem> beforeImages = new HashMap<>();
+        if (AuditTrail.getInstance().isRunning()) {
+            List<String> valid = new ArrayList<>();
+            for (String barcode : barcodes) {
+                if (barcode != null && !barcode.trim().isEmpty()) {
+                    valid.add(barcode);
+                }
+            }
+            try {
+                beforeImages = getSupplyItemsByBarcodes(new LinkedHashSet<>(valid));
+            } catch (SQLException e) {
+                // The deletes are still attempted; their audit entries lack the old values.
+                System.err.println("WARNING: Could not read items before deleting them: " + e.getMessage());
+            }
+        }
+        WriteBehindQueue writeBehindQueue = WriteBehindQueue.getInstance();
+        for (String barcode : barcodes) {
+            if (barcode == null || barcode.trim().isEmpty()) {
+                results.put(barcode, "Cannot delete supply item: barcode is null/empty.");
+                continue;
+            }
+            SupplyItem pending = writeBehindQueue.getPending(barcode);
+            results.put(barcode, deleteSupplyItem(barcode, pending != null ? pending : beforeImages.get(barcode)));
+        }
+        return results;
+    }
+
+    /**
+     * Sets the threshold stock of several items; see {@link #updateField}.
+     *
+     * @return Per barcode, null if updated or the reason it was not, in the given order.
+     */
+    public Map<String, String> setThresholdStock(List<String> barcodes, int thresholdStock) {
+        if (thresholdStock < 0) {
+            return failAll(barcodes, "Threshold stock cannot be negative.");
+        }
+        return updateField(barcodes, SupplyItem.Field.THRESHOLD_STOCK, thresholdStock,
+                           item -> item.setThresholdStock(thresholdStock));
+    }
+
+    /**
+     * Moves several items to a category; see {@link #updateField}.
+     *
+     * @return Per barcode, null if updated or the reason it was not, in the given order.
+     */
+    public Map<String, String> setCategory(List<String> barcodes, String category) {
+        if (category == null || category.trim().isEmpty()) {
+            return failAll(barcodes, "Category cannot be empty.");
+        }
+        String canonical = CategoryRegistry.getInstance().canonical(category.trim());
+        return updateField(barcodes, SupplyItem.Field.CATEGORY, canonical, item -> item.setCategory(canonical));
+    }
+
+    /**
+     * Assigns several items to a supplier, checked once; see {@link #updateField}.
+     *
+     * @param supplierCode The new supplier, or null/empty to remove the items' supplier.
+     * @return Per barcode, null if updated or the reason it was not, in the given order.
+     */
+    public Map<String, String> setSupplier(List<String> barcodes, String supplierCode) {
+        Supplier supplier = null;
+        if (supplierCode != null && !supplierCode.trim().isEmpty()) {
+            supplier = getActiveSupplierController().getSupplierByCode(supplierCode.trim());
+            if (supplier == null) {
+                return failAll(barcodes, "Supplier with code '" + supplierCode.trim() + "' does not exist.");
+            }
+        }
+        Supplier newSupplier = supplier;
+        return updateField(barcodes, SupplyItem.Field.SUPPLIER, supplier != null ? supplier.getSupplierCode() : null,
+                           item -> item.setSupplier(newSupplier));
+    }
+
+    /**
+     * Sets one field to the same, already validated value on several items with one
+     * batched UPDATE in a single transaction: the rows are read once up front (for the
+     * audit trail and the column store, and to report unknown barcodes), and a database
+     * error changes none of them.
+     *
+     * @param value The column value: an Integer, a String, or null.
+     * @param change Applies the value to an item read from the table.
+     */
+    private Map<String, String> updateField(List<String> barcodes, SupplyItem.Field field, Object value,
+                                            Consumer<SupplyItem> change) {
+        Map<String, String> results = new LinkedHashMap<>();
+        if (barcodes == null) {
+            return results;
+        }
+        Set<String> distinctBarcodes = new LinkedHashSet<>();
         for (String barcode : barcodes) {
-            results.put(barcode, deleteSupplyItem(barcode)); 
+            if (barcode != null && !barcode.trim().isEmpty()) {
+                distinctBarcodes.add(barcode);
+            }
+        }
+        if (distinctBarcodes.isEmpty()) {
+            return results;
+        }
+
+        // A queued full-row update must not be written over the new value later.
+        WriteBehindQueue.getInstance().flushIfPending();
+
+        List<SupplyItem> updated = new ArrayList<>();
+        boolean ownTransaction = !DatabaseConnector.isInTransaction();
+        try {
+            if (ownTransaction) {
+                DatabaseConnector.beginTransaction();
+            }
+            Map<String, SupplyItem> existing = getSupplyItemsByBarcodes(distinctBarcodes);
+            String sql = "UPDATE SupplyItem SET " + columnOf(field) + " = ? WHERE barcode = ?";
+            List<SupplyItem> before = new ArrayList<>();
+            try (Connection conn = DatabaseConnector.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (String barcode : distinctBarcodes) {
+                    SupplyItem item = existing.get(barcode);
+                    if (item == null) {
+                        results.put(barcode, "Supply item '" + barcode + "' not found.");
+                        continue;
+                    }
+                    results.put(barcode, null);
+                    if (value == null) {
+                        pstmt.setNull(1, Types.VARCHAR);
+                    } else if (value instanceof Integer) {
+                        pstmt.setInt(1, (Integer) value);
+                    } else {
+                        pstmt.setString(1, value.toString());
+                    }
+                    pstmt.setString(2, barcode);
+                    pstmt.addBatch();
+                    before.add(item);
+                }
+                if (!before.isEmpty()) {
+                    pstmt.executeBatch();
+                }
+            }
+            AuditTrail auditTrail = AuditTrail.getInstance();
+            InventoryColumnStore columnStore = InventoryColumnStore.getInstance();
+            for (SupplyItem item : before) {
+                SupplyItem after = item.copy();
+                change.accept(after);
+                auditTrail.itemUpdated(item, after);
+                DatabaseConnector.runAfterCommit(() -> columnStore.upsert(after));
+                updated.add(after);
+            }
+            if (ownTransaction) {
+                DatabaseConnector.commitTransaction();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return failAll(barcodes, "Database error updating " + distinctBarcodes.size() + " supply items: " + e.getMessage());
+        } finally {
+            if (ownTransaction) {
+                DatabaseConnector.endTransaction();
+            }
+        }
+
+        for (SupplyItem item : updated) {
+            item.markClean();
         }
         return results;
     }
 
+    /**
+     * Reads the given items with one query per {@value #BARCODES_PER_QUERY} barcodes.
+     *
+     * @return The items found, by barcode.
+     */
+    private Map<String, SupplyItem> getSupplyItemsByBarcodes(Collection<String> barcodes) throws SQLException {
+        Map<String, SupplyItem> items = new HashMap<>();
+        Map<String, Supplier> supplierCache = new HashMap<>();
+        List<String> remaining = new ArrayList<>(barcodes);
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            for (int from = 0; from < remaining.size(); from += BARCODES_PER_QUERY) {
+                List<String> chunk = remaining.subList(from, Math.min(from + BARCODES_PER_QUERY, remaining.size()));
+                String sql = "SELECT barcode, productTitle, productDetails, category, " +
+                             "availableUnits, expirationDate, thresholdStock, supplierCode " +
+                             "FROM SupplyItem WHERE barcode IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+                        while (rs.next()) {
+                            SupplyItem item = mapRowToSupplyItemObject(rs, mapper, supplierCache);
+                            items.put(item.getBarcode(), item);
+                        }
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    private static Map<String, String> failAll(List<String> barcodes, String error) {
+        Map<String, String> results = new LinkedHashMap<>();
+        if (barcodes != null) {
+            for (String barcode : barcodes) {
+                if (barcode != null && !barcode.trim().isEmpty()) {
+                    results.put(barcode, error);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Takes units out of stock with a single conditional UPDATE, so concurrent consumers
+     * cannot drive the level below zero or lose each other's changes.
+     */
+    public StockAdjustmentResult consume(String barcode, int quantity) {
+        return consumeAll(Collections.singletonMap(barcode, quantity)).get(barcode);
+    }
+
+    /**
+     * Adds received units to stock with a single UPDATE.
+     */
+    public StockAdjustmentResult receive(String barcode, int quantity) {
+        return receiveAll(Collections.singletonMap(barcode, quantity)).get(barcode);
+    }
+
+    /**
+     * Consumes several items in one transaction, e.g. a list of scans. Each item is
+     * applied or rejected on its own; a database error fails the whole batch.
+     *
+     * @param quantitiesByBarcode Units to consume per barcode.
+     * @return The result per barcode, in the given order.
+     */
+    public Map<String, StockAdjustmentResult> consumeAll(Map<String, Integer> quantitiesByBarcode) {
+        return adjustStock(quantitiesByBarcode, true);
+    }
+
+    /**
+     * Receives several items in one transaction.
+     *
+     * @param quantitiesByBarcode Units received per barcode.
+     * @return The result per barcode, in the given order.
+     */
+    public Map<String, StockAdjustmentResult> receiveAll(Map<String, Integer> quantitiesByBarcode) {
+        return adjustStock(quantitiesByBarcode, false);
+    }
+
+    private Map<String, StockAdjustmentResult> adjustStock(Map<String, Integer> quantitiesByBarcode, boolean consume) {
+        Map<String, StockAdjustmentResult> results = new LinkedHashMap<>();
+        List<String> barcodes = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : quantitiesByBarcode.entrySet()) {
+            String barcode = entry.getKey();
+            int quantity = entry.getValue() != null ? entry.getValue() : 0;
+            if (barcode == null || barcode.trim().isEmpty()) {
+                continue;
+            }
+            if (quantity <= 0) {
+                results.put(barcode, new StockAdjustmentResult(barcode, quantity, StockAdjustmentResult.Outcome.INVALID_QUANTITY,
+                        StockAdjustmentResult.UNKNOWN_LEVEL, "Quantity must be positive, was " + quantity + "."));
+            } else {
+                barcodes.add(barcode);
+                results.put(barcode, null);
+            }
+        }
+        if (barcodes.isEmpty()) {
+            return results;
+        }
+
+        // A queued full-row update must not be written over the adjustment later.
+        WriteBehindQueue writeBehindQueue = WriteBehindQueue.getInstance();
+        if (barcodes.size() == 1) {
+            writeBehindQueue.flushIfPending(barcodes.get(0));
+        } else {
+            writeBehindQueue.flushIfPending();
+        }
+
+        String updateSql = consume
+                ? "UPDATE SupplyItem SET availableUnits = availableUnits - ? WHERE barcode = ? AND availableUnits >= ?"
+                : "UPDATE SupplyItem SET availableUnits = availableUnits + ? WHERE barcode = ?";
+        String levelSql = "SELECT availableUnits FROM SupplyItem WHERE barcode = ?";
+        boolean ownTransaction = !DatabaseConnector.isInTransaction();
+        try {
+            if (ownTransaction) {
+                DatabaseConnector.beginTransaction();
+            }
+            int[] updateCounts;
+            try (Connection conn = DatabaseConnector.getConnection();
+                 PreparedStatement update = conn.prepareStatement(updateSql);
+                 PreparedStatement level = conn.prepareStatement(levelSql)) {
+                for (String barcode : barcodes) {
+                    int quantity = quantitiesByBarcode.get(barcode);
+                    update.setInt(1, quantity);
+                    update.setString(2, barcode);
+                    if (consume) {
+                        update.setInt(3, quantity);
+                    }
+                    update.addBatch();
+                }
+                updateCounts = update.executeBatch();
+                for (int i = 0; i < barcodes.size(); i++) {
+                    String barcode = barcodes.get(i);
+                    int quantity = quantitiesByBarcode.get(barcode);
+                    level.setString(1, barcode);
+                    Integer newLevel = null;
+                    try (ResultSet rs = level.executeQuery()) {
+                        if (rs.next()) {
+                            newLevel = rs.getInt(1);
+                        }
+                    }
+                    StockAdjustmentResult result;
+                    if (newLevel == null) {
+                        result = new StockAdjustmentResult(barcode, quantity, StockAdjustmentResult.Outcome.NOT_FOUND,
+                                StockAdjustmentResult.UNKNOWN_LEVEL, "Supply item '" + barcode + "' not found.");
+                    } else if (updateCounts[i] > 0) {
+                        result = new StockAdjustmentResult(barcode, quantity, StockAdjustmentResult.Outcome.APPLIED, newLevel, null);
+                    } else {
+                        result = new StockAdjustmentResult(barcode, quantity, StockAdjustmentResult.Outcome.INSUFFICIENT_STOCK, newLevel,
+                                "Cannot consume " + quantity + " of '" + barcode + "': only " + newLevel + " available.");
+                    }
+                    results.put(barcode, result);
+                }
+            }
+            // Published only once the caller's transaction commits, and dropped if it rolls back.
+            InventoryColumnStore columnStore = InventoryColumnStore.getInstance();
+            AuditTrail auditTrail = AuditTrail.getInstance();
+            for (StockAdjustmentResult result : results.values()) {
+                if (result.isApplied()) {
+                    DatabaseConnector.runAfterCommit(() -> columnStore.setAvailableUnits(result.getBarcode(), result.getNewLevel()));
+                    auditTrail.stockAdjusted(result, consume);
+                }
+            }
+            if (ownTransaction) {
+                DatabaseConnector.commitTransaction();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            String message = "Database error adjusting stock: " + e.getMessage();
+            for (String barcode : barcodes) {
+                results.put(barcode, new StockAdjustmentResult(barcode, quantitiesByBarcode.get(barcode),
+                        StockAdjustmentResult.Outcome.FAILED, StockAdjustmentResult.UNKNOWN_LEVEL, message));
+            }
+            return results;
+        } finally {
+            if (ownTransaction) {
+                DatabaseConnector.endTransaction();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return True if an item refers to the supplier. Always asks the database: this guards
+     *         {@link SupplierController#deleteSupplier(String)}, and the column store only
+     *         knows the changes made by this process.
+     */
     public boolean isSupplierReferenced(String supplierCode) {
         if (supplierCode == null || supplierCode.trim().isEmpty()) return false; 
+        WriteBehindQueue.getInstance().flushIfPending();
         String sql = "SELECT COUNT(*) AS reference_count FROM SupplyItem WHERE supplierCode = ?";
         try (Connection conn = DatabaseConnector.getConnection(); 
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -261,18 +993,58 @@ public class SupplyItemController {
         return false;
     }
 
+    /**
+     * Returns the items of the given supplier ordered by product title, each linked to that
+     * supplier object. Always queries the database, so items added by other processes are
+     * included. Used to load {@link Supplier#getSuppliedItems()}.
+     */
+    public List<SupplyItem> getSupplyItemsBySupplier(Supplier supplier) {
+        List<SupplyItem> supplyItems = new ArrayList<>();
+        if (supplier == null || supplier.getSupplierCode() == null || supplier.getSupplierCode().trim().isEmpty()) {
+            return supplyItems;
+        }
+        String supplierCode = supplier.getSupplierCode();
+        WriteBehindQueue.getInstance().flushIfPending();
+        String sql = "SELECT barcode, productTitle, productDetails, category, " +
+                     "availableUnits, expirationDate, thresholdStock, supplierCode " +
+                     "FROM SupplyItem WHERE supplierCode = ? ORDER BY productTitle, barcode";
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, supplierCode);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+                Map<String, Supplier> supplierCache = new HashMap<>();
+                supplierCache.put(supplierCode, supplier);
+                while (rs.next()) {
+                    supplyItems.add(mapRowToSupplyItemObject(rs, mapper, supplierCache));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("DB ERROR fetching items of supplier '" + supplierCode + "': " + e.getMessage());
+            e.printStackTrace();
+            // Never hand out part of a result as if it were all of it.
+            supplyItems.clear();
+        }
+        return supplyItems;
+    }
+
     public List<SupplyItem> getLowStockItems() {
+        WriteBehindQueue.getInstance().flushIfPending();
         List<SupplyItem> lowStockItems = new ArrayList<>();
         String sql = "SELECT * FROM SupplyItem WHERE availableUnits <= thresholdStock AND thresholdStock > 0 ORDER BY productTitle";
         try (Connection conn = DatabaseConnector.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            SupplyItemRowMapper mapper = SupplyItemRowMapper.bind(rs);
+            Map<String, Supplier> supplierCache = new HashMap<>();
             while (rs.next()) {
-                lowStockItems.add(mapRowToSupplyItemObject(rs));
+                lowStockItems.add(mapRowToSupplyItemObject(rs, mapper, supplierCache));
             }
         } catch (SQLException e) {
             System.err.println("Error fetching low stock items: " + e.getMessage());
             e.printStackTrace(); 
+            // Never hand out part of a result as if it were all of it.
+            lowStockItems.clear();
         }
         return lowStockItems;
     }
@@ -281,12 +1053,25 @@ public class SupplyItemController {
         List<SupplyItem> nearExpirationItems = new ArrayList<>();
         LocalDate today = LocalDate.now();
         LocalDate targetDate = today.plusDays(daysInAdvance);
-        List<SupplyItem> allItems = getAllSupplyItems(); 
-        for (SupplyItem item : allItems) {
-            if (item.getExpirationDate() != null) { 
-                if (!item.getExpirationDate().isBefore(today) && 
-                    !item.getExpirationDate().isAfter(targetDate)) {
-                    nearExpirationItems.add(item);
+        InventoryColumnStore columnStore = InventoryColumnStore.getInstance();
+        if (columnStore.ensureLoaded()) {
+            // Scan the expiration column and fetch only the matching rows, in batches.
+            WriteBehindQueue.getInstance().flushIfPending();
+            try {
+                nearExpirationItems.addAll(getSupplyItemsByBarcodes(columnStore.findExpiringBetween(today, targetDate)).values());
+            } catch (SQLException e) {
+                System.err.println("Error fetching near expiration items: " + e.getMessage());
+                e.printStackTrace();
+                // Never hand out part of a result as if it were all of it.
+                nearExpirationItems.clear();
+            }
+        } else {
+            for (SupplyItem item : getAllSupplyItems()) {
+                if (item.getExpirationDate() != null) { 
+                    if (!item.getExpirationDate().isBefore(today) && 
+                        !item.getExpirationDate().isAfter(targetDate)) {
+                        nearExpirationItems.add(item);
+                    }
                 }
             }
         }
@@ -0,0 +1,58 @@
+package control;
+
+import entity.SupplyItem;
+import util.IsoDates;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps SupplyItem rows to objects by column index. {@link #bind(ResultSet)} resolves the
+ * indices once per query with {@link ResultSet#findColumn}, so mapping a row does no label
+ * lookups. (UCanAccess answers {@code ResultSetMetaData.getColumnLabel} in about 0.1 ms per
+ * call, so the indices are not found by scanning the labels.)
+ * Categories and supplier codes are replaced by their canonical instances
+ * ({@link CategoryRegistry}, {@link SupplierRowMapper#SUPPLIER_CODES}), so loaded items share them.
+ * Unit counts are read with {@code getInt}, as in the other readers of these columns.
+ */
+final class SupplyItemRowMapper {
+
+    private final int barcode;
+    private final int productTitle;
+    private final int productDetails;
+    private final int category;
+    private final int availableUnits;
+    private final int expirationDate;
+    private final int thresholdStock;
+    private final int supplierCode;
+
+    private SupplyItemRowMapper(ResultSet rs) throws SQLException {
+        barcode = rs.findColumn("barcode");
+        productTitle = rs.findColumn("productTitle");
+        productDetails = rs.findColumn("productDetails");
+        category = rs.findColumn("category");
+        availableUnits = rs.findColumn("availableUnits");
+        expirationDate = rs.findColumn("expirationDate");
+        thresholdStock = rs.findColumn("thresholdStock");
+        supplierCode = rs.findColumn("supplierCode");
+    }
+
+    static SupplyItemRowMapper bind(ResultSet rs) throws SQLException {
+        return new SupplyItemRowMapper(rs);
+    }
+
+    /**
+     * @return The item of the current row, without its supplier (see {@link #supplierCode(ResultSet)}).
+     */
+    SupplyItem map(ResultSet rs) throws SQLException {
+        SupplyItem item = new SupplyItem(rs.getString(barcode), rs.getString(productTitle), rs.getString(productDetails),
+                                         CategoryRegistry.getInstance().canonical(rs.getString(category)),
+                                         rs.getInt(availableUnits), rs.getInt(thresholdStock));
+        item.setExpirationDate(IsoDates.parseOrNull(rs.getString(expirationDate)));
+        return item;
+    }
+
+    String supplierCode(ResultSet rs) throws SQLException {
+        return SupplierRowMapper.SUPPLIER_CODES.intern(rs.getString(supplierCode));
+    }
+}
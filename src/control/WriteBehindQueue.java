@@ -0,0 +1,409 @@
+package control;
+
+import entity.Supplier;
+import entity.SupplyItem;
+import util.DatabaseConnector;
+import util.Json;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optional write-behind mode for supply item updates.
+ * <p>
+ * While running, {@link SupplyItemController#updateSupplyItem(SupplyItem)} only queues the
+ * new row: it lands in a dirty map keyed by barcode, so repeated updates of one item
+ * collapse into the latest one. A background flusher writes the queued rows in one
+ * batched transaction every {@value #FLUSH_INTERVAL_MILLIS} ms, or as soon as
+ * {@value #MAX_BATCH_SIZE} items are waiting.
+ * <p>
+ * Before an update is acknowledged it is appended to a journal next to the database
+ * ({@code <database>.accdb}{@value #FILE_SUFFIX}) and forced to disk. After a crash, the
+ * journal is replayed by the next {@link #start()}; after each successful flush it is
+ * rewritten with only the rows still waiting.
+ * <p>
+ * An update whose item was deleted before the flush matches no row. It is dropped with
+ * a warning, removed from the {@link InventoryColumnStore}, and counted in
+ * {@link #getDroppedUpdateCount()}.
+ */
+public class WriteBehindQueue {
+
+    public static final String FILE_SUFFIX = ".writebehind";
+
+    static final long FLUSH_INTERVAL_MILLIS = 1_000;
+    static final int MAX_BATCH_SIZE = 200;
+
+    private static final WriteBehindQueue INSTANCE = new WriteBehindQueue();
+
+    private final Object lock = new Object();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final SupplyItemController supplyItemController = new SupplyItemController();
+
+    // Guarded by lock.
+    private Map<String, SupplyItem> dirty = new LinkedHashMap<>();
+    private Map<String, SupplyItem> inFlight = new LinkedHashMap<>();
+    private FileChannel journal;
+    private Path journalFile;
+
+    private volatile boolean running = false;
+    private volatile long droppedUpdates = 0;
+    private ScheduledExecutorService flusher;
+    private ScheduledFuture<?> flushTask;
+
+    private WriteBehindQueue() {
+    }
+
+    public static WriteBehindQueue getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Enables write-behind for the current database, first replaying (and flushing) any
+     * journal a previous run left behind.
+     *
+     * @return null on success, or an error message (write-behind then stays off).
+     */
+    public synchronized String start() {
+        if (running) {
+            return null;
+        }
+        Path file = Paths.get(DatabaseConnector.getDatabaseFilePath() + FILE_SUFFIX);
+        try {
+            List<SupplyItem> replayed = readJournal(file);
+            synchronized (lock) {
+                for (SupplyItem item : replayed) {
+                    dirty.put(item.getBarcode(), item);
+                }
+                journalFile = file;
+                journal = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            if (!replayed.isEmpty()) {
+                System.out.println("INFO: Replaying " + replayed.size() + " queued item update(s) from " + file);
+                InventoryColumnStore.getInstance().invalidate();
+                flushNow();
+            }
+        } catch (IOException e) {
+            return "Cannot open write-behind journal '" + file + "': " + e.getMessage();
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushTask = flusher.scheduleWithFixedDelay(this::flushInBackground, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        running = true;
+        return null;
+    }
+
+    /**
+     * Flushes everything still queued and disables write-behind. If the final flush fails,
+     * the journal is kept for the next {@link #start()}.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flushTask.cancel(false);
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(FLUSH_INTERVAL_MILLIS * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        boolean flushed = flushNow();
+        synchronized (lock) {
+            try {
+                journal.close();
+                if (flushed && dirty.isEmpty()) {
+                    Files.deleteIfExists(journalFile);
+                }
+            } catch (IOException e) {
+                System.err.println("Error closing write-behind journal: " + e.getMessage());
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * Queues the item's new values, replacing any update of the same barcode still waiting.
+     * The caller has validated the item.
+     *
+     * @return null once the update is durable in the journal, or an error message.
+     */
+    String enqueue(SupplyItem item) {
+        SupplyItem copy = copyOf(item);
+        StringBuilder line = new StringBuilder();
+        InventoryJson.appendSupplyItem(line, copy);
+        line.append('\n');
+        int waiting;
+        synchronized (lock) {
+            if (journal == null) {
+                return "Write-behind queue is not running.";
+            }
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    journal.write(bytes);
+                }
+                journal.force(false);
+            } catch (IOException e) {
+                System.err.println("Error writing write-behind journal: " + e.getMessage());
+                e.printStackTrace();
+                return "Could not record the update of '" + item.getBarcode() + "': " + e.getMessage();
+            }
+            dirty.put(copy.getBarcode(), copy);
+            waiting = dirty.size();
+        }
+        if (waiting >= MAX_BATCH_SIZE) {
+            try {
+                flusher.execute(this::flushInBackground);
+            } catch (RejectedExecutionException e) {
+                // stop() is shutting the flusher down; its final flush (or the journal) has the row.
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return A copy of the item's queued values not yet in the database, or null.
+     */
+    SupplyItem getPending(String barcode) {
+        synchronized (lock) {
+            SupplyItem pending = dirty.get(barcode);
+            if (pending == null) {
+                pending = inFlight.get(barcode);
+            }
+            if (pending == null) {
+                return null;
+            }
+            SupplyItem copy = copyOf(pending);
+            copy.markClean();
+            return copy;
+        }
+    }
+
+    /**
+     * Drops a queued update, e.g. because the item is being deleted.
+     */
+    void discard(String barcode) {
+        synchronized (lock) {
+            dirty.remove(barcode);
+        }
+    }
+
+    /**
+     * @return The number of queued updates dropped because their item no longer existed.
+     */
+    public long getDroppedUpdateCount() {
+        return droppedUpdates;
+    }
+
+    /**
+     * @return True if updates are waiting to be written.
+     */
+    public boolean hasPendingWrites() {
+        synchronized (lock) {
+            return !dirty.isEmpty() || !inFlight.isEmpty();
+        }
+    }
+
+    /**
+     * Writes queued updates (waiting for a running flush) before a caller reads the
+     * SupplyItem table directly. Cheap when nothing is queued.
+     */
+    public void flushIfPending() {
+        if (hasPendingWrites()) {
+            flushNow();
+        }
+    }
+
+    /**
+     * Like {@link #flushIfPending()}, but only if the given item has a queued update.
+     */
+    public void flushIfPending(String barcode) {
+        if (getPending(barcode) != null) {
+            flushNow();
+        }
+    }
+
+    /**
+     * Writes all queued updates now, on the calling thread.
+     *
+     * @return False if the write failed; the updates then stay queued.
+     */
+    public boolean flushNow() {
+        List<String> missing = new ArrayList<>();
+        boolean flushed;
+        flushLock.lock();
+        try {
+            flushed = flushQueued(missing);
+        } finally {
+            flushLock.unlock();
+        }
+        // Only after flushLock is released: a column store reload flushes while it holds
+        // the store's write lock, so taking that lock here could deadlock.
+        for (String barcode : missing) {
+            // The store took the row in when it was queued.
+            InventoryColumnStore.getInstance().remove(barcode);
+        }
+        return flushed;
+    }
+
+    // Called with flushLock held. Adds the barcodes of dropped updates to missing.
+    private boolean flushQueued(List<String> missing) {
+        Map<String, SupplyItem> batch;
+        synchronized (lock) {
+            if (dirty.isEmpty()) {
+                return true;
+            }
+            batch = dirty;
+            inFlight = batch;
+            dirty = new LinkedHashMap<>();
+        }
+        try {
+            missing.addAll(writeBatch(batch.values()));
+        } catch (SQLException e) {
+            System.err.println("Error flushing " + batch.size() + " queued item update(s), will retry: " + e.getMessage());
+            e.printStackTrace();
+            synchronized (lock) {
+                // Updates queued during the flush are newer than the batch.
+                batch.putAll(dirty);
+                dirty = batch;
+                inFlight = new LinkedHashMap<>();
+            }
+            return false;
+        }
+        synchronized (lock) {
+            inFlight = new LinkedHashMap<>();
+            rewriteJournal(dirty.values());
+        }
+        return true;
+    }
+
+    private void flushInBackground() {
+        try {
+            flushNow();
+        } catch (RuntimeException e) {
+            // Keeps the scheduled flush alive; the rows stay queued for the next attempt.
+            System.err.println("Unexpected error flushing queued item updates: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return The barcodes of the updates that matched no row.
+     */
+    private List<String> writeBatch(Collection<SupplyItem> items) throws SQLException {
+        List<String> missing;
+        DatabaseConnector.beginTransaction();
+        try {
+            missing = supplyItemController.writeSupplyItemRows(items);
+            DatabaseConnector.commitTransaction();
+        } finally {
+            DatabaseConnector.endTransaction();
+        }
+        for (String barcode : missing) {
+            System.err.println("WARNING: Queued update of supply item '" + barcode + "' was not written: the item no longer exists.");
+        }
+        droppedUpdates += missing.size();
+        return missing;
+    }
+
+    // Called with lock held. Replaces the journal atomically by the rows still queued.
+    private void rewriteJournal(Collection<SupplyItem> remaining) {
+        Path tempFile = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (SupplyItem item : remaining) {
+                InventoryJson.appendSupplyItem(lines, item);
+                lines.append('\n');
+            }
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+            journal.close();
+            Files.move(tempFile, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The old journal still holds every queued row (plus some already written,
+            // which a replay writes again with the same values).
+            System.err.println("Error compacting write-behind journal: " + e.getMessage());
+        } finally {
+            try {
+                if (!journal.isOpen()) {
+                    journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                }
+            } catch (IOException e) {
+                System.err.println("CRITICAL: Cannot reopen write-behind journal: " + e.getMessage());
+                journal = null;
+            }
+        }
+    }
+
+    /**
+     * Reads the rows of a journal; later lines for a barcode win. A torn last line (from a
+     * crash while appending) was never acknowledged and is skipped.
+     */
+    private static List<SupplyItem> readJournal(Path file) throws IOException {
+        List<SupplyItem> items = new ArrayList<>();
+        if (!Files.isRegularFile(file)) {
+            return items;
+        }
+        Map<String, Supplier> suppliers = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                Map<?, ?> json = (Map<?, ?>) Json.parse(line);
+                String supplierCode = InventoryJson.supplierCodeOf(json);
+                Supplier supplier = supplierCode != null
+                                    ? suppliers.computeIfAbsent(supplierCode, code -> new Supplier(code, null, null))
+                                    : null;
+                items.add(InventoryJson.toSupplyItem(json, supplier));
+            } catch (IllegalArgumentException | ClassCastException e) {
+                System.err.println("WARNING: Skipping unreadable write-behind journal line: " + e.getMessage());
+            }
+        }
+        return items;
+    }
+
+    private static SupplyItem copyOf(SupplyItem item) {
+        SupplyItem copy = new SupplyItem(item.getBarcode(), item.getProductTitle(), item.getProductDetails(),
+                                         item.getCategory(), item.getAvailableUnits(), item.getThresholdStock());
+        copy.setExpirationDate(item.getExpirationDate());
+        Supplier supplier = item.getSupplier();
+        if (supplier != null) {
+            copy.setSupplier(new Supplier(supplier.getSupplierCode(), supplier.getSupplierName(), supplier.getRecentSupplyDate()));
+        }
+        return copy;
+    }
+}
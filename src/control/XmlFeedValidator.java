@@ -0,0 +1,182 @@
+package control;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import util.Constants;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.Validator;
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+
+/**
+ * Checks a feed against the shipped {@value util.Constants#FEED_SCHEMA_FILE_NAME} before
+ * anything is imported, so a feed that is broken deep inside is rejected in seconds instead
+ * of after a long partial import. The feed is streamed through a StAX reader, so memory use
+ * does not grow with its size. Stops after {@link #MAX_VIOLATIONS} violations.
+ */
+public class XmlFeedValidator {
+
+    public static final int MAX_VIOLATIONS = 100;
+
+    private static volatile Schema schema;
+
+    /**
+     * @return The result of the check; never null. A missing file, a missing schema or
+     *         malformed XML are reported as violations.
+     */
+    public FeedValidationResult validate(String xmlFilePath) {
+        FeedValidationResult result = new FeedValidationResult();
+        long startNanos = System.nanoTime();
+        ViolationCollector collector = new ViolationCollector(result);
+        XMLStreamReader reader = null;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(xmlFilePath))) {
+            Validator validator = getSchema().newValidator();
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            validator.setErrorHandler(collector);
+            reader = XmlImportController.newInputFactory().createXMLStreamReader(in);
+            validator.validate(new StAXSource(reader));
+        } catch (SAXException e) {
+            result.setAborted(true);
+            // Otherwise the collector stopped the check and has recorded why.
+            if (!collector.stopped) {
+                XMLStreamException parseError = findParseError(e);
+                result.addViolation(parseError != null ? violationOf(parseError) : violationOf(e), MAX_VIOLATIONS);
+            }
+        } catch (XMLStreamException e) {
+            result.setAborted(true);
+            result.addViolation(violationOf(e), MAX_VIOLATIONS);
+        } catch (IOException e) {
+            result.setAborted(true);
+            result.addViolation(new FeedValidationResult.Violation(-1, -1, "Cannot read feed: " + e.getMessage()), MAX_VIOLATIONS);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    System.err.println("WARNING: Error closing XML reader: " + e.getMessage());
+                }
+            }
+            result.setElapsedMillis((System.nanoTime() - startNanos) / 1_000_000);
+        }
+        return result;
+    }
+
+    /**
+     * Loads the schema once; a {@link Schema} can be shared by any number of validators.
+     */
+    private static Schema getSchema() throws SAXException, IOException {
+        Schema loaded = schema;
+        if (loaded == null) {
+            synchronized (XmlFeedValidator.class) {
+                loaded = schema;
+                if (loaded == null) {
+                    URL url = XmlFeedValidator.class.getResource("/" + Constants.FEED_SCHEMA_FILE_NAME);
+                    if (url == null) {
+                        throw new IOException("Schema '" + Constants.FEED_SCHEMA_FILE_NAME + "' not found on the classpath.");
+                    }
+                    SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+                    factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+                    factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+                    loaded = factory.newSchema(url);
+                    schema = loaded;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @return The reader's error if the feed is not well-formed; the validator reports it
+     *         wrapped, without its location.
+     */
+    private static XMLStreamException findParseError(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof XMLStreamException) {
+                return (XMLStreamException) cause;
+            }
+        }
+        return null;
+    }
+
+    private static FeedValidationResult.Violation violationOf(XMLStreamException e) {
+        int line = e.getLocation() != null ? e.getLocation().getLineNumber() : -1;
+        int column = e.getLocation() != null ? e.getLocation().getColumnNumber() : -1;
+        // The message repeats the location before the actual text.
+        String message = e.getMessage() != null ? e.getMessage() : e.toString();
+        int text = message.indexOf("Message: ");
+        return new FeedValidationResult.Violation(line, column,
+                "Malformed XML: " + (text >= 0 ? message.substring(text + "Message: ".length()) : message));
+    }
+
+    private static FeedValidationResult.Violation violationOf(SAXException e) {
+        if (e instanceof SAXParseException) {
+            SAXParseException parseException = (SAXParseException) e;
+            return new FeedValidationResult.Violation(parseException.getLineNumber(), parseException.getColumnNumber(), e.getMessage());
+        }
+        return new FeedValidationResult.Violation(-1, -1, e.getMessage());
+    }
+
+    /**
+     * Records each violation and lets validation continue until the limit; a fatal error
+     * (malformed XML) ends it. An invalid attribute value is reported twice, once for its
+     * type and then once for the attribute, both at the end of the element's start tag;
+     * only the latter is kept. Other attributes of the same element are kept separately.
+     */
+    private static class ViolationCollector implements ErrorHandler {
+        private final FeedValidationResult result;
+        private int lastLine = -1;
+        private int lastColumn = -1;
+        private boolean lastWasAttributeReport = false;
+        private boolean stopped = false;
+
+        ViolationCollector(FeedValidationResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public void warning(SAXParseException e) {
+        }
+
+        @Override
+        public void error(SAXParseException e) throws SAXException {
+            if (stopped) {
+                throw e;
+            }
+            boolean attributeReport = e.getMessage() != null && e.getMessage().startsWith("cvc-attribute.");
+            boolean samePosition = e.getLineNumber() == lastLine && e.getColumnNumber() == lastColumn;
+            if (samePosition && attributeReport && !lastWasAttributeReport) {
+                result.replaceLastViolation(violationOf(e));
+                lastWasAttributeReport = true;
+                return;
+            }
+            lastLine = e.getLineNumber();
+            lastColumn = e.getColumnNumber();
+            lastWasAttributeReport = attributeReport;
+            result.addViolation(violationOf(e), MAX_VIOLATIONS);
+            if (result.getViolationCount() >= MAX_VIOLATIONS) {
+                stopped = true;
+                throw e;
+            }
+        }
+
+        @Override
+        public void fatalError(SAXParseException e) throws SAXException {
+            if (!stopped) {
+                stopped = true;
+                result.addViolation(violationOf(e), MAX_VIOLATIONS);
+            }
+            throw e;
+        }
+    }
+}
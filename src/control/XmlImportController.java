@@ -2,186 +2,396 @@ package control;
 
 import entity.Supplier;
 import entity.SupplyItem;
+import util.DatabaseConnector;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 /**
  * Controller class responsible for importing inventory and supplier data
  * from an XML file (Supir system format) and persisting it to the database.
+ * <p>
+ * The feed is read with a streaming (StAX) parser and written in batches of
+ * {@link #BATCH_SIZE} records, each committed as one transaction. Progress can be
+ * observed with an {@link ImportProgressListener} and the import can be stopped with
+ * an {@link ImportCancellationToken}; the uncommitted batch is then rolled back.
+ * With {@link #setSchemaValidation(boolean)}, the feed is first checked by the
+ * {@link XmlFeedValidator} and rejected as a whole if it does not match the schema.
  */
 public class XmlImportController {
 
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE; // yyyy-MM-dd
+    public static final int BATCH_SIZE = 500;
+    private static final int PROGRESS_INTERVAL = 100;
+
     private SupplierController supplierController;
     private SupplyItemController supplyItemController;
+    private boolean schemaValidation = false;
 
     public XmlImportController() {
         this.supplierController = new SupplierController();
-        this.supplyItemController = new SupplyItemController(this.supplierController); 
+        this.supplyItemController = new SupplyItemController(this.supplierController);
+    }
+
+    /**
+     * @param schemaValidation True to check each feed against the schema before importing
+     *                         it, and to import nothing from a feed that fails the check.
+     */
+    public void setSchemaValidation(boolean schemaValidation) {
+        this.schemaValidation = schemaValidation;
     }
 
     public ImportResult importDataFromXml(String xmlFilePath) {
-        ImportResult result = new ImportResult(); 
+        return importDataFromXml(xmlFilePath, null, null);
+    }
+
+    /**
+     * Imports the given feed.
+     *
+     * @param xmlFilePath The feed to import.
+     * @param progressListener Receives progress updates on the importing thread; may be null.
+     * @param cancellationToken Checked between records; may be null.
+     * @return The result of the import; never null.
+     */
+    public ImportResult importDataFromXml(String xmlFilePath, ImportProgressListener progressListener,
+                                         ImportCancellationToken cancellationToken) {
+        ImportResult result = new ImportResult();
         File xmlFile = new File(xmlFilePath);
+        try {
+            result.startLog(Files.createTempFile("dentalcare-import-", ".log"));
+        } catch (IOException e) {
+            System.err.println("WARNING: Could not create import log file: " + e.getMessage());
+        }
 
         if (!xmlFile.exists()) {
-            result.addErrorMessage("XML file not found: " + xmlFilePath);
+            result.addErrorMessage(ImportResult.IssueCategory.FILE, "XML file not found: " + xmlFilePath);
+            result.closeLog();
+            return result;
+        }
+        if (schemaValidation && !validateFeed(xmlFilePath, result)) {
+            result.closeLog();
             return result;
         }
 
-        try {
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-            Document doc = dBuilder.parse(xmlFile);
-            doc.getDocumentElement().normalize();
-
-            // --- Step 1: Parse and Process Suppliers from XML ---
-            NodeList supplierNodeList = doc.getElementsByTagName("supplier");
-            for (int i = 0; i < supplierNodeList.getLength(); i++) {
-                Node supplierNode = supplierNodeList.item(i);
-                if (supplierNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element supplierElement = (Element) supplierNode;
-                    Supplier parsedSupplier = new Supplier();
-                    String supplierCode = supplierElement.getAttribute("supplierCode");
-                    parsedSupplier.setSupplierCode(supplierCode);
-                    parsedSupplier.setSupplierName(supplierElement.getAttribute("supplierName"));
-                    String recentSupplyDateStr = supplierElement.getAttribute("recentSupplyDate");
-
-                    try {
-                        if (recentSupplyDateStr != null && !recentSupplyDateStr.isEmpty() && !recentSupplyDateStr.equalsIgnoreCase("N/A")) {
-                            parsedSupplier.setRecentSupplyDate(LocalDate.parse(recentSupplyDateStr, DATE_FORMATTER));
-                        }
-                    } catch (DateTimeParseException e) {
-                        result.addErrorMessage("Supplier '" + supplierCode + "': Invalid recentSupplyDate format '" + recentSupplyDateStr + "'. Date not set. Error: " + e.getMessage());
-                    }
-
-                    Supplier existingSupplier = supplierController.getSupplierByCode(supplierCode);
-                    String operationErrorMessage; 
-
-                    if (existingSupplier != null) {
-                        existingSupplier.setSupplierName(parsedSupplier.getSupplierName());
-                        if (parsedSupplier.getRecentSupplyDate() != null) { 
-                            existingSupplier.setRecentSupplyDate(parsedSupplier.getRecentSupplyDate());
-                        }
-                        operationErrorMessage = supplierController.updateSupplier(existingSupplier);
-                        if (operationErrorMessage == null) { 
-                            result.incrementSuppliersUpdated();
-                        } else {
-                            result.incrementSuppliersFailed();
-                            result.addErrorMessage("Supplier '" + supplierCode + "': Update failed - " + operationErrorMessage);
-                        }
-                    } else {
-                        operationErrorMessage = supplierController.addSupplier(parsedSupplier);
-                        if (operationErrorMessage == null) { 
-                            result.incrementSuppliersAdded();
-                        } else {
-                            result.incrementSuppliersFailed();
-                            result.addErrorMessage("Supplier '" + supplierCode + "': Add failed - " + operationErrorMessage);
-                        }
-                    }
+        long startNanos = System.nanoTime();
+        long totalBytes = xmlFile.length();
+        int recordsParsed = 0;
+        int recordsWritten = 0;
+        int recordsInBatch = 0;
+        XMLStreamReader reader = null;
+
+        // Queued updates must not later overwrite what the import writes.
+        WriteBehindQueue.getInstance().flushIfPending();
+        try (CountingInputStream in = new CountingInputStream(new BufferedInputStream(new FileInputStream(xmlFile)))) {
+            DatabaseConnector.beginTransaction();
+            result.checkpoint();
+            reader = newInputFactory().createXMLStreamReader(in);
+
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String elementName = reader.getLocalName();
+                boolean written;
+                if ("supplier".equals(elementName)) {
+                    written = importSupplier(reader, result);
+                } else if ("item".equals(elementName)) {
+                    written = importItem(reader, result);
+                } else {
+                    continue;
+                }
+                recordsParsed++;
+                if (written) {
+                    recordsWritten++;
                 }
-            }
 
-            // --- Step 2: Parse and Process Supply Items from XML ---
-            NodeList itemNodeList = doc.getElementsByTagName("item");
-            for (int i = 0; i < itemNodeList.getLength(); i++) {
-                Node itemNode = itemNodeList.item(i);
-                if (itemNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element itemElement = (Element) itemNode;
-                    SupplyItem parsedItem = new SupplyItem();
-                    String itemBarcode = itemElement.getAttribute("barcode");
-                    parsedItem.setBarcode(itemBarcode);
-                    parsedItem.setProductTitle(itemElement.getAttribute("productTitle"));
-                    parsedItem.setProductDetails(itemElement.getAttribute("productDetails"));
-                    parsedItem.setCategory(itemElement.getAttribute("category"));
-
-                    try {
-                        String availableUnitsStr = itemElement.getAttribute("availableUnits");
-                        if (availableUnitsStr != null && !availableUnitsStr.isEmpty()) {
-                            parsedItem.setAvailableUnits(Integer.parseInt(availableUnitsStr));
-                        }
-                        String thresholdStockStr = itemElement.getAttribute("thresholdStock");
-                        if (thresholdStockStr != null && !thresholdStockStr.isEmpty()) {
-                            parsedItem.setThresholdStock(Integer.parseInt(thresholdStockStr));
-                        }
-                    } catch (NumberFormatException e) {
-                        result.addErrorMessage("Item '" + itemBarcode + "': Invalid number format for units/threshold. Skipping these values. Error: " + e.getMessage());
-                    }
-                    
-                    String expirationDateStr = itemElement.getAttribute("expirationDate");
-                    if (expirationDateStr != null && !expirationDateStr.trim().isEmpty() && !expirationDateStr.equalsIgnoreCase("N/A")) {
-                        try {
-                            parsedItem.setExpirationDate(LocalDate.parse(expirationDateStr, DATE_FORMATTER));
-                        } catch (DateTimeParseException e) {
-                            result.addErrorMessage("Item '" + itemBarcode + "': Invalid expirationDate format '" + expirationDateStr + "'. Date not set. Error: " + e.getMessage());
-                        }
-                    }
-
-                    String itemSupplierCode = itemElement.getAttribute("supplierCode");
-                    if (itemSupplierCode != null && !itemSupplierCode.isEmpty()) {
-                        Supplier linkedSupplier = this.supplierController.getSupplierByCode(itemSupplierCode); // Use the instance from constructor
-                        if (linkedSupplier != null) {
-                            parsedItem.setSupplier(linkedSupplier);
-                        } else {
-                             result.addMessage("Warning for Item '" + itemBarcode + "': XML references Supplier Code '" + itemSupplierCode + "' which was not found in DB or could not be added/updated from this XML batch. Item will be processed without this specific supplier link if added/updated.");
-                        }
-                    }
-
-                    SupplyItem existingItem = supplyItemController.getSupplyItemByBarcode(itemBarcode);
-                    String operationErrorMessage; 
-
-                    if (existingItem != null) {
-                        existingItem.setProductTitle(parsedItem.getProductTitle());
-                        existingItem.setProductDetails(parsedItem.getProductDetails());
-                        existingItem.setCategory(parsedItem.getCategory());
-                        existingItem.setAvailableUnits(parsedItem.getAvailableUnits()); 
-                        existingItem.setExpirationDate(parsedItem.getExpirationDate()); 
-                        existingItem.setThresholdStock(parsedItem.getThresholdStock()); 
-                        existingItem.setSupplier(parsedItem.getSupplier()); 
-
-                        operationErrorMessage = supplyItemController.updateSupplyItem(existingItem);
-                        if (operationErrorMessage == null) { 
-                            result.incrementItemsUpdated();
-                        } else {
-                            result.incrementItemsFailed();
-                            result.addErrorMessage("Item '" + itemBarcode + "': Update failed - " + operationErrorMessage);
-                        }
-                    } else {
-                        if (parsedItem.getSupplierCode() != null && !parsedItem.getSupplierCode().isEmpty() && parsedItem.getSupplier() == null) {
-                            result.addErrorMessage("Item '" + itemBarcode + "': Cannot add. Linked supplier code '" + parsedItem.getSupplierCode() + "' not found in database.");
-                            result.incrementItemsFailed();
-                            continue;
-                        }
-                        operationErrorMessage = supplyItemController.addSupplyItem(parsedItem); 
-                        if (operationErrorMessage == null) { 
-                            result.incrementItemsAdded();
-                        } else {
-                            result.incrementItemsFailed();
-                            result.addErrorMessage("Item '" + itemBarcode + "': Add failed - " + operationErrorMessage);
-                        }
-                    }
+                if (cancellationToken != null && cancellationToken.isCancelled()) {
+                    DatabaseConnector.rollbackTransaction();
+                    InventoryColumnStore.getInstance().invalidate();
+                    SupplierDirectory.getInstance().invalidate();
+                    int discarded = result.revertToCheckpoint();
+                    result.setCancelled(true);
+                    result.addMessage("Import cancelled by user. " + discarded + " record(s) of the open batch were rolled back.");
+                    break;
+                }
+                if (++recordsInBatch >= BATCH_SIZE) {
+                    DatabaseConnector.commitTransaction();
+                    result.checkpoint();
+                    recordsInBatch = 0;
                 }
+                if (progressListener != null && recordsParsed % PROGRESS_INTERVAL == 0) {
+                    progressListener.onProgress(new ImportProgress(in.getCount(), totalBytes, recordsParsed, recordsWritten,
+                            (System.nanoTime() - startNanos) / 1_000_000));
+                }
+            }
+            if (!result.isCancelled()) {
+                DatabaseConnector.commitTransaction();
+                result.checkpoint();
+            }
+            if (progressListener != null) {
+                progressListener.onProgress(new ImportProgress(in.getCount(), totalBytes, recordsParsed, recordsWritten,
+                        (System.nanoTime() - startNanos) / 1_000_000));
             }
 
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            result.addErrorMessage("Critical XML Parsing Error: " + e.getMessage());
-            e.printStackTrace(); 
-        } catch (Exception e) { 
-            result.addErrorMessage("Unexpected critical error during import: " + e.getMessage());
+        } catch (XMLStreamException | IOException e) {
+            rollbackOpenBatch(result);
+            result.addErrorMessage(ImportResult.IssueCategory.FILE, "Critical XML Parsing Error: " + e.getMessage());
             e.printStackTrace();
+        } catch (Exception e) {
+            rollbackOpenBatch(result);
+            result.addErrorMessage(ImportResult.IssueCategory.UNEXPECTED, "Unexpected critical error during import: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    System.err.println("WARNING: Error closing XML reader: " + e.getMessage());
+                }
+            }
+            DatabaseConnector.endTransaction();
+            result.closeLog();
         }
         return result;
     }
-}
\ No newline at end of file
+
+    /**
+     * Records the feed's schema violations in the result.
+     *
+     * @return True if the feed matches the schema.
+     */
+    private boolean validateFeed(String xmlFilePath, ImportResult result) {
+        FeedValidationResult validation = new XmlFeedValidator().validate(xmlFilePath);
+        if (validation.isValid()) {
+            return true;
+        }
+        for (FeedValidationResult.Violation violation : validation.getViolations()) {
+            result.addErrorMessage(ImportResult.IssueCategory.SCHEMA, "Line " + violation.getLine() + ", column "
+                    + violation.getColumn() + ": " + violation.getMessage());
+        }
+        String extent = validation.isAborted()
+                ? "Validation stopped after " + validation.getViolationCount() + " violation(s)"
+                : validation.getViolationCount() + " violation(s) found";
+        result.addErrorMessage(ImportResult.IssueCategory.FILE, "Feed rejected by schema validation. " + extent + "; nothing was imported.");
+        return false;
+    }
+
+    private void rollbackOpenBatch(ImportResult result) {
+        if (!DatabaseConnector.isInTransaction()) {
+            return;
+        }
+        try {
+            DatabaseConnector.rollbackTransaction();
+        } catch (SQLException e) {
+            System.err.println("WARNING: Rollback of the open import batch failed: " + e.getMessage());
+        }
+        // Rows written through to the column store may have been rolled back.
+        InventoryColumnStore.getInstance().invalidate();
+        SupplierDirectory.getInstance().invalidate();
+        int discarded = result.revertToCheckpoint();
+        if (discarded > 0) {
+            result.addMessage(discarded + " record(s) of the open batch were rolled back; earlier batches were kept.");
+        }
+    }
+
+    static XMLInputFactory newInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    // Missing attributes read as "" to match the DOM getAttribute() behaviour the import was built on.
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        return value != null ? value : "";
+    }
+
+    /**
+     * Like {@link #attribute(XMLStreamReader, String)}, for numbers and dates: surrounding
+     * whitespace is dropped, as the schema's xs:int and xs:date types do before checking.
+     */
+    private static String valueAttribute(XMLStreamReader reader, String name) {
+        return attribute(reader, name).trim();
+    }
+
+    /**
+     * Adds or updates the supplier at the reader's current element.
+     *
+     * @return true if the supplier was written to the database.
+     */
+    private boolean importSupplier(XMLStreamReader reader, ImportResult result) {
+        Supplier parsedSupplier = new Supplier();
+        String supplierCode = SupplierRowMapper.SUPPLIER_CODES.intern(attribute(reader, "supplierCode"));
+        parsedSupplier.setSupplierCode(supplierCode);
+        parsedSupplier.setSupplierName(attribute(reader, "supplierName"));
+        String recentSupplyDateStr = valueAttribute(reader, "recentSupplyDate");
+
+        try {
+            if (!recentSupplyDateStr.isEmpty() && !recentSupplyDateStr.equalsIgnoreCase("N/A")) {
+                parsedSupplier.setRecentSupplyDate(LocalDate.parse(recentSupplyDateStr, DATE_FORMATTER));
+            }
+        } catch (DateTimeParseException e) {
+            result.addErrorMessage(ImportResult.IssueCategory.SUPPLIER_DATE, "Supplier '" + supplierCode + "': Invalid recentSupplyDate format '" + recentSupplyDateStr + "'. Date not set. Error: " + e.getMessage());
+        }
+
+        Supplier existingSupplier = supplierController.getSupplierByCode(supplierCode);
+        String operationErrorMessage;
+
+        if (existingSupplier != null) {
+            existingSupplier.setSupplierName(parsedSupplier.getSupplierName());
+            if (parsedSupplier.getRecentSupplyDate() != null) {
+                existingSupplier.setRecentSupplyDate(parsedSupplier.getRecentSupplyDate());
+            }
+            operationErrorMessage = supplierController.updateSupplier(existingSupplier);
+            if (operationErrorMessage == null) {
+                result.incrementSuppliersUpdated();
+                return true;
+            }
+            result.incrementSuppliersFailed();
+            result.addErrorMessage(ImportResult.IssueCategory.SUPPLIER_WRITE, "Supplier '" + supplierCode + "': Update failed - " + operationErrorMessage);
+        } else {
+            operationErrorMessage = supplierController.addSupplier(parsedSupplier);
+            if (operationErrorMessage == null) {
+                result.incrementSuppliersAdded();
+                return true;
+            }
+            result.incrementSuppliersFailed();
+            result.addErrorMessage(ImportResult.IssueCategory.SUPPLIER_WRITE, "Supplier '" + supplierCode + "': Add failed - " + operationErrorMessage);
+        }
+        return false;
+    }
+
+    /**
+     * Adds or updates the supply item at the reader's current element.
+     *
+     * @return true if the item was written to the database.
+     */
+    private boolean importItem(XMLStreamReader reader, ImportResult result) {
+        SupplyItem parsedItem = new SupplyItem();
+        String itemBarcode = attribute(reader, "barcode");
+        parsedItem.setBarcode(itemBarcode);
+        parsedItem.setProductTitle(attribute(reader, "productTitle"));
+        parsedItem.setProductDetails(attribute(reader, "productDetails"));
+        parsedItem.setCategory(CategoryRegistry.getInstance().canonical(attribute(reader, "category")));
+
+        try {
+            String availableUnitsStr = valueAttribute(reader, "availableUnits");
+            if (!availableUnitsStr.isEmpty()) {
+                parsedItem.setAvailableUnits(Integer.parseInt(availableUnitsStr));
+            }
+            String thresholdStockStr = valueAttribute(reader, "thresholdStock");
+            if (!thresholdStockStr.isEmpty()) {
+                parsedItem.setThresholdStock(Integer.parseInt(thresholdStockStr));
+            }
+        } catch (NumberFormatException e) {
+            result.addErrorMessage(ImportResult.IssueCategory.ITEM_NUMBER, "Item '" + itemBarcode + "': Invalid number format for units/threshold. Skipping these values. Error: " + e.getMessage());
+        }
+
+        String expirationDateStr = valueAttribute(reader, "expirationDate");
+        if (!expirationDateStr.isEmpty() && !expirationDateStr.equalsIgnoreCase("N/A")) {
+            try {
+                parsedItem.setExpirationDate(LocalDate.parse(expirationDateStr, DATE_FORMATTER));
+            } catch (DateTimeParseException e) {
+                result.addErrorMessage(ImportResult.IssueCategory.ITEM_DATE, "Item '" + itemBarcode + "': Invalid expirationDate format '" + expirationDateStr + "'. Date not set. Error: " + e.getMessage());
+            }
+        }
+
+        String itemSupplierCode = SupplierRowMapper.SUPPLIER_CODES.intern(attribute(reader, "supplierCode"));
+        if (!itemSupplierCode.isEmpty()) {
+            Supplier linkedSupplier = this.supplierController.getSupplierByCode(itemSupplierCode); // Use the instance from constructor
+            if (linkedSupplier != null) {
+                parsedItem.setSupplier(linkedSupplier);
+            } else {
+                 result.addMessage(ImportResult.IssueCategory.ITEM_SUPPLIER_MISSING, "Warning for Item '" + itemBarcode + "': XML references Supplier Code '" + itemSupplierCode + "' which was not found in DB or could not be added/updated from this XML batch. Item will be processed without this specific supplier link if added/updated.");
+            }
+        }
+
+        SupplyItem existingItem = supplyItemController.getSupplyItemByBarcode(itemBarcode);
+        String operationErrorMessage;
+
+        if (existingItem != null) {
+            existingItem.setProductTitle(parsedItem.getProductTitle());
+            existingItem.setProductDetails(parsedItem.getProductDetails());
+            existingItem.setCategory(parsedItem.getCategory());
+            existingItem.setAvailableUnits(parsedItem.getAvailableUnits());
+            existingItem.setExpirationDate(parsedItem.getExpirationDate());
+            existingItem.setThresholdStock(parsedItem.getThresholdStock());
+            existingItem.setSupplier(parsedItem.getSupplier());
+
+            operationErrorMessage = supplyItemController.updateSupplyItem(existingItem);
+            if (operationErrorMessage == null) {
+                result.incrementItemsUpdated();
+                return true;
+            }
+            result.incrementItemsFailed();
+            result.addErrorMessage(ImportResult.IssueCategory.ITEM_WRITE, "Item '" + itemBarcode + "': Update failed - " + operationErrorMessage);
+        } else {
+            if (parsedItem.getSupplierCode() != null && !parsedItem.getSupplierCode().isEmpty() && parsedItem.getSupplier() == null) {
+                result.addErrorMessage(ImportResult.IssueCategory.ITEM_SUPPLIER_MISSING, "Item '" + itemBarcode + "': Cannot add. Linked supplier code '" + parsedItem.getSupplierCode() + "' not found in database.");
+                result.incrementItemsFailed();
+                return false;
+            }
+            operationErrorMessage = supplyItemController.addSupplyItem(parsedItem);
+            if (operationErrorMessage == null) {
+                result.incrementItemsAdded();
+                return true;
+            }
+            result.incrementItemsFailed();
+            result.addErrorMessage(ImportResult.IssueCategory.ITEM_WRITE, "Item '" + itemBarcode + "': Add failed - " + operationErrorMessage);
+        }
+        return false;
+    }
+
+    /**
+     * Counts the bytes consumed by the parser so progress can be reported against the file size.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -2,25 +2,42 @@ package entity;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A supplier. Like {@link SupplyItem}, suppliers read from the database track which
+ * fields were changed afterwards. Their supplied items are loaded on the first call to
+ * {@link #getSuppliedItems()}.
+ */
 public class Supplier {
 
+    /** The columns an update can change; the supplier code is the key. */
+    public enum Field { SUPPLIER_NAME, RECENT_SUPPLY_DATE }
+
     private String supplierCode; 
     private String supplierName;
     private LocalDate recentSupplyDate;
-    private List<SupplyItem> suppliedItems; 
+    private List<SupplyItem> suppliedItems; // Null until loaded or set
+    private Function<Supplier, List<SupplyItem>> suppliedItemsLoader;
+
+    private boolean trackingChanges = false;
+    private final Set<Field> changedFields = EnumSet.noneOf(Field.class);
+    private final Map<Field, Object> originalValues = new EnumMap<>(Field.class); // Of the changed fields
 
     public Supplier() {
-        this.suppliedItems = new ArrayList<>();
     }
 
     public Supplier(String supplierCode, String supplierName, LocalDate recentSupplyDate) {
         this.supplierCode = supplierCode;
         this.supplierName = supplierName;
         this.recentSupplyDate = recentSupplyDate;
-        this.suppliedItems = new ArrayList<>();
     }
 
     public String getSupplierCode() {
@@ -36,6 +53,7 @@ public class Supplier {
     }
 
     public void setSupplierName(String supplierName) {
+        changed(Field.SUPPLIER_NAME, this.supplierName, supplierName);
         this.supplierName = supplierName;
     }
 
@@ -44,10 +62,19 @@ public class Supplier {
     }
 
     public void setRecentSupplyDate(LocalDate recentSupplyDate) {
+        changed(Field.RECENT_SUPPLY_DATE, this.recentSupplyDate, recentSupplyDate);
         this.recentSupplyDate = recentSupplyDate;
     }
 
+    /**
+     * @return The items of this supplier, loaded by the {@link #setSuppliedItemsLoader loader}
+     *         on first use; empty if the supplier has no loader.
+     */
     public List<SupplyItem> getSuppliedItems() {
+        if (suppliedItems == null) {
+            List<SupplyItem> loaded = suppliedItemsLoader != null ? suppliedItemsLoader.apply(this) : null;
+            suppliedItems = loaded != null ? loaded : new ArrayList<>();
+        }
         return suppliedItems;
     }
 
@@ -55,15 +82,88 @@ public class Supplier {
         this.suppliedItems = suppliedItems;
     }
 
+    /**
+     * Sets how {@link #getSuppliedItems()} reads the items, e.g. from the database. The
+     * items already loaded are dropped, so the next call reloads them.
+     */
+    public void setSuppliedItemsLoader(Function<Supplier, List<SupplyItem>> suppliedItemsLoader) {
+        this.suppliedItemsLoader = suppliedItemsLoader;
+        this.suppliedItems = null;
+    }
+
+    public boolean isSuppliedItemsLoaded() {
+        return suppliedItems != null;
+    }
+
     public void addSupplyItem(SupplyItem item) {
         if (item != null) {
-            this.suppliedItems.add(item);
+            getSuppliedItems().add(item);
             if (item.getSupplier() != this) { 
                 item.setSupplier(this);
             }
         }
     }
 
+    /**
+     * Starts tracking changes from the current values.
+     */
+    public void markClean() {
+        changedFields.clear();
+        originalValues.clear();
+        trackingChanges = true;
+    }
+
+    public boolean isTrackingChanges() {
+        return trackingChanges;
+    }
+
+    /**
+     * @return The fields set to a different value since {@link #markClean()}.
+     */
+    public Set<Field> getChangedFields() {
+        return Collections.unmodifiableSet(changedFields);
+    }
+
+    /**
+     * @return A copy with the same values, change tracking and item loader (the items
+     *         themselves are loaded again on demand).
+     */
+    public Supplier copy() {
+        Supplier copy = new Supplier(supplierCode, supplierName, recentSupplyDate);
+        copy.suppliedItemsLoader = suppliedItemsLoader;
+        copy.trackingChanges = trackingChanges;
+        copy.changedFields.addAll(changedFields);
+        copy.originalValues.putAll(originalValues);
+        return copy;
+    }
+
+    /**
+     * @return A copy with the values as of {@link #markClean()}, without supplied items,
+     *         or null if changes are not tracked.
+     */
+    public Supplier getOriginal() {
+        if (!trackingChanges) {
+            return null;
+        }
+        Supplier original = new Supplier(supplierCode, supplierName, recentSupplyDate);
+        if (originalValues.containsKey(Field.SUPPLIER_NAME)) {
+            original.supplierName = (String) originalValues.get(Field.SUPPLIER_NAME);
+        }
+        if (originalValues.containsKey(Field.RECENT_SUPPLY_DATE)) {
+            original.recentSupplyDate = (LocalDate) originalValues.get(Field.RECENT_SUPPLY_DATE);
+        }
+        return original;
+    }
+
+    private void changed(Field field, Object oldValue, Object newValue) {
+        if (trackingChanges && !Objects.equals(oldValue, newValue)) {
+            changedFields.add(field);
+            if (!originalValues.containsKey(field)) {
+                originalValues.put(field, oldValue);
+            }
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
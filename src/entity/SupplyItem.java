@@ -1,10 +1,22 @@
 package entity;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+/**
+ * An inventory item. Items read from the database track which fields were changed
+ * afterwards (see {@link #getChangedFields()}), so an update can write only those columns.
+ */
 public class SupplyItem {
 
+    /** The columns an update can change; the barcode is the key. */
+    public enum Field { PRODUCT_TITLE, PRODUCT_DETAILS, CATEGORY, AVAILABLE_UNITS, EXPIRATION_DATE, THRESHOLD_STOCK, SUPPLIER }
+
     private String barcode; 
     private String productTitle;
     private String productDetails;
@@ -14,6 +26,10 @@ public class SupplyItem {
     private int thresholdStock;
     private Supplier supplier; 
 
+    private boolean trackingChanges = false;
+    private final Set<Field> changedFields = EnumSet.noneOf(Field.class);
+    private final Map<Field, Object> originalValues = new EnumMap<>(Field.class); // Of the changed fields; the supplier by code
+
     public SupplyItem() {
     }
     
@@ -40,6 +56,7 @@ public class SupplyItem {
     }
 
     public void setProductTitle(String productTitle) {
+        changed(Field.PRODUCT_TITLE, this.productTitle, productTitle);
         this.productTitle = productTitle;
     }
 
@@ -48,6 +65,7 @@ public class SupplyItem {
     }
 
     public void setProductDetails(String productDetails) {
+        changed(Field.PRODUCT_DETAILS, this.productDetails, productDetails);
         this.productDetails = productDetails;
     }
 
@@ -56,6 +74,7 @@ public class SupplyItem {
     }
 
     public void setCategory(String category) {
+        changed(Field.CATEGORY, this.category, category);
         this.category = category;
     }
     
@@ -64,6 +83,7 @@ public class SupplyItem {
     }
 
     public void setAvailableUnits(int availableUnits) {
+        changed(Field.AVAILABLE_UNITS, this.availableUnits, availableUnits);
         this.availableUnits = availableUnits;
     }
 
@@ -72,6 +92,7 @@ public class SupplyItem {
     }
 
     public void setExpirationDate(LocalDate expirationDate) {
+        changed(Field.EXPIRATION_DATE, this.expirationDate, expirationDate);
         this.expirationDate = expirationDate;
     }
 
@@ -80,6 +101,7 @@ public class SupplyItem {
     }
 
     public void setThresholdStock(int thresholdStock) {
+        changed(Field.THRESHOLD_STOCK, this.thresholdStock, thresholdStock);
         this.thresholdStock = thresholdStock;
     }
 
@@ -88,16 +110,89 @@ public class SupplyItem {
     }
 
     public void setSupplier(Supplier supplier) {
+        changed(Field.SUPPLIER, getSupplierCode(), supplier != null ? supplier.getSupplierCode() : null);
         this.supplier = supplier;
-        if (supplier != null && !supplier.getSuppliedItems().contains(this)) {
-            supplier.addSupplyItem(this); // Maintain bidirectional relationship
-        }
+        // The supplier's item list is loaded on demand rather than collected here.
     }
 
     public String getSupplierCode() {
         return (this.supplier != null) ? this.supplier.getSupplierCode() : null;
     }
 
+    /**
+     * Starts tracking changes from the current values, e.g. right after the item was read
+     * from or written to the database.
+     */
+    public void markClean() {
+        changedFields.clear();
+        originalValues.clear();
+        trackingChanges = true;
+    }
+
+    /**
+     * @return True if {@link #getChangedFields()} is known; false for items built from
+     *         scratch, which must be written in full.
+     */
+    public boolean isTrackingChanges() {
+        return trackingChanges;
+    }
+
+    /**
+     * @return The fields set to a different value since {@link #markClean()}.
+     */
+    public Set<Field> getChangedFields() {
+        return Collections.unmodifiableSet(changedFields);
+    }
+
+    /**
+     * @return A copy with the same values and change tracking, e.g. for an edit dialog to
+     *         modify; it refers to the same supplier without joining its item list.
+     */
+    public SupplyItem copy() {
+        SupplyItem copy = new SupplyItem(barcode, productTitle, productDetails, category, availableUnits, thresholdStock);
+        copy.expirationDate = expirationDate;
+        copy.supplier = supplier;
+        copy.trackingChanges = trackingChanges;
+        copy.changedFields.addAll(changedFields);
+        copy.originalValues.putAll(originalValues);
+        return copy;
+    }
+
+    /**
+     * @return A copy with the values as of {@link #markClean()} (the supplier by code
+     *         only), or null if changes are not tracked.
+     */
+    public SupplyItem getOriginal() {
+        if (!trackingChanges) {
+            return null;
+        }
+        SupplyItem original = new SupplyItem(barcode, productTitle, productDetails, category, availableUnits, thresholdStock);
+        original.expirationDate = expirationDate;
+        original.supplier = supplier;
+        for (Map.Entry<Field, Object> entry : originalValues.entrySet()) {
+            Object value = entry.getValue();
+            switch (entry.getKey()) {
+                case PRODUCT_TITLE: original.productTitle = (String) value; break;
+                case PRODUCT_DETAILS: original.productDetails = (String) value; break;
+                case CATEGORY: original.category = (String) value; break;
+                case AVAILABLE_UNITS: original.availableUnits = (Integer) value; break;
+                case EXPIRATION_DATE: original.expirationDate = (LocalDate) value; break;
+                case THRESHOLD_STOCK: original.thresholdStock = (Integer) value; break;
+                case SUPPLIER: original.supplier = value != null ? new Supplier((String) value, null, null) : null; break;
+            }
+        }
+        return original;
+    }
+
+    private void changed(Field field, Object oldValue, Object newValue) {
+        if (trackingChanges && !Objects.equals(oldValue, newValue)) {
+            changedFields.add(field);
+            if (!originalValues.containsKey(field)) {
+                originalValues.put(field, oldValue);
+            }
+        }
+    }
+
 
     @Override
     public boolean equals(Object o) {
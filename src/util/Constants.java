@@ -21,6 +21,12 @@ public class Constants {
 
     public static final String DB_FILE_NAME = "database.accdb";
     public static final String SUPIR_XML_FILE_NAME = "supir.xml";
+    public static final String FEED_SCHEMA_FILE_NAME = "inventoryUpdateRequest.xsd";
+
+    // UCanAccess requires a file path; memory=false ensures it uses the file, openExclusive=false can help with some environments.
+    // Compile-time constants, so referencing them does not trigger the resource lookup below.
+    public static final String DB_URL_PREFIX = "jdbc:ucanaccess://";
+    public static final String DB_URL_OPTIONS = ";memory=false;openExclusive=false;ignoreCase=true";
 
     public static final String DB_URL;
     public static final String SUPIR_XML_FILE_PATH;
@@ -30,12 +36,11 @@ public class Constants {
         String xmlPath = extractResourceOrGetFilesystemPath(SUPIR_XML_FILE_NAME);
 
         if (dbPath != null) {
-            // UCanAccess requires a file path; memory=false ensures it uses the file, openExclusive=false can help with some environments.
-            DB_URL = "jdbc:ucanaccess://" + dbPath + ";memory=false;openExclusive=false;ignoreCase=true";
+            DB_URL = DB_URL_PREFIX + dbPath + DB_URL_OPTIONS;
             System.out.println("INFO: Database will be accessed at: " + dbPath);
         } else {
             // Fallback, though application functionality will likely be impaired.
-            DB_URL = "jdbc:ucanaccess://" + DB_FILE_NAME;
+            DB_URL = DB_URL_PREFIX + DB_FILE_NAME;
             System.err.println("CRITICAL ERROR: Database file '" + DB_FILE_NAME + "' could not be located or extracted. Application might not function correctly.");
         }
 
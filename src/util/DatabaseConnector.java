@@ -1,32 +1,195 @@
 package util;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utility class for managing database connections.
+ * <p>
+ * {@link #getConnection()} hands out one shared connection, wrapped so that {@code close()}
+ * is ignored: the controllers close what they get in try-with-resources blocks, and
+ * several threads (the start-up warm-up, background loaders, the write-behind flusher)
+ * use the connection at the same time, so none of them may close it under the others.
+ * Only {@link #closeConnection()} closes it.
+ * <p>
+ * A transaction can be bound to the current thread with {@link #beginTransaction()}.
+ * While it is active, {@link #getConnection()} on that thread returns the transaction's
+ * own connection, wrapped the same way, which lets the controllers' try-with-resources
+ * blocks take part in the transaction unchanged.
+ * <p>
+ * By default the database resolved by {@link Constants#DB_URL} is used;
+ * {@link #useDatabaseFile(String)} points the application at another file without
+ * triggering that resource lookup (used by the headless command-line mode).
  */
 public class DatabaseConnector {
 
     private static Connection connection = null;
+    private static Connection sharedConnection = null; // Non-closing view of connection
+    private static volatile String databaseUrl = null;
+    private static final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> afterCommitActions = ThreadLocal.withInitial(ArrayList::new);
 
     public static Connection getConnection() throws SQLException {
-        try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(Constants.DB_URL);
+        Connection txConnection = transactionConnection.get();
+        if (txConnection != null) {
+            return nonClosing(txConnection);
+        }
+        // Synchronized so the start-up warm-up and the UI never open two shared connections.
+        synchronized (DatabaseConnector.class) {
+            try {
+                if (connection == null || connection.isClosed()) {
+                    connection = DriverManager.getConnection(getDatabaseUrl());
+                    sharedConnection = nonClosing(connection);
+                }
+            } catch (SQLException e) {
+                System.err.println("CRITICAL: Failed to connect to the database: " + Constants.DB_FILE_NAME + ". Error: " + e.getMessage());
+                throw e;
             }
+            return sharedConnection;
+        }
+    }
+
+    /**
+     * Uses the given Access file instead of the default database. Closes the current
+     * shared connection so the next {@link #getConnection()} opens the new file.
+     *
+     * @param dbFilePath Path to the .accdb file.
+     */
+    public static void useDatabaseFile(String dbFilePath) {
+        closeConnection();
+        databaseUrl = Constants.DB_URL_PREFIX + dbFilePath + Constants.DB_URL_OPTIONS;
+    }
+
+    public static String getDatabaseUrl() {
+        String url = databaseUrl;
+        return url != null ? url : Constants.DB_URL;
+    }
+
+    /**
+     * @return The path of the Access file behind {@link #getDatabaseUrl()}.
+     */
+    public static String getDatabaseFilePath() {
+        String url = getDatabaseUrl();
+        String path = url.startsWith(Constants.DB_URL_PREFIX) ? url.substring(Constants.DB_URL_PREFIX.length()) : url;
+        int optionsStart = path.indexOf(';');
+        return optionsStart >= 0 ? path.substring(0, optionsStart) : path;
+    }
+
+    /**
+     * Opens a dedicated connection with auto-commit disabled and binds it to the current thread.
+     *
+     * @throws SQLException if a transaction is already active on this thread or the connection fails.
+     */
+    public static void beginTransaction() throws SQLException {
+        if (transactionConnection.get() != null) {
+            throw new SQLException("A transaction is already active on this thread.");
+        }
+        Connection txConnection;
+        try {
+            txConnection = DriverManager.getConnection(getDatabaseUrl());
         } catch (SQLException e) {
             System.err.println("CRITICAL: Failed to connect to the database: " + Constants.DB_FILE_NAME + ". Error: " + e.getMessage());
-            throw e; 
+            throw e;
         }
-        return connection;
+        txConnection.setAutoCommit(false);
+        transactionConnection.set(txConnection);
+    }
+
+    /**
+     * Commits the work done so far; the transaction stays bound so further work can follow.
+     */
+    public static void commitTransaction() throws SQLException {
+        requireTransaction().commit();
+        List<Runnable> actions = afterCommitActions.get();
+        if (!actions.isEmpty()) {
+            List<Runnable> committed = new ArrayList<>(actions);
+            actions.clear();
+            for (Runnable action : committed) {
+                action.run();
+            }
+        }
+    }
+
+    /**
+     * Rolls back the work done since the last commit; the transaction stays bound.
+     */
+    public static void rollbackTransaction() throws SQLException {
+        afterCommitActions.get().clear();
+        requireTransaction().rollback();
+    }
+
+    /**
+     * Runs the action once the current thread's work is committed: right away outside a
+     * transaction, otherwise on the next {@link #commitTransaction()}. Dropped if the work
+     * is rolled back instead.
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (transactionConnection.get() == null) {
+            action.run();
+        } else {
+            afterCommitActions.get().add(action);
+        }
+    }
+
+    /**
+     * Rolls back anything not yet committed, closes the transaction's connection and unbinds it.
+     * Safe to call when no transaction is active.
+     */
+    public static void endTransaction() {
+        Connection txConnection = transactionConnection.get();
+        if (txConnection == null) {
+            return;
+        }
+        transactionConnection.remove();
+        afterCommitActions.remove();
+        try {
+            if (!txConnection.isClosed()) {
+                txConnection.rollback();
+                txConnection.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error ending database transaction: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    public static boolean isInTransaction() {
+        return transactionConnection.get() != null;
+    }
+
+    private static Connection requireTransaction() throws SQLException {
+        Connection txConnection = transactionConnection.get();
+        if (txConnection == null) {
+            throw new SQLException("No transaction is active on this thread.");
+        }
+        return txConnection;
+    }
+
+    private static Connection nonClosing(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return null;
+                    }
+                    try {
+                        return method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
     }
 
     /**
      * Closes the current database connection if it is open.
      */
-    public static void closeConnection() {
+    public static synchronized void closeConnection() {
         if (connection != null) {
             try {
                 if (!connection.isClosed()) {
@@ -36,9 +199,10 @@ public class DatabaseConnector {
                 System.err.println("Error closing database connection: " + e.getMessage());
                 e.printStackTrace();
             } finally {
-                connection = null; 
+                connection = null;
+                sharedConnection = null;
             }
         }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package util;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Helpers for the {@code yyyy-MM-dd} / "N/A" date strings stored in the SupplyItem table.
+ */
+public class IsoDates {
+
+    /**
+     * Parses a stored expiration date. Decodes the ten characters directly instead of
+     * going through a formatter, and never throws.
+     *
+     * @return The date, or null for null, blank, "N/A" or malformed values.
+     */
+    public static LocalDate parseOrNull(String text) {
+        if (text == null || text.length() != 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 7);
+        int day = digits(text, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    // The decimal value of text[from, to), or -1 if a character is not a digit.
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return Year.isLeap(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense integer ids to distinct strings, so repeated values such as categories
+ * and supplier codes can be stored as ints. Ids are never reused. Not thread-safe; callers
+ * synchronize.
+ */
+public class StringDictionary {
+
+    public static final int NO_ID = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * @return The id of the value, assigning a new one if needed; {@link #NO_ID} for null.
+     */
+    public int idOf(String value) {
+        if (value == null) {
+            return NO_ID;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    /**
+     * @return The id of the value, or {@link #NO_ID} if it has none.
+     */
+    public int find(String value) {
+        if (value == null) {
+            return NO_ID;
+        }
+        Integer id = ids.get(value);
+        return id != null ? id : NO_ID;
+    }
+
+    public String valueOf(int id) {
+        return id == NO_ID ? null : values.get(id);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    public void clear() {
+        ids.clear();
+        values.clear();
+    }
+}
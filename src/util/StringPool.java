@@ -0,0 +1,41 @@
+package util;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances of often repeated strings, so values read row by row (categories,
+ * supplier codes) share one copy per distinct value instead of one per row. Thread-safe.
+ * Once the pool holds its maximum number of values, new values are returned unpooled, so
+ * unexpected data cannot grow it without bound.
+ */
+public class StringPool {
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    public StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return The pooled instance equal to the value (pooling it if there is room), or null for null.
+     */
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = values.get(value);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        pooled = values.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    public int size() {
+        return values.size();
+    }
+}
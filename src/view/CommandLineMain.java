@@ -0,0 +1,465 @@
+package view;
+
+import control.AuditEntry;
+import control.AuditTrail;
+import control.ExportController;
+import control.ImportResult;
+import control.InventoryServer;
+import control.MultiClinicController;
+import control.ReorderEngine;
+import control.ReorderSuggestion;
+import control.ShardResult;
+import control.XmlImportController;
+import entity.SupplyItem;
+import util.DatabaseConnector;
+import util.Json;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Headless entry point for batch jobs (e.g. nightly feed imports from cron).
+ * <p>
+ * Deliberately touches no AWT/Swing classes and does not resolve the bundled database,
+ * so it starts quickly. Each processed feed prints one JSON object per line on stdout;
+ * diagnostics go to stderr.
+ * <pre>
+ * java -cp ... view.CommandLineMain --db &lt;database.accdb&gt; import [--validate] &lt;feed.xml&gt; [&lt;feed.xml&gt; ...]
+ * java -cp ... view.CommandLineMain --db &lt;database.accdb&gt; export inventory-csv|suppliers-csv|inventory-xml &lt;out-file&gt;
+ * java -cp ... view.CommandLineMain --db &lt;database.accdb&gt; serve [--port &lt;port&gt;] [--bind &lt;address&gt;]
+ * java -cp ... view.CommandLineMain --db &lt;database.accdb&gt; history &lt;barcode&gt;
+ * java -cp ... view.CommandLineMain --db &lt;database.accdb&gt; reorder
+ * java -cp ... view.CommandLineMain --clinic &lt;name&gt;=&lt;database.accdb&gt; [--clinic ...] [--timeout &lt;ms&gt;]
+ *                                   find-barcode &lt;barcode&gt; | low-stock | expiring [&lt;days&gt;]
+ * </pre>
+ * {@code serve} runs the {@link InventoryServer} until the process is stopped, on 127.0.0.1 unless
+ * {@code --bind} names another local address (e.g. {@code 0.0.0.0} for all interfaces); desktops
+ * use it when started with {@code -Dinventory.service=<url>}.
+ * With {@code --validate}, {@code import} first checks each feed against the feed schema and
+ * imports nothing from a feed that fails; the violations are listed on stderr.
+ * {@code import} and {@code serve} record their writes in the {@link AuditTrail};
+ * {@code history} prints an item's recorded changes, oldest first; {@code reorder} prints the
+ * {@link ReorderEngine}'s suggestions per supplier.
+ * The {@code --clinic} commands query every clinic's database in parallel through the
+ * {@link MultiClinicController}; they print one line per item found, tagged with its clinic,
+ * then one summary line per clinic with its status and latency.
+ * Exit codes: {@value #EXIT_OK} success, {@value #EXIT_PARTIAL} some records failed to import
+ * or some clinics did not answer, {@value #EXIT_FAILED} a feed or export could not be processed
+ * or no clinic answered, {@value #EXIT_USAGE} invalid arguments.
+ */
+public class CommandLineMain {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_PARTIAL = 1;
+    public static final int EXIT_FAILED = 2;
+    public static final int EXIT_USAGE = 64;
+
+    private static final String USAGE =
+            "Usage: CommandLineMain --db <database.accdb> import [--validate] <feed.xml> [<feed.xml> ...]\n" +
+            "       CommandLineMain --db <database.accdb> export inventory-csv|suppliers-csv|inventory-xml <out-file>\n" +
+            "       CommandLineMain --db <database.accdb> serve [--port <port>] [--bind <address>]\n" +
+            "       CommandLineMain --db <database.accdb> history <barcode>\n" +
+            "       CommandLineMain --db <database.accdb> reorder\n" +
+            "       CommandLineMain --clinic <name>=<database.accdb> [--clinic ...] [--timeout <ms>]\n" +
+            "                       find-barcode <barcode> | low-stock | expiring [<days>]";
+
+    private static final int DEFAULT_EXPIRING_DAYS = 30;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        System.exit(run(args));
+    }
+
+    static int run(String[] args) {
+        String dbPath = null;
+        String command = null;
+        int port = InventoryServer.DEFAULT_PORT;
+        InetAddress bindAddress = InetAddress.getLoopbackAddress();
+        boolean validate = false;
+        long timeoutMillis = MultiClinicController.DEFAULT_TIMEOUT_MILLIS;
+        Map<String, String> clinics = new LinkedHashMap<>();
+        List<String> operands = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--db".equals(arg)) {
+                if (i + 1 >= args.length) {
+                    return usageError("Missing value for --db.");
+                }
+                dbPath = args[++i];
+            } else if ("--port".equals(arg)) {
+                if (i + 1 >= args.length) {
+                    return usageError("Missing value for --port.");
+                }
+                try {
+                    port = Integer.parseInt(args[++i]);
+                } catch (NumberFormatException e) {
+                    return usageError("Invalid port: " + args[i]);
+                }
+            } else if ("--bind".equals(arg)) {
+                if (i + 1 >= args.length) {
+                    return usageError("Missing value for --bind.");
+                }
+                try {
+                    bindAddress = InetAddress.getByName(args[++i]);
+                } catch (UnknownHostException e) {
+                    return usageError("Invalid bind address: " + args[i]);
+                }
+            } else if ("--clinic".equals(arg)) {
+                if (i + 1 >= args.length) {
+                    return usageError("Missing value for --clinic.");
+                }
+                String clinic = args[++i];
+                int separator = clinic.indexOf('=');
+                if (separator <= 0 || separator == clinic.length() - 1) {
+                    return usageError("Expected --clinic <name>=<database.accdb>: " + clinic);
+                }
+                clinics.put(clinic.substring(0, separator), clinic.substring(separator + 1));
+            } else if ("--timeout".equals(arg)) {
+                if (i + 1 >= args.length) {
+                    return usageError("Missing value for --timeout.");
+                }
+                try {
+                    timeoutMillis = Long.parseLong(args[++i]);
+                } catch (NumberFormatException e) {
+                    return usageError("Invalid timeout: " + args[i]);
+                }
+                if (timeoutMillis <= 0) {
+                    return usageError("Invalid timeout: " + args[i]);
+                }
+            } else if ("--validate".equals(arg)) {
+                validate = true;
+            } else if ("--help".equals(arg) || "-h".equals(arg)) {
+                System.err.println(USAGE);
+                return EXIT_OK;
+            } else if (command == null) {
+                command = arg;
+            } else {
+                operands.add(arg);
+            }
+        }
+
+        if (!clinics.isEmpty()) {
+            if (dbPath != null) {
+                return usageError("Use either --db or --clinic, not both.");
+            }
+            if (command == null) {
+                return usageError("No command given.");
+            }
+            return runClinicQuery(clinics, timeoutMillis, command, operands);
+        }
+        if (dbPath == null) {
+            return usageError("The --db option is required.");
+        }
+        if (!new File(dbPath).isFile()) {
+            return usageError("Database file not found: " + dbPath);
+        }
+        if (command == null) {
+            return usageError("No command given.");
+        }
+        DatabaseConnector.useDatabaseFile(dbPath);
+
+        try {
+            if ("import".equals(command)) {
+                if (operands.isEmpty()) {
+                    return usageError("No feed files given.");
+                }
+                startAuditTrail();
+                return runImports(operands, validate);
+            }
+            if ("export".equals(command)) {
+                if (operands.size() != 2) {
+                    return usageError("Export needs a type and an output file.");
+                }
+                ExportController.ExportType type;
+                try {
+                    type = ExportController.ExportType.valueOf(operands.get(0).toUpperCase().replace('-', '_'));
+                } catch (IllegalArgumentException e) {
+                    return usageError("Unknown export type: " + operands.get(0));
+                }
+                return runExport(type, operands.get(1));
+            }
+            if ("serve".equals(command)) {
+                startAuditTrail();
+                return runServer(bindAddress, port);
+            }
+            if ("history".equals(command)) {
+                if (operands.size() != 1) {
+                    return usageError("history needs exactly one barcode.");
+                }
+                for (AuditEntry entry : AuditTrail.getInstance().getItemHistory(operands.get(0))) {
+                    System.out.println(entry);
+                }
+                return EXIT_OK;
+            }
+            if ("reorder".equals(command)) {
+                if (!operands.isEmpty()) {
+                    return usageError("reorder takes no operands.");
+                }
+                return runReorder();
+            }
+            return usageError("Unknown command: " + command);
+        } finally {
+            AuditTrail.getInstance().stop();
+            DatabaseConnector.closeConnection();
+        }
+    }
+
+    private static void startAuditTrail() {
+        String error = AuditTrail.getInstance().start();
+        if (error != null) {
+            System.err.println("WARNING: Audit trail disabled. " + error);
+        }
+    }
+
+    private static int runImports(List<String> feedPaths, boolean validate) {
+        int exitCode = EXIT_OK;
+        XmlImportController xmlImportController = new XmlImportController();
+        xmlImportController.setSchemaValidation(validate);
+        for (String feedPath : feedPaths) {
+            long startNanos = System.nanoTime();
+            ImportResult result = xmlImportController.importDataFromXml(feedPath);
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            int schemaViolations = result.getIssueCount(ImportResult.IssueCategory.SCHEMA);
+            if (schemaViolations > 0) {
+                for (String message : result.getMessages()) {
+                    System.err.println(feedPath + ": " + message);
+                }
+            }
+
+            String status;
+            if (result.getIssueCount(ImportResult.IssueCategory.FILE) > 0
+                    || result.getIssueCount(ImportResult.IssueCategory.UNEXPECTED) > 0) {
+                status = "FAILED";
+                exitCode = Math.max(exitCode, EXIT_FAILED);
+            } else if (!result.isOverallSuccess()) {
+                status = "PARTIAL";
+                exitCode = Math.max(exitCode, EXIT_PARTIAL);
+            } else {
+                status = "OK";
+            }
+
+            StringBuilder json = new StringBuilder("{");
+            Json.appendField(json, "command", "import").append(',');
+            Json.appendField(json, "feed", feedPath).append(',');
+            Json.appendField(json, "status", status).append(',');
+            json.append("\"suppliersAdded\":").append(result.getSuppliersAdded()).append(',');
+            json.append("\"suppliersUpdated\":").append(result.getSuppliersUpdated()).append(',');
+            json.append("\"suppliersFailed\":").append(result.getSuppliersFailed()).append(',');
+            json.append("\"itemsAdded\":").append(result.getItemsAdded()).append(',');
+            json.append("\"itemsUpdated\":").append(result.getItemsUpdated()).append(',');
+            json.append("\"itemsFailed\":").append(result.getItemsFailed()).append(',');
+            json.append("\"messages\":").append(result.getTotalMessageCount()).append(',');
+            if (validate) {
+                json.append("\"schemaViolations\":").append(schemaViolations).append(',');
+            }
+            Json.appendField(json, "log", result.getLogFile() != null ? result.getLogFile().toString() : null).append(',');
+            json.append("\"elapsedMillis\":").append(elapsedMillis);
+            json.append('}');
+            System.out.println(json);
+        }
+        return exitCode;
+    }
+
+    private static int runExport(ExportController.ExportType type, String outputPath) {
+        long startNanos = System.nanoTime();
+        long rows = -1;
+        String error = null;
+        try {
+            rows = new ExportController().writeExportFile(outputPath, type);
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.toString();
+            System.err.println("ERROR: Export failed: " + error);
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        StringBuilder json = new StringBuilder("{");
+        Json.appendField(json, "command", "export").append(',');
+        Json.appendField(json, "type", type.name()).append(',');
+        Json.appendField(json, "file", outputPath).append(',');
+        Json.appendField(json, "status", error == null ? "OK" : "FAILED").append(',');
+        json.append("\"rows\":").append(rows).append(',');
+        Json.appendField(json, "error", error).append(',');
+        json.append("\"elapsedMillis\":").append(elapsedMillis);
+        json.append('}');
+        System.out.println(json);
+        return error == null ? EXIT_OK : EXIT_FAILED;
+    }
+
+    private static int runReorder() {
+        long startNanos = System.nanoTime();
+        Map<String, List<ReorderSuggestion>> bySupplier = ReorderEngine.getInstance().suggestReordersBySupplier(LocalDate.now());
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        int count = 0;
+        for (List<ReorderSuggestion> suggestions : bySupplier.values()) {
+            for (ReorderSuggestion suggestion : suggestions) {
+                StringBuilder json = new StringBuilder("{");
+                Json.appendField(json, "supplierCode", suggestion.getSupplierCode()).append(',');
+                Json.appendField(json, "barcode", suggestion.getBarcode()).append(',');
+                json.append("\"availableUnits\":").append(suggestion.getAvailableUnits()).append(',');
+                json.append("\"dailyConsumption\":").append(String.format(Locale.ROOT, "%.3f", suggestion.getDailyConsumption())).append(',');
+                json.append("\"daysUntilStockout\":").append(Double.isInfinite(suggestion.getDaysUntilStockout())
+                        ? "null" : String.format(Locale.ROOT, "%.1f", suggestion.getDaysUntilStockout())).append(',');
+                json.append("\"reorderQuantity\":").append(suggestion.getReorderQuantity()).append(',');
+                Json.appendField(json, "basis", suggestion.isBasedOnConsumption() ? "CONSUMPTION" : "THRESHOLD");
+                json.append('}');
+                System.out.println(json);
+                count++;
+            }
+        }
+        StringBuilder json = new StringBuilder("{");
+        Json.appendField(json, "command", "reorder").append(',');
+        Json.appendField(json, "status", "OK").append(',');
+        json.append("\"items\":").append(count).append(',');
+        json.append("\"suppliers\":").append(bySupplier.size()).append(',');
+        json.append("\"elapsedMillis\":").append(elapsedMillis);
+        json.append('}');
+        System.out.println(json);
+        return EXIT_OK;
+    }
+
+    private static int runServer(InetAddress bindAddress, int port) {
+        InventoryServer server = new InventoryServer();
+        String url;
+        try {
+            server.start(bindAddress, port);
+            url = server.getUrl();
+        } catch (Exception e) {
+            System.err.println("ERROR: Could not start the inventory service: " + e.getMessage());
+            server.stop();
+            return EXIT_FAILED;
+        }
+        StringBuilder json = new StringBuilder("{");
+        Json.appendField(json, "command", "serve").append(',');
+        Json.appendField(json, "status", "LISTENING").append(',');
+        Json.appendField(json, "url", url);
+        json.append('}');
+        System.out.println(json);
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Thread shutdownHook = new Thread(() -> {
+            server.stop();
+            AuditTrail.getInstance().stop();
+            DatabaseConnector.closeConnection();
+            stopped.countDown();
+        });
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return EXIT_OK;
+    }
+
+    private static int runClinicQuery(Map<String, String> clinics, long timeoutMillis, String command, List<String> operands) {
+        try (MultiClinicController controller = new MultiClinicController()) {
+            for (Map.Entry<String, String> clinic : clinics.entrySet()) {
+                String error = controller.registerClinic(clinic.getKey(), clinic.getValue());
+                if (error != null) {
+                    return usageError(error);
+                }
+            }
+            controller.setTimeoutMillis(timeoutMillis);
+
+            List<? extends ShardResult<?>> results;
+            if ("find-barcode".equals(command)) {
+                if (operands.size() != 1) {
+                    return usageError("find-barcode needs exactly one barcode.");
+                }
+                List<ShardResult<SupplyItem>> found = controller.findBarcode(operands.get(0));
+                for (ShardResult<SupplyItem> result : found) {
+                    if (result.isOk() && result.getValue() != null) {
+                        printClinicItem(result.getClinic(), result.getValue());
+                    }
+                }
+                results = found;
+            } else if ("low-stock".equals(command)) {
+                if (!operands.isEmpty()) {
+                    return usageError("low-stock takes no operands.");
+                }
+                List<ShardResult<List<SupplyItem>>> lowStock = controller.findLowStockEverywhere();
+                for (MultiClinicController.ClinicItem clinicItem : MultiClinicController.mergeItems(lowStock, null)) {
+                    printClinicItem(clinicItem.getClinic(), clinicItem.getItem());
+                }
+                results = lowStock;
+            } else if ("expiring".equals(command)) {
+                if (operands.size() > 1) {
+                    return usageError("expiring takes at most a number of days.");
+                }
+                int days = DEFAULT_EXPIRING_DAYS;
+                if (!operands.isEmpty()) {
+                    try {
+                        days = Integer.parseInt(operands.get(0));
+                    } catch (NumberFormatException e) {
+                        return usageError("Invalid number of days: " + operands.get(0));
+                    }
+                    if (days < 0) {
+                        return usageError("Invalid number of days: " + operands.get(0));
+                    }
+                }
+                List<ShardResult<List<SupplyItem>>> expiring = controller.findExpiringEverywhere(days);
+                Comparator<SupplyItem> soonestFirst = Comparator.comparing(SupplyItem::getExpirationDate);
+                for (MultiClinicController.ClinicItem clinicItem : MultiClinicController.mergeItems(expiring, soonestFirst)) {
+                    printClinicItem(clinicItem.getClinic(), clinicItem.getItem());
+                }
+                results = expiring;
+            } else {
+                return usageError("Unknown command: " + command);
+            }
+
+            int exitCode = EXIT_OK;
+            for (ShardResult<?> result : results) {
+                int count = 0;
+                if (result.isOk() && result.getValue() instanceof List) {
+                    count = ((List<?>) result.getValue()).size();
+                } else if (result.isOk() && result.getValue() != null) {
+                    count = 1;
+                }
+                if (!result.isOk()) {
+                    exitCode = EXIT_PARTIAL;
+                }
+                StringBuilder json = new StringBuilder("{");
+                Json.appendField(json, "command", command).append(',');
+                Json.appendField(json, "clinic", result.getClinic()).append(',');
+                Json.appendField(json, "status", result.getStatus().name()).append(',');
+                json.append("\"items\":").append(count).append(',');
+                Json.appendField(json, "error", result.getErrorMessage()).append(',');
+                json.append("\"latencyMillis\":").append(result.getLatencyMillis());
+                json.append('}');
+                System.out.println(json);
+            }
+            boolean anyAnswered = results.stream().anyMatch(ShardResult::isOk);
+            return anyAnswered ? exitCode : EXIT_FAILED;
+        }
+    }
+
+    private static void printClinicItem(String clinic, SupplyItem item) {
+        StringBuilder json = new StringBuilder("{");
+        Json.appendField(json, "clinic", clinic).append(',');
+        Json.appendField(json, "barcode", item.getBarcode()).append(',');
+        Json.appendField(json, "productTitle", item.getProductTitle()).append(',');
+        Json.appendField(json, "category", item.getCategory()).append(',');
+        json.append("\"availableUnits\":").append(item.getAvailableUnits()).append(',');
+        json.append("\"thresholdStock\":").append(item.getThresholdStock()).append(',');
+        Json.appendField(json, "expirationDate",
+                         item.getExpirationDate() != null ? item.getExpirationDate().toString() : null).append(',');
+        Json.appendField(json, "supplierCode", item.getSupplier() != null ? item.getSupplier().getSupplierCode() : null);
+        json.append('}');
+        System.out.println(json);
+    }
+
+    private static int usageError(String message) {
+        System.err.println("ERROR: " + message);
+        System.err.println(USAGE);
+        return EXIT_USAGE;
+    }
+}
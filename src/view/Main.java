@@ -1,10 +1,20 @@
 package view;
+import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager; 
 import boundary.MainAppFrame; 
+import boundary.SplashWindow;
+import control.AuditTrail;
+import control.InventoryServiceClient;
+import control.StartupWarmup;
+import control.SupplierDirectory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
 
+    private static final long SPLASH_MAX_MILLIS = 5_000;
+
     public static void main(String[] args) {
         try {
             for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
@@ -16,13 +26,53 @@ public class Main {
         } catch (Exception e) {
             System.err.println("Nimbus L&F not found, using default. Error: " + e.getMessage());
         }
+
+        // Optional: -Dinventory.service=http://host:8765 works through a shared inventory
+        // service (CommandLineMain serve) instead of opening the database on this machine.
+        String serviceUrl = System.getProperty("inventory.service");
+        if (serviceUrl != null && !serviceUrl.trim().isEmpty()) {
+            startWithService(new InventoryServiceClient(serviceUrl.trim()));
+            return;
+        }
+
+        String auditError = AuditTrail.getInstance().start();
+        if (auditError != null) {
+            System.err.println("WARNING: Audit trail disabled. " + auditError);
+        }
+
         
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
+                // The database warms up in the background while the splash is shown and the
+                // main frame is built; the frame appears when it is done or after SPLASH_MAX_MILLIS.
+                SplashWindow splash = new SplashWindow();
+                splash.setVisible(true);
+                // Optional: -Dinventory.writeBehind=true queues item updates and writes them in
+                // batches. The queue starts (replaying any journal) once the database is open.
+                CompletableFuture<Void> warmup = StartupWarmup.start(splash::setStatus, Boolean.getBoolean("inventory.writeBehind"));
                 MainAppFrame mainFrame = new MainAppFrame(); 
-                mainFrame.setVisible(true);
+                CompletableFuture<Void> splashTimeout = CompletableFuture.runAsync(() -> { },
+                        CompletableFuture.delayedExecutor(SPLASH_MAX_MILLIS, TimeUnit.MILLISECONDS));
+                CompletableFuture.anyOf(warmup, splashTimeout).whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+                    splash.dispose();
+                    mainFrame.setVisible(true);
+                }));
             }
         });
     }
+
+    private static void startWithService(InventoryServiceClient client) {
+        if (!client.isAvailable()) {
+            System.err.println("ERROR: The inventory service does not answer: " + client.getBaseUrl());
+            SwingUtilities.invokeLater(() -> {
+                JOptionPane.showMessageDialog(null, "The inventory service does not answer:\n" + client.getBaseUrl(),
+                        "Inventory Service Unavailable", JOptionPane.ERROR_MESSAGE);
+                System.exit(1);
+            });
+            return;
+        }
+        SupplierDirectory.getInstance().useService(client);
+        SwingUtilities.invokeLater(() -> new MainAppFrame(client).setVisible(true));
+    }
 }
\ No newline at end of file